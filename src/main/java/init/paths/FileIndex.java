@@ -0,0 +1,226 @@
+package init.paths;
+
+import snake2d.util.sets.LIST;
+import snake2d.util.sets.LinkedList;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Files of the roots of the game and its mods, walked once per root on first use, so that the lookups of
+ * {@link VirtualFolder} do not go to the disk every time. Paths outside of the indexed roots are answered by the
+ * file system. The index answers the same as the file system would, the rules of {@link VirtualFolder} are
+ * applied on top of it as before. Files written through {@link PATH} are added to the index or removed from it in
+ * place, folders the game writes to on its own are not answered by the index, see {@link ModOnly}.
+ */
+final class FileIndex {
+
+	static final FileIndex NONE = new FileIndex(new LinkedList<Path>());
+
+	private static final List<Path> FILE = new ArrayList<>(0);
+
+	private final Set<Path> roots;
+	/**
+	 * Children of directories of each walked root, {@link #FILE} for files.
+	 */
+	private final ConcurrentHashMap<Path, HashMap<Path, List<Path>>> walked = new ConcurrentHashMap<>();
+
+	FileIndex(LIST<Path> roots) {
+		this.roots = new HashSet<>();
+		for (Path p : roots)
+			this.roots.add(p);
+	}
+
+	boolean exists(Path root, Path path) {
+		HashMap<Path, List<Path>> files = files(root, path);
+		if (files == null)
+			return Util.check(path);
+		return files.containsKey(path);
+	}
+
+	boolean isDirectory(Path root, Path path) {
+		HashMap<Path, List<Path>> files = files(root, path);
+		if (files == null)
+			return Files.isDirectory(path);
+		List<Path> children = files.get(path);
+		return children != null && children != FILE;
+	}
+
+	/**
+	 * @return a new list of the children of the directory, in the order the file system lists them
+	 */
+	LIST<Path> list(Path root, Path dir) {
+		HashMap<Path, List<Path>> files = files(root, dir);
+		if (files == null)
+			return Util.listFiles(dir);
+		List<Path> children = files.get(dir);
+		if (children == null || children == FILE)
+			return Util.listFiles(dir);
+		LinkedList<Path> copy = new LinkedList<>();
+		for (Path p : children)
+			copy.add(p);
+		return copy;
+	}
+
+	/**
+	 * Walks all the roots at once on the executor, instead of one by one on their first use. Only the file system
+	 * is read on the executor. Errors are thrown as they were thrown by the walk.
+	 */
+	void walk(Executor pool) {
+		CompletableFuture<?>[] tasks = new CompletableFuture<?>[roots.size()];
+		int k = 0;
+		for (Path root : roots)
+			tasks[k++] = CompletableFuture.runAsync(() -> walked(root), pool);
+		try {
+			CompletableFuture.allOf(tasks).join();
+		} catch (CompletionException e) {
+			Throwable c = e.getCause();
+			if (c instanceof RuntimeException)
+				throw (RuntimeException) c;
+			if (c instanceof Error)
+				throw (Error) c;
+			throw e;
+		}
+	}
+
+	/**
+	 * Adds a file or folder that was just created, with the folders above it that were created with it, to the
+	 * walked roots it is in. Nothing is walked again, paths that are known already or do not exist are left as
+	 * they are. New paths are listed after the ones found by the walk.
+	 */
+	void created(Path path) {
+		if (!path.normalize().equals(path) || !Files.exists(path))
+			return;
+		boolean directory = Files.isDirectory(path);
+		for (Map.Entry<Path, HashMap<Path, List<Path>>> e : walked.entrySet()) {
+			if (path.startsWith(e.getKey()))
+				add(e.getKey(), e.getValue(), path, directory);
+		}
+	}
+
+	private static void add(Path root, HashMap<Path, List<Path>> files, Path path, boolean directory) {
+		Path p = path;
+		List<Path> entry = directory ? new ArrayList<>() : FILE;
+		while (!files.containsKey(p)) {
+			files.put(p, entry);
+			Path parent = p.getParent();
+			if (parent == null || !parent.startsWith(root))
+				return;
+			List<Path> siblings = files.get(parent);
+			if (siblings != null) {
+				// a broken link replaced by a file is listed already
+				if (siblings != FILE && !siblings.contains(p))
+					siblings.add(p);
+				return;
+			}
+			entry = new ArrayList<>();
+			entry.add(p);
+			p = parent;
+		}
+	}
+
+	/**
+	 * Removes a file or folder that was just deleted, with everything under it, from the walked roots it is in.
+	 */
+	void deleted(Path path) {
+		if (!path.normalize().equals(path) || Files.exists(path))
+			return;
+		for (Map.Entry<Path, HashMap<Path, List<Path>>> e : walked.entrySet()) {
+			if (!path.startsWith(e.getKey()))
+				continue;
+			HashMap<Path, List<Path>> files = e.getValue();
+			List<Path> siblings = path.getParent() == null ? null : files.get(path.getParent());
+			if (siblings != null && siblings != FILE)
+				siblings.remove(path);
+			files.keySet().removeIf(p -> p.startsWith(path));
+		}
+	}
+
+	private HashMap<Path, List<Path>> files(Path root, Path path) {
+		if (root == null || !roots.contains(root) || !path.startsWith(root))
+			return null;
+		// relative parts would not match the walked paths
+		if (!path.normalize().equals(path))
+			return null;
+		return walked(root);
+	}
+
+	private HashMap<Path, List<Path>> walked(Path root) {
+		HashMap<Path, List<Path>> files = walked.get(root);
+		if (files == null) {
+			// walked outside of the map, its locks would hold back the walks of other roots
+			files = walk(root);
+			HashMap<Path, List<Path>> other = walked.putIfAbsent(root, files);
+			if (other != null)
+				files = other;
+		}
+		return files;
+	}
+
+	private static HashMap<Path, List<Path>> walk(Path root) {
+		HashMap<Path, List<Path>> dirs = new HashMap<>();
+		HashMap<Path, List<Path>> files = new HashMap<>();
+		if (!Files.exists(root))
+			return files;
+		try {
+			Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+					add(dir);
+					List<Path> children = new ArrayList<>();
+					dirs.put(dir, children);
+					files.put(dir, children);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					add(file);
+					// the attributes of the link itself, when its target is missing
+					if (!attrs.isSymbolicLink())
+						files.put(file, FILE);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					// still listed by its directory, but not known to exist, like a broken link
+					add(file);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+					dirs.remove(dir);
+					return FileVisitResult.CONTINUE;
+				}
+
+				private void add(Path p) {
+					List<Path> parent = p.getParent() == null ? null : dirs.get(p.getParent());
+					if (parent != null)
+						parent.add(p);
+				}
+			});
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to index " + root, e);
+		}
+		return files;
+	}
+}
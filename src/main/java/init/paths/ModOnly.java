@@ -6,8 +6,13 @@ import init.paths.Util;
 import snake2d.util.sets.ArrayList;
 import snake2d.util.sets.LIST;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 
+/**
+ * A folder of the first root, which the game writes saves and campaigns to with its own code. It is not answered
+ * by {@link FileIndex}, which would not see those writes, but by the file system, as before the index.
+ */
 final class ModOnly extends PATH {
 	
 	private final VirtualFolder f;
@@ -19,8 +24,8 @@ final class ModOnly extends PATH {
 		if (PATHS.currentMods().size() == 0)
 			p = PATHS.i.paths.get(PATHS.i.paths.size()-1);
 		if (create)
-			Util.makeDirs(p.resolve(path));
-		f = new VirtualFolder(new ArrayList<Path>(p), path);
+			makeDirs(p.resolve(path));
+		f = new VirtualFolder(new ArrayList<Path>(p), path, FileIndex.NONE);
 	}
 	
 	ModOnly(String patha, String path, String filetype, boolean create) {
@@ -30,8 +35,8 @@ final class ModOnly extends PATH {
 		if (PATHS.currentMods().size() == 0)
 			p = PATHS.i.paths.get(PATHS.i.paths.size()-1);
 		if (create)
-			Util.makeDirs(p.resolve(path));
-		f = new VirtualFolder(new ArrayList<Path>(p), path);
+			makeDirs(p.resolve(path));
+		f = new VirtualFolder(new ArrayList<Path>(p), path, FileIndex.NONE);
 	}
 	
 	private ModOnly(VirtualFolder f, String filetype) {
@@ -74,10 +79,21 @@ final class ModOnly extends PATH {
 		
 		if (create) {
 			Path p = get();
-			Util.makeDirs(p.resolve(""+folder));
+			makeDirs(p.resolve(""+folder));
 		}
 		return new ModOnly(f.folder(folder), filetype);
 	}
+	
+	/**
+	 * The index only learns about the folder if it was not there yet, so that the roots are not changed for
+	 * folders that exist already.
+	 */
+	private static void makeDirs(Path dir) {
+		boolean existed = Files.isDirectory(dir);
+		Util.makeDirs(dir);
+		if (!existed)
+			PATHS.index().created(dir);
+	}
 
 	@Override
 	public boolean exists(CharSequence file) {
@@ -13,8 +13,10 @@ final class Normal extends PATH {
 	
 	Normal(Path path, String filetype, boolean create) {
 		super(filetype);
-		if (create)
+		if (create) {
 			Util.makeDirs(path);
+			PATHS.index().created(path);
+		}
 		ArrayList<Path> pp = new ArrayList<Path>(path);
 		f = new init.paths.VirtualFolder(pp, "");
 	}
@@ -59,6 +61,7 @@ final class Normal extends PATH {
 				} catch (IOException e) {
 					e.printStackTrace();
 				}
+				PATHS.index().created(p);
 			}
 			
 		}
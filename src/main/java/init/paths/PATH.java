@@ -63,6 +63,8 @@ public abstract class PATH {
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new Errors.DataError("Unable to process file", ""+p);
+		} finally {
+			PATHS.index().created(p);
 		}
 		
 		return p;
@@ -75,6 +77,8 @@ public abstract class PATH {
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new Errors.DataError("Unable to delete file", ""+p);
+		} finally {
+			PATHS.index().deleted(p);
 		}
 	}
 
@@ -17,6 +17,9 @@ import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * A collection of all the paths in the game
@@ -28,14 +31,23 @@ public class PATHS {
 
 	static PATHS i;
 	static final String s = FileSystems.getDefault().getSeparator();
+	/**
+	 * Threads walking the roots at startup, bound since they mostly wait for the disk.
+	 */
+	private static final int THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
 	
 	
 	final LIST<Path> paths;
+	private FileIndex index;
 	private final LIST<ModInfo> mods;
+	private final Path data;
+	private final String lang;
+	private final boolean easy;
 	final int modHash;
 	final int textureSize;
 	
 	static PATHS_LOCAL local;
+	private static volatile Path locale;
 	private final PATHS_MISC misc;
 
 	private final PATHS_BASE BASE;
@@ -67,7 +79,7 @@ public class PATHS {
 
 
 	
-	private PATHS(String[] mm, String lang, boolean easy) {
+	private PATHS(String[] mm, String lang, boolean easy, Executor pool) {
 
 		Path root = FileSystems.getDefault().getPath("");
 		final Path base = Util.checkHard(root, "base");
@@ -104,57 +116,20 @@ public class PATHS {
 		
 		
 		i = this;
-		LinkedList<Path> paths = new LinkedList<>();
 
-		Path data = Util.checkHard(res, "data");
-		paths.add(data);
+		data = Util.checkHard(res, "data");
+		this.lang = lang;
+		this.easy = easy;
 		
 		LOG.ln("INITING PATHS");
 
 		BASE = new PATHS_BASE(root, base, res);
 
-		if (lang == null && easy) {
-			paths.add(BASE.MODS.getFolder("easy").get());
-		}
-
-		if (lang != null){
-			Path zip = get("locale");
-			PATH path = new Normal(zip, s, false);
-			PATH p = path.getFolder("langs");
-
-			if (p.exists(lang)) {
-				p = p.getFolder(lang);
-				Json j = new Json(p.get("_Info.txt"));
-				String fi = j.text("CHARSET");
-				int tzz = j.has("TEXTURE_CACHE_SIZE") ? j.i("TEXTURE_CACHE_SIZE") : 0;
-				if (tzz > tz)
-					tzz = tz;
-				Path pFont = path.getFolder("chars").getFolder(""+fi).get();
-				Path pLang = p.get();
-
-				paths.add(pLang);
-				paths.add(pFont);
-			}
-		}
-
 		LOG.ln("MODS PATHS");
-		for (ModInfo mod : mods) {
-			paths.add(mod.getModFolder());
-			if (lang != null) {
-				Path mPath = mod.getModFolder();
-				PATH modPath = new Normal(mPath, s, false);
-
-				if (modPath.exists("langs")) {
-					PATH modLangsPath = modPath.getFolder("langs").getFolder(lang);
-					Json j = new Json(modLangsPath.get("_Info.txt"));
-					Path pLang = modLangsPath.get();
-					paths.add(pLang);
-				}
-			}
-		}
-
-
-		this.paths = new ArrayList<>(paths);
+		this.paths = layers(data, BASE, mods, lang, easy);
+		// the roots do not change while the game runs, so they are walked once instead of asked for every file
+		index = new FileIndex(paths);
+		index.walk(pool);
 		this.mods = new ArrayList<>(mods);
 		LOG.ln("PATHS");
 		for (Path p : paths)
@@ -200,13 +175,108 @@ public class PATHS {
 		
 	}
 	
+	/**
+	 * The roots of all layers, in the order they override each other. The language adds its own folder and font
+	 * after the base data, and a folder inside each mod that has one.
+	 */
+	private static LIST<Path> layers(Path data, PATHS_BASE BASE, LIST<ModInfo> mods, String lang, boolean easy) {
+		LinkedList<Path> paths = new LinkedList<>();
+		paths.add(data);
+
+		if (lang == null && easy) {
+			paths.add(BASE.MODS.getFolder("easy").get());
+		}
+
+		if (lang != null){
+			Path zip = get("locale");
+			locale = zip;
+			PATH path = new Normal(zip, s, false);
+			PATH p = path.getFolder("langs");
+
+			if (p.exists(lang)) {
+				p = p.getFolder(lang);
+				Json j = new Json(p.get("_Info.txt"));
+				String fi = j.text("CHARSET");
+				Path pFont = path.getFolder("chars").getFolder(""+fi).get();
+				Path pLang = p.get();
+
+				paths.add(pLang);
+				paths.add(pFont);
+			}
+		}
+
+		for (ModInfo mod : mods) {
+			paths.add(mod.getModFolder());
+			if (lang != null) {
+				Path mPath = mod.getModFolder();
+				PATH modPath = new Normal(mPath, s, false);
+
+				if (modPath.exists("langs")) {
+					PATH modLangsPath = modPath.getFolder("langs").getFolder(lang);
+					Json j = new Json(modLangsPath.get("_Info.txt"));
+					Path pLang = modLangsPath.get();
+					paths.add(pLang);
+				}
+			}
+		}
+		return new ArrayList<>(paths);
+	}
+	
+	/**
+	 * The dictionary files of a language, resolved with the current mods without initing the paths again.
+	 * Has to be called on the game thread, like the lookups of the paths it goes through.
+	 * 
+	 * @param lang the language, null for the base one
+	 */
+	public static LIST<Path> dictionary(String lang) {
+		LIST<Path> roots = layers(i.data, i.BASE, i.mods, lang, i.easy);
+		return new SemiMod(roots, "assets", s).getFolder("text", ".txt").getFolder("dictionary").getAll("Dic");
+	}
+	
+	/**
+	 * @return the language the paths were inited with, null for the base one
+	 */
+	public static String lang() {
+		return i.lang;
+	}
+	
+	/**
+	 * The layer of the game a file belongs to: "data" for the base data, the language for files of a language
+	 * and null for files of mods.
+	 */
+	public static String coreLayer(Path file) {
+		if (file.startsWith(i.data))
+			return "data";
+		Path l = locale;
+		if (l == null)
+			return null;
+		Path langs = l.resolve("langs");
+		if (!file.startsWith(langs))
+			return null;
+		Path rel = langs.relativize(file);
+		return rel.getNameCount() > 1 ? ""+rel.getName(0) : null;
+	}
+	
+	/**
+	 * The index of the files of the current roots, or one that asks the file system while the paths are inited.
+	 */
+	static FileIndex index() {
+		PATHS p = i;
+		if (p == null || p.index == null)
+			return FileIndex.NONE;
+		return p.index;
+	}
+	
 	public static boolean inited() {
 		return i != null;
 	}
 	
 	private static KeyMap<Path> zips = new KeyMap<>();
 
-	private static Path get(String file) {
+	/**
+	 * Synchronized, since a zip can only be opened once.
+	 */
+	private static synchronized Path get(String file) {
 		try {
 			return getFromFolder(file);
 		} catch (Exception e) {
@@ -263,7 +333,16 @@ public class PATHS {
 	}
 
 	public static void init(String[] mods, String lang, boolean easy) {
-		new PATHS(mods, lang, easy);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS, r -> {
+			Thread t = new Thread(r, "PATHS");
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			new PATHS(mods, lang, easy, pool);
+		} finally {
+			pool.shutdown();
+		}
 	}
 
 	public static int textureSize() {
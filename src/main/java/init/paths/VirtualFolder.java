@@ -4,27 +4,30 @@ import snake2d.Errors;
 import snake2d.util.sets.LIST;
 import snake2d.util.sets.LinkedList;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashSet;
 
-import static init.paths.Util.check;
-
 final class VirtualFolder {
 
 	final LIST<Path> bases;
 	private final String appendix;
+	private final FileIndex index;
 	
 	VirtualFolder(LIST<Path> bases, String path) {
+		this(bases, path, PATHS.index());
+	}
+	
+	VirtualFolder(LIST<Path> bases, String path, FileIndex index) {
 		this.bases = bases;
 		this.appendix =  path;
+		this.index = index;
 		validate();
 
 	}
 	
-	private Path validate(Path path) {
-		if (!check(path)) {
+	private Path validate(Path base, Path path) {
+		if (!index.exists(base, path)) {
 			throw new Errors.DataError("This file/directory does not exist: " + path,
 					path);
 		}
@@ -36,8 +39,8 @@ final class VirtualFolder {
 	private void validate() {
 		for (Path p : bases) {
 			Path f = resolve(p, null);
-			if (Files.exists(f)) {
-				if (!Files.isDirectory(f))
+			if (index.exists(p, f)) {
+				if (!index.isDirectory(p, f))
 					throw new Errors.DataError("This file is not a directory: .",
 							f.toAbsolutePath());
 				return;
@@ -51,9 +54,9 @@ final class VirtualFolder {
 	
 	VirtualFolder folder(CharSequence next) {
 		if (appendix == null || appendix.length() <= 1)
-			return new VirtualFolder(bases, ""+next + PATHS.s);
+			return new VirtualFolder(bases, ""+next + PATHS.s, index);
 		
-		return new VirtualFolder(bases, appendix + PATHS.s + next);
+		return new VirtualFolder(bases, appendix + PATHS.s + next, index);
 	}
 	
 	Path getExistingFile(CharSequence name) {
@@ -67,7 +70,7 @@ final class VirtualFolder {
 	public boolean exists(CharSequence file, CharSequence filetype) {
 		String f = ""+file+filetype;
 		for (Path m : bases) {
-			if (check(resolve(m, f)))
+			if (index.exists(m, resolve(m, f)))
 				return true;
 		}
 		return false;
@@ -81,8 +84,8 @@ final class VirtualFolder {
 		Path file = null;
 		for (Path root : bases) {
 			Path p = resolve(root, r);
-			if (Files.exists(p)) {
-				validate(p);
+			if (index.exists(root, p)) {
+				validate(root, p);
 				file = p;
 			}
 		}
@@ -99,8 +102,8 @@ final class VirtualFolder {
 
 		for (Path root : bases) {
 			Path p = resolve(root, r);
-			if (Files.exists(p)) {
-				validate(p);
+			if (index.exists(root, p)) {
+				validate(root, p);
 				files.add(p);
 			}
 
@@ -136,9 +139,9 @@ final class VirtualFolder {
 				if (ignore)
 					continue;
 			}else {
-				ignore |= checkIgnore(resolve(m, null));
+				ignore |= checkIgnore(m, resolve(m, null));
 			}
-			for (String s : list(resolve(m, null), ending)) {		
+			for (String s : list(m, resolve(m, null), ending)) {		
 				map.add(s);
 			}
 			
@@ -160,7 +163,7 @@ final class VirtualFolder {
 		HashSet<String> map = new HashSet<>();
 		for (int i = 0; i < bases.size(); i++) {
 			Path m = bases.get(i);
-			for (String s : list(resolve(m, null), ending)) {
+			for (String s : list(m, resolve(m, null), ending)) {
 				map.add(s);
 			}
 			
@@ -172,7 +175,7 @@ final class VirtualFolder {
 		int k = 0;
 		for (int i = 0; i < bases.size(); i++) {
 			Path m = bases.get(i);
-			for (String s : list(resolve(m, null), ending)) {
+			for (String s : list(m, resolve(m, null), ending)) {
 				if (!map.contains(s)) {
 					map.add(s);
 					all[k++] = s;
@@ -189,10 +192,11 @@ final class VirtualFolder {
 		HashSet<String> map = new HashSet<>();
 		
 		for (int i = 0; i < bases.size(); i++) {
-			Path m = resolve(bases.get(i), null);
+			Path b = bases.get(i);
+			Path m = resolve(b, null);
 			final String sep = m.getFileSystem().getSeparator();
-			for (Path p : Util.listFiles(m)) {
-				if (Files.isDirectory(p)) {
+			for (Path p : index.list(b, m)) {
+				if (index.isDirectory(b, p)) {
 					String s = ""+p.getFileName();
 					if (s.startsWith("_"))
 						continue;
@@ -202,7 +206,7 @@ final class VirtualFolder {
 					map.add(s);
 				}
 			}
-			if (checkIgnore(resolve(m, null)))
+			if (checkIgnore(b, resolve(m, null)))
 				break;
 		}
 		
@@ -213,16 +217,16 @@ final class VirtualFolder {
 		return all;
 	}
 	
-	private boolean checkIgnore(Path path) {
+	private boolean checkIgnore(Path base, Path path) {
 		path = path.resolve("_IgnoreVanilla.txt");
-		return Files.exists(path);
+		return index.exists(base, path);
 	}
 	
-	private static String[] list(Path path, String ending) {
+	private String[] list(Path base, Path path, String ending) {
 		
-		if (!Files.exists(path))
+		if (!index.exists(base, path))
 			return new String[0];
-		if (!Files.isDirectory(path))
+		if (!index.isDirectory(base, path))
 			throw new Errors.DataError("This file should be a directory, but is not...",
 					""+path);
 		
@@ -230,7 +234,7 @@ final class VirtualFolder {
 		
 		LinkedList<String> res = new LinkedList<>();
 		
-		for (Path p : Util.listFiles(path)) {
+		for (Path p : index.list(base, path)) {
 			
 			String s = "" + p.getFileName();
 			res.add(s);
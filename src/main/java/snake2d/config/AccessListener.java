@@ -0,0 +1,45 @@
+package snake2d.config;
+
+/**
+ * Listener of accesses to values of a configuration and of its nested configurations.
+ * Listeners are created for top-level configurations by the factory set with {@link JsonConfig#setAccessListenerFactory}.
+ * Methods are called on the thread reading the configuration, so they should be cheap.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public interface AccessListener {
+
+    /**
+     * Called on every lookup of a key.
+     */
+    default void lookup(String key) {
+    }
+
+    /**
+     * Called when the looked up key does not exist.
+     */
+    default void miss(String key) {
+    }
+
+    /**
+     * Called when a default value is returned instead of a missing or mismatched value.
+     */
+    default void defaultUsed(String key) {
+    }
+
+    /**
+     * Called when the value under the key has a different type than requested.
+     */
+    default void typeMismatch(String key) {
+    }
+
+    /**
+     * Returns the listener of a nested configuration.
+     *
+     * @param key key of the nested object
+     * @return listener of the nested configuration, this listener by default
+     */
+    default AccessListener nested(String key) {
+        return this;
+    }
+}
@@ -0,0 +1,412 @@
+package snake2d.config;
+
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.IndexedJson;
+import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonKey;
+import snake2d.util.file.json.JsonMerger;
+import snake2d.util.file.json.JsonValue;
+import snake2d.util.file.json.MergeStrategy;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configuration built from multiple files whose values are looked up key by key through the files, from the last
+ * one down to the first, instead of merging whole sections. The first file with a plain value of a key decides it
+ * and the files below are not looked at. Keys with merge operators, like {@code >key}, and nested objects are
+ * merged from the files that have them, with the same result as {@link LazyJsonConfig}. Resolved values are
+ * cached in their section.
+ * <p>
+ * Files are read through {@link Layer}s, which parse each of their sections once and can be shared by several
+ * configurations, e.g. the base data by the dictionaries of all languages.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class ChainedJsonConfig {
+    private final Layer[] layers;
+    private final Set<String> keys;
+    private final UsedKeys used;
+    /**
+     * Sections looked up so far, empty for keys deleted by a later file.
+     */
+    private final ConcurrentHashMap<String, Optional<Section>> sections = new ConcurrentHashMap<>();
+
+    /**
+     * @param layers files in the order of merging
+     */
+    public ChainedJsonConfig(List<Layer> layers) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Layer layer : layers) {
+            keys.addAll(layer.document.keys());
+        }
+        this.layers = layers.toArray(new Layer[0]);
+        this.keys = Collections.unmodifiableSet(keys);
+        this.used = new UsedKeys(keys);
+    }
+
+    /**
+     * Checks if the section exists after merging all files.
+     *
+     * @throws ConfigException when the section is not a JSON object or can not be parsed
+     */
+    public boolean has(String key) {
+        return section(key).isPresent();
+    }
+
+    /**
+     * Returns the section under the given key. The same instance is returned by every call,
+     * until the section is released by {@link #compact()}.
+     *
+     * @throws ConfigException when the key does not exist, is not a JSON object or can not be parsed
+     */
+    public Section json(String key) {
+        return section(key).orElseThrow(() -> new ConfigException("Key does not exist: " + key));
+    }
+
+    /**
+     * Returns keys found in any of the files, including keys deleted by a later file.
+     */
+    public Set<String> keys() {
+        return keys;
+    }
+
+    /**
+     * Returns keys of sections looked up so far, including keys of sections which turned out to be deleted.
+     */
+    public Set<String> loadedKeys() {
+        return Collections.unmodifiableSet(sections.keySet());
+    }
+
+    /**
+     * Returns the number of sections looked up so far.
+     */
+    public int loadedCount() {
+        return sections.size();
+    }
+
+    /**
+     * Returns the id of a key for {@link #use(int)}, or -1 if no file has the key.
+     */
+    public int id(String key) {
+        return used.id(key);
+    }
+
+    /**
+     * Marks the section as used, so that {@link #compact()} keeps it. Cheap enough to be called on every access.
+     *
+     * @param id id of the key, negative ids are ignored
+     */
+    public void use(int id) {
+        used.use(id);
+    }
+
+    public boolean isUsed(String key) {
+        return used.isUsed(key);
+    }
+
+    /**
+     * Releases sections which are not marked as used, with their resolved values and the parsed parts of the
+     * files. Released sections stay available, they are looked up again on their next access.
+     *
+     * @return the number of released sections
+     */
+    public int compact() {
+        int released = 0;
+        for (String key : sections.keySet()) {
+            if (!isUsed(key) && sections.remove(key) != null) {
+                for (Layer layer : layers) {
+                    layer.release(key);
+                }
+                released++;
+            }
+        }
+        return released;
+    }
+
+    private Optional<Section> section(String key) {
+        if (!keys.contains(key)) {
+            return Optional.empty();
+        }
+        Optional<Section> section = sections.get(key);
+        if (section == null) {
+            section = load(key);
+            Optional<Section> other = sections.putIfAbsent(key, section);
+            if (other != null) {
+                section = other;
+            }
+        }
+        return section;
+    }
+
+    private Optional<Section> load(String key) {
+        // the last file with the key decides whether the section is there
+        for (int i = layers.length - 1; i >= 0; i--) {
+            Part part = layers[i].part(key);
+            if (part == null) {
+                continue;
+            }
+            if (part.deleted) {
+                return Optional.empty();
+            }
+            if (part.object == null) {
+                throw new ConfigException("Value under key '" + key + "' is not a JSON object");
+            }
+            return Optional.of(new Section(key));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks if the section is there after merging the files below the given one.
+     */
+    private boolean presentBelow(String key, int layer) {
+        for (int i = layer - 1; i >= 0; i--) {
+            Part part = layers[i].part(key);
+            if (part != null) {
+                return part.object != null;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a value of a file is not changed by values of the files below it, so that it is the merged value.
+     */
+    private static boolean decides(MergeStrategy strategy, JsonValue value) {
+        switch (value.getType()) {
+            case STRING:
+                return strategy != MergeStrategy.PREPEND && strategy != MergeStrategy.APPEND && strategy != MergeStrategy.OVERLAY;
+            case INTEGER:
+            case DOUBLE:
+                return strategy != MergeStrategy.PREPEND && strategy != MergeStrategy.APPEND;
+            case BOOLEAN:
+                return strategy != MergeStrategy.OVERLAY && strategy != MergeStrategy.OVERLAY_TRUNCATE;
+            case NULL:
+                return true;
+            case ARRAY:
+                return strategy == MergeStrategy.REPLACE;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Values of a single section, looked up through the files on first access.
+     */
+    public final class Section {
+        private final String key;
+        /**
+         * Resolved values, empty for missing keys.
+         */
+        private final ConcurrentHashMap<String, Optional<JsonValue>> values = new ConcurrentHashMap<>();
+
+        private Section(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Checks whether the key exists in the section.
+         */
+        public boolean has(String key) {
+            return value(key) != null;
+        }
+
+        /**
+         * Retrieves a value, nested objects are frozen.
+         *
+         * @return value or null if the key does not exist
+         */
+        public JsonValue get(String key) {
+            return value(key);
+        }
+
+        /**
+         * Retrieves a text value.
+         *
+         * @throws ConfigException if the key does not exist or the value is not a string
+         */
+        public String text(String key) {
+            JsonValue value = value(key);
+            if (value == null) {
+                throw new ConfigException("Key does not exist: " + key);
+            }
+            if (value.getType() != JsonValue.ValueType.STRING) {
+                throw new ConfigException("Value under key '" + key + "' is not a string");
+            }
+            return value.asString();
+        }
+
+        private JsonValue value(String key) {
+            Optional<JsonValue> value = values.get(key);
+            if (value == null) {
+                value = Optional.ofNullable(resolve(key));
+                Optional<JsonValue> other = values.putIfAbsent(key, value);
+                if (other != null) {
+                    value = other;
+                }
+            }
+            return value.orElse(null);
+        }
+
+        private JsonValue resolve(String name) {
+            List<Part> found = new ArrayList<>();
+            int lowest = -1;
+            for (int i = layers.length - 1; i >= 0; i--) {
+                Part part = layers[i].part(key);
+                if (part == null) {
+                    continue;
+                }
+                if (part.object == null) {
+                    // deleted or replaced by a value which is not an object, nothing below reaches the key
+                    break;
+                }
+                JsonValue value = part.object.get(name);
+                if (value == null) {
+                    continue;
+                }
+                MergeStrategy strategy = part.strategy(name);
+                if (found.isEmpty() && strategy != MergeStrategy.DELETE && decides(strategy, value)) {
+                    return value;
+                }
+                found.add(part);
+                lowest = i;
+                if (strategy == MergeStrategy.DELETE || decides(strategy, value)) {
+                    break;
+                }
+            }
+            if (found.isEmpty()) {
+                return null;
+            }
+
+            // merged as LazyJsonConfig would, from the files which have the key
+            List<Json> parts = new ArrayList<>(found.size() + 1);
+            if (presentBelow(key, lowest)) {
+                Json below = new Json();
+                below.put(key, new JsonValue(new Json()));
+                parts.add(below);
+            }
+            for (int i = found.size() - 1; i >= 0; i--) {
+                Part part = found.get(i);
+                Json entry = new Json();
+                entry.put(part.key(name), part.object.get(name));
+                Json section = new Json();
+                // copied, the merge changes nested objects of the parts in place
+                section.put(part.key, new JsonValue(entry.copy()));
+                parts.add(section);
+            }
+            JsonValue section = JsonMerger.merge(parts).get(key);
+            JsonValue value = section == null ? null : section.asJson().get(name);
+            if (value != null && value.getType() == JsonValue.ValueType.JSON_OBJECT) {
+                value.asJson().freeze();
+            }
+            return value;
+        }
+    }
+
+    /**
+     * A file read by configurations, which parses each of its sections once.
+     */
+    public static final class Layer {
+        private final IndexedJson document;
+        /**
+         * Parsed sections, empty for keys the file does not have.
+         */
+        private final ConcurrentHashMap<String, Optional<Part>> parts = new ConcurrentHashMap<>();
+
+        public Layer(IndexedJson document) {
+            this.document = document;
+        }
+
+        private Part part(String key) {
+            Optional<Part> part = parts.get(key);
+            if (part == null) {
+                part = Optional.ofNullable(parse(key));
+                Optional<Part> other = parts.putIfAbsent(key, part);
+                if (other != null) {
+                    part = other;
+                }
+            }
+            return part.orElse(null);
+        }
+
+        private Part parse(String key) {
+            Json json;
+            try {
+                json = document.parse(key);
+            } catch (JsonParseException e) {
+                throw new ConfigException("Error reading configuration file: " + document.getSource(), e);
+            }
+            if (json == null) {
+                return null;
+            }
+            JsonKey jsonKey = json.keySet().iterator().next();
+            return new Part(jsonKey, json.get(jsonKey));
+        }
+
+        private void release(String key) {
+            parts.remove(key);
+        }
+    }
+
+    /**
+     * A section of a single file.
+     */
+    private static final class Part {
+        private final JsonKey key;
+        private final boolean deleted;
+        /**
+         * Null if the section is deleted or is not an object.
+         */
+        private final Json object;
+        /**
+         * Merge strategies of the keys which have their own, most keys do not.
+         */
+        private final Map<String, MergeStrategy> strategies;
+
+        Part(JsonKey key, JsonValue value) {
+            this.key = key;
+            this.deleted = key.getMergeStrategy() == MergeStrategy.DELETE;
+            this.object = deleted || value.getType() != JsonValue.ValueType.JSON_OBJECT ? null : value.asJson();
+            Map<String, MergeStrategy> strategies = Map.of();
+            if (object != null) {
+                for (JsonKey k : object.keySet()) {
+                    if (k.getMergeStrategy() != MergeStrategy.UNDEFINED) {
+                        if (strategies.isEmpty()) {
+                            strategies = new HashMap<>();
+                        }
+                        strategies.put(k.getKey(), k.getMergeStrategy());
+                    }
+                }
+            }
+            this.strategies = strategies;
+        }
+
+        /**
+         * Returns the key of an entry of the section as written in the file, with its own strategy.
+         */
+        JsonKey key(String name) {
+            MergeStrategy strategy = strategies.get(name);
+            return strategy == null ? new JsonKey(name) : new JsonKey(name, strategy);
+        }
+
+        /**
+         * Returns the strategy the key is merged with, keys without their own take the one of the section.
+         */
+        MergeStrategy strategy(String name) {
+            MergeStrategy strategy = strategies.get(name);
+            if (strategy != null) {
+                return strategy;
+            }
+            return key.getMergeStrategy() == MergeStrategy.UNDEFINED ? MergeStrategy.REPLACE : key.getMergeStrategy();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package snake2d.config;
+
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonKey;
+import snake2d.util.file.json.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema of objects with the same shape, extracted from a list into columns by {@link JsonConfig#columns(String, ColumnSchema)}.
+ * Fields are declared once, in order of their column indexes. Fields without a default value are required.
+ * Keys of other objects are matched against keys of the previous object first, so objects with the same order
+ * of keys are extracted without looking up their keys in the schema.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class ColumnSchema {
+    /**
+     * Type of values of a field and of its column.
+     */
+    public enum Type {
+        /** {@code int[]} column of integer values */
+        INTEGER,
+        /** {@code double[]} column of integer or floating-point values */
+        DECIMAL,
+        /** {@code boolean[]} column of boolean values */
+        BOOL,
+        /** {@code String[]} column of string values */
+        TEXT
+    }
+
+    private final List<Field> fields = new ArrayList<>();
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * Declares a required integer field.
+     *
+     * @param name key of the field
+     * @return this schema
+     */
+    public ColumnSchema integer(String name) {
+        return field(name, Type.INTEGER, true, null);
+    }
+
+    /**
+     * Declares an integer field.
+     *
+     * @param name key of the field
+     * @param defaultValue value used when the key does not exist
+     * @return this schema
+     */
+    public ColumnSchema integer(String name, int defaultValue) {
+        return field(name, Type.INTEGER, false, defaultValue);
+    }
+
+    /**
+     * Declares a required floating-point field.
+     *
+     * @param name key of the field
+     * @return this schema
+     */
+    public ColumnSchema decimal(String name) {
+        return field(name, Type.DECIMAL, true, null);
+    }
+
+    /**
+     * Declares a floating-point field.
+     *
+     * @param name key of the field
+     * @param defaultValue value used when the key does not exist
+     * @return this schema
+     */
+    public ColumnSchema decimal(String name, double defaultValue) {
+        return field(name, Type.DECIMAL, false, defaultValue);
+    }
+
+    /**
+     * Declares a required boolean field.
+     *
+     * @param name key of the field
+     * @return this schema
+     */
+    public ColumnSchema bool(String name) {
+        return field(name, Type.BOOL, true, null);
+    }
+
+    /**
+     * Declares a boolean field.
+     *
+     * @param name key of the field
+     * @param defaultValue value used when the key does not exist
+     * @return this schema
+     */
+    public ColumnSchema bool(String name, boolean defaultValue) {
+        return field(name, Type.BOOL, false, defaultValue);
+    }
+
+    /**
+     * Declares a required text field.
+     *
+     * @param name key of the field
+     * @return this schema
+     */
+    public ColumnSchema text(String name) {
+        return field(name, Type.TEXT, true, null);
+    }
+
+    /**
+     * Declares a text field.
+     *
+     * @param name key of the field
+     * @param defaultValue value used when the key does not exist, may be null
+     * @return this schema
+     */
+    public ColumnSchema text(String name, String defaultValue) {
+        return field(name, Type.TEXT, false, defaultValue);
+    }
+
+    /**
+     * @return number of fields
+     */
+    public int size() {
+        return fields.size();
+    }
+
+    /**
+     * @param name key of the field
+     * @return column index of the field or -1 if it is not declared
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index column index of the field
+     * @return key of the field
+     */
+    public String getName(int index) {
+        return fields.get(index).name;
+    }
+
+    /**
+     * @param index column index of the field
+     * @return type of the field
+     */
+    public Type getType(int index) {
+        return fields.get(index).type;
+    }
+
+    private ColumnSchema field(String name, Type type, boolean required, Object defaultValue) {
+        if (indexes.containsKey(name)) {
+            throw new IllegalArgumentException("Field already declared: " + name);
+        }
+        indexes.put(name, fields.size());
+        fields.add(new Field(name, type, required, defaultValue));
+        return this;
+    }
+
+    /**
+     * Extracts fields of all objects in one pass over their entries.
+     *
+     * @param key key of the list, used in error messages
+     * @param values objects of the list
+     * @throws ConfigException if a value is not an object, a required key does not exist or a value has a wrong type
+     */
+    Columns extract(String key, List<JsonValue> values) {
+        int rows = values.size();
+        Field[] fields = this.fields.toArray(new Field[0]);
+        Object[] columns = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            columns[i] = fields[i].column(rows);
+        }
+
+        // Keys of the previous object and column indexes of their fields (-1 for undeclared keys)
+        String[] shape = new String[0];
+        int[] shapeColumns = new int[0];
+        boolean[] written = new boolean[fields.length];
+
+        for (int row = 0; row < rows; row++) {
+            JsonValue element = values.get(row);
+            if (element.getType() != JsonValue.ValueType.JSON_OBJECT) {
+                throw new ConfigException("Array element under key '" + key + "' is not a JSON object");
+            }
+            Json json = element.asJson();
+            if (json.size() > shape.length) {
+                shape = Arrays.copyOf(shape, json.size());
+                shapeColumns = Arrays.copyOf(shapeColumns, json.size());
+            }
+            Arrays.fill(written, false);
+
+            Iterator<JsonValue> entryValues = json.values().iterator();
+            int position = 0;
+            for (JsonKey jsonKey : json.keySet()) {
+                JsonValue value = entryValues.next();
+                String name = jsonKey.getKey();
+                if (!name.equals(shape[position])) {
+                    shape[position] = name;
+                    shapeColumns[position] = indexOf(name);
+                }
+                int column = shapeColumns[position++];
+                if (column >= 0) {
+                    fields[column].write(columns[column], row, value, key);
+                    written[column] = true;
+                }
+            }
+
+            for (int i = 0; i < fields.length; i++) {
+                if (!written[i]) {
+                    fields[i].writeDefault(columns[i], row, key);
+                }
+            }
+        }
+        return new Columns(this, rows, columns);
+    }
+
+    /**
+     * Declared field with its default value.
+     */
+    private static final class Field {
+        private final String name;
+        private final Type type;
+        private final boolean required;
+        private final Object defaultValue;
+
+        Field(String name, Type type, boolean required, Object defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.required = required;
+            this.defaultValue = defaultValue;
+        }
+
+        Object column(int rows) {
+            switch (type) {
+                case INTEGER:
+                    return new int[rows];
+                case DECIMAL:
+                    return new double[rows];
+                case BOOL:
+                    return new boolean[rows];
+                default:
+                    return new String[rows];
+            }
+        }
+
+        void write(Object column, int row, JsonValue value, String key) {
+            JsonValue.ValueType valueType = value.getType();
+            switch (type) {
+                case INTEGER:
+                    if (valueType != JsonValue.ValueType.INTEGER) {
+                        throw wrongType(key, row, "an integer");
+                    }
+                    ((int[]) column)[row] = (Integer) value.getValue();
+                    break;
+                case DECIMAL:
+                    if (valueType == JsonValue.ValueType.DOUBLE) {
+                        ((double[]) column)[row] = (Double) value.getValue();
+                    } else if (valueType == JsonValue.ValueType.INTEGER) {
+                        ((double[]) column)[row] = (Integer) value.getValue();
+                    } else {
+                        throw wrongType(key, row, "a floating-point number");
+                    }
+                    break;
+                case BOOL:
+                    if (valueType != JsonValue.ValueType.BOOLEAN) {
+                        throw wrongType(key, row, "a boolean value");
+                    }
+                    ((boolean[]) column)[row] = (Boolean) value.getValue();
+                    break;
+                default:
+                    if (valueType != JsonValue.ValueType.STRING) {
+                        throw wrongType(key, row, "a string");
+                    }
+                    ((String[]) column)[row] = (String) value.getValue();
+            }
+        }
+
+        void writeDefault(Object column, int row, String key) {
+            if (required) {
+                throw new ConfigException("Key does not exist: " + name + " (array element " + row + " under key '" + key + "')");
+            }
+            switch (type) {
+                case INTEGER:
+                    ((int[]) column)[row] = (Integer) defaultValue;
+                    break;
+                case DECIMAL:
+                    ((double[]) column)[row] = (Double) defaultValue;
+                    break;
+                case BOOL:
+                    ((boolean[]) column)[row] = (Boolean) defaultValue;
+                    break;
+                default:
+                    ((String[]) column)[row] = (String) defaultValue;
+            }
+        }
+
+        private ConfigException wrongType(String key, int row, String expected) {
+            return new ConfigException("Value under key '" + name + "' of array element " + row + " under key '" + key + "' is not " + expected);
+        }
+    }
+}
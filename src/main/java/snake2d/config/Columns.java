@@ -0,0 +1,93 @@
+package snake2d.config;
+
+import snake2d.config.exception.ConfigException;
+
+/**
+ * Values of a list of objects extracted by {@link ColumnSchema}, stored as one array per field.
+ * Element {@code i} of every column holds the value of the {@code i}-th object of the list.
+ * Returned arrays are not copied.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class Columns {
+    private final ColumnSchema schema;
+    private final int rows;
+    private final Object[] columns;
+
+    Columns(ColumnSchema schema, int rows, Object[] columns) {
+        this.schema = schema;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * @return schema of the columns
+     */
+    public ColumnSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return number of extracted objects, the length of every column
+     */
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * @param field key of an integer field
+     * @return column of the field
+     * @throws ConfigException if the field is not declared as an integer field
+     */
+    public int[] integers(String field) {
+        return (int[]) column(field, ColumnSchema.Type.INTEGER);
+    }
+
+    /**
+     * @param field key of a floating-point field
+     * @return column of the field
+     * @throws ConfigException if the field is not declared as a floating-point field
+     */
+    public double[] decimals(String field) {
+        return (double[]) column(field, ColumnSchema.Type.DECIMAL);
+    }
+
+    /**
+     * @param field key of a boolean field
+     * @return column of the field
+     * @throws ConfigException if the field is not declared as a boolean field
+     */
+    public boolean[] bools(String field) {
+        return (boolean[]) column(field, ColumnSchema.Type.BOOL);
+    }
+
+    /**
+     * @param field key of a text field
+     * @return column of the field
+     * @throws ConfigException if the field is not declared as a text field
+     */
+    public String[] texts(String field) {
+        return (String[]) column(field, ColumnSchema.Type.TEXT);
+    }
+
+    /**
+     * Returns a column by its index, without looking the field up.
+     *
+     * @param index column index of the field
+     * @return {@code int[]}, {@code double[]}, {@code boolean[]} or {@code String[]} column, depending on the type of the field
+     */
+    public Object column(int index) {
+        return columns[index];
+    }
+
+    private Object column(String field, ColumnSchema.Type type) {
+        int index = schema.indexOf(field);
+        if (index < 0) {
+            throw new ConfigException("Field is not declared: " + field);
+        }
+        if (schema.getType(index) != type) {
+            throw new ConfigException("Field '" + field + "' is not of type " + type);
+        }
+        return columns[index];
+    }
+}
@@ -1,20 +1,32 @@
 package snake2d.config;
 
 import snake2d.config.exception.ConfigException;
+import snake2d.config.metrics.AccessMetrics;
+import snake2d.config.metrics.MergeMetrics;
+import snake2d.util.file.json.ConflictReport;
 import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonInterner;
 import snake2d.util.file.json.JsonMerger;
 import snake2d.util.file.json.JsonParser;
+import snake2d.util.file.json.JsonSchema;
 import snake2d.util.file.json.JsonValue;
+import snake2d.util.file.json.MergeListener;
 import snake2d.util.file.json.exception.JsonParseException;
 import snake2d.util.sets.LIST;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Configuration class using Json object as a data source.
@@ -23,8 +35,33 @@ import java.util.Optional;
  * @author Mateusz Frydrych thewituch@gmail.com
  */
 public class JsonConfig {
-    private final JsonParser parser;
+    /**
+     * Listener used by {@link #JsonConfig(LIST)}, null when merge metrics are disabled.
+     */
+    private static volatile MergeListener mergeListener;
+    /**
+     * Factory of access listeners of top-level configurations, null when access metrics are disabled.
+     */
+    private static volatile Function<String, AccessListener> accessListenerFactory;
+
+    static {
+        if (Boolean.getBoolean(MergeMetrics.ENABLED_PROPERTY)) {
+            MergeMetrics.install();
+        }
+        if (Boolean.getBoolean(AccessMetrics.ENABLED_PROPERTY)) {
+            AccessMetrics.install();
+        }
+    }
+
     private final Json json;
+    /**
+     * Listener of accesses to values, null when access metrics are disabled.
+     */
+    private final AccessListener access;
+    /**
+     * Views of nested objects and lists, cached only when the Json object is frozen.
+     */
+    private volatile Views views;
 
     /**
      * Creates a configuration from a single file.
@@ -33,12 +70,29 @@ public class JsonConfig {
      * @throws ConfigException in case of parsing or file reading error
      */
     public JsonConfig(Path path) {
-        this.parser = new JsonParser();
         try {
-            this.json = parser.parse(path);
+            this.json = new JsonParser().parse(path);
         } catch (IOException | JsonParseException e) {
             throw new ConfigException("Error reading configuration file: " + path, e);
         }
+        this.access = accessListener(path.toString());
+    }
+
+    /**
+     * Creates a configuration from a single file, validated against the schema while it is parsed.
+     *
+     * @param path path to the source file
+     * @param schema schema of the file
+     * @throws ConfigException in case of parsing or file reading error, caused by
+     * {@link snake2d.util.file.json.exception.JsonSchemaException} with all violations of the schema
+     */
+    public JsonConfig(Path path, JsonSchema schema) {
+        try {
+            this.json = new JsonParser().parse(path, schema);
+        } catch (IOException | JsonParseException e) {
+            throw new ConfigException("Error reading configuration file: " + path, e);
+        }
+        this.access = accessListener(path.toString());
     }
 
     /**
@@ -48,12 +102,12 @@ public class JsonConfig {
      * @throws ConfigException in case of parsing or file reading error
      */
     public JsonConfig(File file) {
-        this.parser = new JsonParser();
         try {
-            this.json = parser.parse(file);
+            this.json = new JsonParser().parse(file);
         } catch (IOException | JsonParseException e) {
             throw new ConfigException("Error reading configuration file: " + file, e);
         }
+        this.access = accessListener(file.toString());
     }
 
     /**
@@ -64,16 +118,63 @@ public class JsonConfig {
      * @throws ConfigException in case of parsing or file reading errors
      */
     public JsonConfig(LIST<Path> paths) {
-        this.parser = new JsonParser();
-        List<Json> jsons = new LinkedList<>();
-        for (Path path : paths) {
-            try {
-                jsons.add(parser.parse(path));
-            } catch (IOException | JsonParseException e) {
-                throw new ConfigException("Error reading configuration file: " + path, e);
+        this(paths, mergeListener);
+    }
+
+    /**
+     * Creates a configuration from multiple files, reporting parse and merge metrics of every file.
+     * Files are merged in order – later ones override earlier ones.
+     *
+     * @param paths list of paths to JSON files
+     * @param listener listener notified about parsing and merging of every file, may be null
+     * @throws ConfigException in case of parsing or file reading errors
+     */
+    public JsonConfig(LIST<Path> paths, MergeListener listener) {
+        this(paths, listener, null);
+    }
+
+    /**
+     * Creates a configuration from multiple files, recording keys written by every file.
+     * Files are merged in order – later ones override earlier ones.
+     *
+     * @param paths list of paths to JSON files
+     * @param listener listener notified about parsing and merging of every file, may be null
+     * @param report report of keys written by every file, layers are named by paths of files, may be null
+     * @throws ConfigException in case of parsing or file reading errors
+     */
+    public JsonConfig(LIST<Path> paths, MergeListener listener, ConflictReport report) {
+        JsonParser parser = new JsonParser();
+        if (listener == null && report == null) {
+            List<Json> jsons = new LinkedList<>();
+            for (Path path : paths) {
+                jsons.add(parseLayer(parser, path));
             }
+            this.json = JsonMerger.merge(jsons);
+        } else {
+            Json result = new Json();
+            for (Path path : paths) {
+                String source = path.toString();
+
+                long start = System.nanoTime();
+                Json layer = parseLayer(parser, path);
+                long parseNanos = System.nanoTime() - start;
+                if (listener != null) {
+                    listener.layerParsed(source, sizeOf(path), parseNanos);
+                    listener.layerMergeStarted(source);
+                }
+
+                if (report != null) {
+                    report.beginLayer(source);
+                }
+                start = System.nanoTime();
+                JsonMerger.mergeInto(result, layer, listener, report);
+                if (listener != null) {
+                    listener.layerMerged(source, System.nanoTime() - start);
+                }
+            }
+            this.json = result;
         }
-        this.json = JsonMerger.merge(jsons);
+        this.access = accessListener(layersName(paths));
     }
 
     /**
@@ -83,20 +184,98 @@ public class JsonConfig {
      * @throws ConfigException in case of parsing error
      */
     public JsonConfig(String content) {
-        this.parser = new JsonParser();
         try {
-            this.json = parser.parse(content);
+            this.json = new JsonParser().parse(content);
         } catch (JsonParseException e) {
             throw new ConfigException("Error parsing content string", e);
         }
+        this.access = accessListener("content string");
+    }
+
+    /**
+     * Sets the listener used by configurations created from multiple files.
+     *
+     * @param listener listener notified about parsing and merging of every file, null disables metrics
+     */
+    public static void setMergeListener(MergeListener listener) {
+        mergeListener = listener;
     }
 
     /**
-     * Private constructor for creating sub-configurations.
+     * Returns the listener used by configurations created from multiple files.
+     *
+     * @return current listener or null if merge metrics are disabled
      */
-    private JsonConfig(Json json) {
-        this.parser = new JsonParser();
+    public static MergeListener getMergeListener() {
+        return mergeListener;
+    }
+
+    private static Json parseLayer(JsonParser parser, Path path) {
+        try {
+            return parser.parse(path);
+        } catch (IOException | JsonParseException e) {
+            throw new ConfigException("Error reading configuration file: " + path, e);
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Constructor for creating sub-configurations and snapshots of already merged objects.
+     */
+    JsonConfig(Json json) {
+        this(json, null);
+    }
+
+    JsonConfig(Json json, AccessListener access) {
         this.json = json;
+        this.access = access;
+    }
+
+    /**
+     * Sets the factory of access listeners of top-level configurations created afterwards.
+     * Nested configurations use listeners returned by {@link AccessListener#nested(String)}.
+     *
+     * @param factory function returning a listener for the name of a configuration (path of its file), null disables metrics
+     */
+    public static void setAccessListenerFactory(Function<String, AccessListener> factory) {
+        accessListenerFactory = factory;
+    }
+
+    /**
+     * Returns the factory of access listeners of top-level configurations.
+     *
+     * @return current factory or null if access metrics are disabled
+     */
+    public static Function<String, AccessListener> getAccessListenerFactory() {
+        return accessListenerFactory;
+    }
+
+    static AccessListener accessListener(String name) {
+        Function<String, AccessListener> factory = accessListenerFactory;
+        return factory == null ? null : factory.apply(name);
+    }
+
+    /**
+     * Name of merged files: path of the first file and the number of remaining ones.
+     */
+    static String layersName(Iterable<Path> paths) {
+        Path first = null;
+        int others = 0;
+        for (Path path : paths) {
+            if (first == null) {
+                first = path;
+            } else {
+                others++;
+            }
+        }
+        return others == 0 ? String.valueOf(first) : first + " (+" + others + ")";
     }
 
     /**
@@ -106,7 +285,7 @@ public class JsonConfig {
      * @return true if the key exists
      */
     public boolean has(String key) {
-        return json.containsKey(key);
+        return lookup(key) != null;
     }
 
     /**
@@ -116,25 +295,32 @@ public class JsonConfig {
      * @return true if the key exists and the value is not null
      */
     public boolean hasValue(String key) {
-        return has(key) && !json.get(key).isNull();
+        JsonValue value = lookup(key);
+        return value != null && !value.isNull();
     }
 
     /**
      * Retrieves a nested configuration.
      *
      * @param key key of the nested object
-     * @return new JsonConfig instance for the nested object
+     * @return JsonConfig instance for the nested object, the same instance on every call if the configuration is frozen
      * @throws ConfigException if the key does not exist or the value is not a JSON object
      */
     public JsonConfig json(String key) {
-        if (!has(key)) {
-            throw new ConfigException("Key does not exist: " + key);
+        Views cache = views;
+        JsonConfig cached = cache == null ? null : cache.objects.get(key);
+        if (cached != null) {
+            if (access != null) {
+                access.lookup(key);
+            }
+            return cached;
         }
-        try {
-            return new JsonConfig(json.get(key).asJson());
-        } catch (IllegalStateException e) {
-            throw new ConfigException("Value under key '" + key + "' is not a JSON object", e);
+        JsonValue value = require(key);
+        if (!isJson(value)) {
+            typeMismatch(key);
+            throw new ConfigException("Value under key '" + key + "' is not a JSON object");
         }
+        return cacheObject(key, new JsonConfig(value.asJson(), nestedAccess(key)));
     }
 
     /**
@@ -144,14 +330,16 @@ public class JsonConfig {
      * @return Optional containing JsonConfig or empty if the key does not exist
      */
     public Optional<JsonConfig> jsonOpt(String key) {
-        if (!has(key)) {
-            return Optional.empty();
-        }
-        try {
-            return Optional.of(new JsonConfig(json.get(key).asJson()));
-        } catch (IllegalStateException e) {
-            return Optional.empty();
+        Views cache = views;
+        JsonConfig cached = cache == null ? null : cache.objects.get(key);
+        if (cached != null) {
+            if (access != null) {
+                access.lookup(key);
+            }
+            return Optional.of(cached);
         }
+        JsonValue value = lookup(key);
+        return isJson(value) ? Optional.of(cacheObject(key, new JsonConfig(value.asJson(), nestedAccess(key)))) : empty(key, value);
     }
 
     /**
@@ -162,14 +350,12 @@ public class JsonConfig {
      * @throws ConfigException if the key does not exist or the value is not a string
      */
     public String text(String key) {
-        if (!has(key)) {
-            throw new ConfigException("Key does not exist: " + key);
-        }
-        try {
-            return json.get(key).asString();
-        } catch (IllegalStateException e) {
-            throw new ConfigException("Value under key '" + key + "' is not a string", e);
+        JsonValue value = require(key);
+        if (!isText(value)) {
+            typeMismatch(key);
+            throw new ConfigException("Value under key '" + key + "' is not a string");
         }
+        return value.asString();
     }
 
     /**
@@ -180,14 +366,12 @@ public class JsonConfig {
      * @return text value or default value if the key does not exist
      */
     public String text(String key, String defaultValue) {
-        if (!has(key)) {
-            return defaultValue;
-        }
-        try {
-            return json.get(key).asString();
-        } catch (IllegalStateException e) {
-            return defaultValue;
+        JsonValue value = lookup(key);
+        if (isText(value)) {
+            return value.asString();
         }
+        defaultUsed(key, value);
+        return defaultValue;
     }
 
     /**
@@ -197,14 +381,8 @@ public class JsonConfig {
      * @return Optional containing the value or empty if the key does not exist
      */
     public Optional<String> textOpt(String key) {
-        if (!has(key)) {
-            return Optional.empty();
-        }
-        try {
-            return Optional.of(json.get(key).asString());
-        } catch (IllegalStateException e) {
-            return Optional.empty();
-        }
+        JsonValue value = lookup(key);
+        return isText(value) ? Optional.of(value.asString()) : empty(key, value);
     }
 
     /**
@@ -215,14 +393,12 @@ public class JsonConfig {
      * @throws ConfigException if the key does not exist or the value is not an integer
      */
     public int integer(String key) {
-        if (!has(key)) {
-            throw new ConfigException("Key does not exist: " + key);
-        }
-        try {
-            return json.get(key).asInteger();
-        } catch (IllegalStateException e) {
-            throw new ConfigException("Value under key '" + key + "' is not an integer", e);
+        JsonValue value = require(key);
+        if (!isInteger(value)) {
+            typeMismatch(key);
+            throw new ConfigException("Value under key '" + key + "' is not an integer");
         }
+        return value.asInteger();
     }
 
     /**
@@ -233,14 +409,12 @@ public class JsonConfig {
      * @return integer value or default value if the key does not exist
      */
     public int integer(String key, int defaultValue) {
-        if (!has(key)) {
-            return defaultValue;
-        }
-        try {
-            return json.get(key).asInteger();
-        } catch (IllegalStateException e) {
-            return defaultValue;
+        JsonValue value = lookup(key);
+        if (isInteger(value)) {
+            return value.asInteger();
         }
+        defaultUsed(key, value);
+        return defaultValue;
     }
 
     /**
@@ -250,14 +424,8 @@ public class JsonConfig {
      * @return Optional containing the value or empty if the key does not exist
      */
     public Optional<Integer> integerOpt(String key) {
-        if (!has(key)) {
-            return Optional.empty();
-        }
-        try {
-            return Optional.of(json.get(key).asInteger());
-        } catch (IllegalStateException e) {
-            return Optional.empty();
-        }
+        JsonValue value = lookup(key);
+        return isInteger(value) ? Optional.of(value.asInteger()) : empty(key, value);
     }
 
     /**
@@ -268,14 +436,12 @@ public class JsonConfig {
      * @throws ConfigException if the key does not exist or the value is not a number
      */
     public double decimal(String key) {
-        if (!has(key)) {
-            throw new ConfigException("Key does not exist: " + key);
-        }
-        try {
-            return json.get(key).asDouble();
-        } catch (IllegalStateException e) {
-            throw new ConfigException("Value under key '" + key + "' is not a floating-point number", e);
+        JsonValue value = require(key);
+        if (!isDecimal(value)) {
+            typeMismatch(key);
+            throw new ConfigException("Value under key '" + key + "' is not a floating-point number");
         }
+        return value.asDouble();
     }
 
     /**
@@ -286,14 +452,12 @@ public class JsonConfig {
      * @return floating-point value or default value if the key does not exist
      */
     public double decimal(String key, double defaultValue) {
-        if (!has(key)) {
-            return defaultValue;
-        }
-        try {
-            return json.get(key).asDouble();
-        } catch (IllegalStateException e) {
-            return defaultValue;
+        JsonValue value = lookup(key);
+        if (isDecimal(value)) {
+            return value.asDouble();
         }
+        defaultUsed(key, value);
+        return defaultValue;
     }
 
     /**
@@ -303,14 +467,8 @@ public class JsonConfig {
      * @return Optional containing the value or empty if the key does not exist
      */
     public Optional<Double> decimalOpt(String key) {
-        if (!has(key)) {
-            return Optional.empty();
-        }
-        try {
-            return Optional.of(json.get(key).asDouble());
-        } catch (IllegalStateException e) {
-            return Optional.empty();
-        }
+        JsonValue value = lookup(key);
+        return isDecimal(value) ? Optional.of(value.asDouble()) : empty(key, value);
     }
 
     /**
@@ -321,14 +479,12 @@ public class JsonConfig {
      * @throws ConfigException if the key does not exist or the value is not boolean
      */
     public boolean bool(String key) {
-        if (!has(key)) {
-            throw new ConfigException("Key does not exist: " + key);
-        }
-        try {
-            return json.get(key).asBoolean();
-        } catch (IllegalStateException e) {
-            throw new ConfigException("Value under key '" + key + "' is not a boolean value", e);
+        JsonValue value = require(key);
+        if (!isBool(value)) {
+            typeMismatch(key);
+            throw new ConfigException("Value under key '" + key + "' is not a boolean value");
         }
+        return value.asBoolean();
     }
 
     /**
@@ -339,14 +495,12 @@ public class JsonConfig {
      * @return boolean value or default value if the key does not exist
      */
     public boolean bool(String key, boolean defaultValue) {
-        if (!has(key)) {
-            return defaultValue;
-        }
-        try {
-            return json.get(key).asBoolean();
-        } catch (IllegalStateException e) {
-            return defaultValue;
+        JsonValue value = lookup(key);
+        if (isBool(value)) {
+            return value.asBoolean();
         }
+        defaultUsed(key, value);
+        return defaultValue;
     }
 
     /**
@@ -356,14 +510,8 @@ public class JsonConfig {
      * @return Optional containing the value or empty if the key does not exist
      */
     public Optional<Boolean> boolOpt(String key) {
-        if (!has(key)) {
-            return Optional.empty();
-        }
-        try {
-            return Optional.of(json.get(key).asBoolean());
-        } catch (IllegalStateException e) {
-            return Optional.empty();
-        }
+        JsonValue value = lookup(key);
+        return isBool(value) ? Optional.of(value.asBoolean()) : empty(key, value);
     }
 
     /**
@@ -374,14 +522,12 @@ public class JsonConfig {
      * @throws ConfigException if the key does not exist or the value is not an array
      */
     public JsonValue[] array(String key) {
-        if (!has(key)) {
-            throw new ConfigException("Key does not exist: " + key);
-        }
-        try {
-            return json.get(key).asArray();
-        } catch (IllegalStateException e) {
-            throw new ConfigException("Value under key '" + key + "' is not an array", e);
+        JsonValue value = require(key);
+        if (!isArray(value)) {
+            typeMismatch(key);
+            throw new ConfigException("Value under key '" + key + "' is not an array");
         }
+        return value.asArray();
     }
 
     /**
@@ -392,14 +538,12 @@ public class JsonConfig {
      * @throws ConfigException if the key does not exist or the value is not an array/list
      */
     public List<JsonValue> list(String key) {
-        if (!has(key)) {
-            throw new ConfigException("Key does not exist: " + key);
-        }
-        try {
-            return json.get(key).asList();
-        } catch (IllegalStateException e) {
-            throw new ConfigException("Value under key '" + key + "' is not a list", e);
+        JsonValue value = require(key);
+        if (!isArray(value)) {
+            typeMismatch(key);
+            throw new ConfigException("Value under key '" + key + "' is not a list");
         }
+        return value.asList();
     }
 
     /**
@@ -413,11 +557,10 @@ public class JsonConfig {
         List<JsonValue> values = list(key);
         List<String> result = new ArrayList<>();
         for (JsonValue value : values) {
-            try {
-                result.add(value.asString());
-            } catch (IllegalStateException e) {
-                throw new ConfigException("Array element under key '" + key + "' is not a string", e);
+            if (!isText(value)) {
+                throw new ConfigException("Array element under key '" + key + "' is not a string");
             }
+            result.add(value.asString());
         }
         return result;
     }
@@ -433,11 +576,10 @@ public class JsonConfig {
         List<JsonValue> values = list(key);
         List<Integer> result = new ArrayList<>();
         for (JsonValue value : values) {
-            try {
-                result.add(value.asInteger());
-            } catch (IllegalStateException e) {
-                throw new ConfigException("Array element under key '" + key + "' is not an integer", e);
+            if (!isInteger(value)) {
+                throw new ConfigException("Array element under key '" + key + "' is not an integer");
             }
+            result.add(value.asInteger());
         }
         return result;
     }
@@ -446,20 +588,158 @@ public class JsonConfig {
      * Retrieves a list of nested configurations.
      *
      * @param key key
-     * @return list of JsonConfig
+     * @return list of JsonConfig, the same unmodifiable list on every call if the configuration is frozen
      * @throws ConfigException if values are not JSON objects
      */
     public List<JsonConfig> jsonList(String key) {
+        Views cache = views;
+        List<JsonConfig> cached = cache == null ? null : cache.lists.get(key);
+        if (cached != null) {
+            if (access != null) {
+                access.lookup(key);
+            }
+            return cached;
+        }
+
         List<JsonValue> values = list(key);
         List<JsonConfig> result = new ArrayList<>();
         for (JsonValue value : values) {
-            try {
-                result.add(new JsonConfig(value.asJson()));
-            } catch (IllegalStateException e) {
-                throw new ConfigException("Array element under key '" + key + "' is not a JSON object", e);
+            if (!isJson(value)) {
+                throw new ConfigException("Array element under key '" + key + "' is not a JSON object");
             }
+            result.add(new JsonConfig(value.asJson(), nestedAccess(key)));
         }
-        return result;
+        if (!json.isFrozen()) {
+            return result;
+        }
+        List<JsonConfig> view = Collections.unmodifiableList(result);
+        List<JsonConfig> previous = views().lists.putIfAbsent(key, view);
+        return previous != null ? previous : view;
+    }
+
+    /**
+     * Retrieves a value with a single lookup.
+     *
+     * @return value or null if the key does not exist
+     */
+    private JsonValue lookup(String key) {
+        JsonValue value = json.get(key);
+        if (access != null) {
+            access.lookup(key);
+            if (value == null) {
+                access.miss(key);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves a value with a single lookup.
+     *
+     * @throws ConfigException if the key does not exist
+     */
+    private JsonValue require(String key) {
+        JsonValue value = lookup(key);
+        if (value == null) {
+            throw new ConfigException("Key does not exist: " + key);
+        }
+        return value;
+    }
+
+    private void defaultUsed(String key, JsonValue value) {
+        if (access != null) {
+            if (value != null) {
+                access.typeMismatch(key);
+            }
+            access.defaultUsed(key);
+        }
+    }
+
+    private <T> Optional<T> empty(String key, JsonValue value) {
+        if (access != null && value != null) {
+            access.typeMismatch(key);
+        }
+        return Optional.empty();
+    }
+
+    private void typeMismatch(String key) {
+        if (access != null) {
+            access.typeMismatch(key);
+        }
+    }
+
+    private AccessListener nestedAccess(String key) {
+        return access == null ? null : access.nested(key);
+    }
+
+    // Type checks accept missing values, so that accessors do not need exceptions to fall back to defaults
+
+    private static boolean isText(JsonValue value) {
+        return value != null && value.getType() == JsonValue.ValueType.STRING;
+    }
+
+    private static boolean isInteger(JsonValue value) {
+        return value != null && value.getType() == JsonValue.ValueType.INTEGER;
+    }
+
+    private static boolean isDecimal(JsonValue value) {
+        return value != null && (value.getType() == JsonValue.ValueType.DOUBLE || value.getType() == JsonValue.ValueType.INTEGER);
+    }
+
+    private static boolean isBool(JsonValue value) {
+        return value != null && value.getType() == JsonValue.ValueType.BOOLEAN;
+    }
+
+    private static boolean isArray(JsonValue value) {
+        return value != null && (value.getType() == JsonValue.ValueType.ARRAY || value.getType() == JsonValue.ValueType.LIST);
+    }
+
+    private static boolean isJson(JsonValue value) {
+        return value != null && value.getType() == JsonValue.ValueType.JSON_OBJECT;
+    }
+
+    /**
+     * Caches the view if the Json object is frozen, so that it can not change anymore.
+     * Concurrent calls may create the view twice, the first cached one is returned by both.
+     */
+    private JsonConfig cacheObject(String key, JsonConfig view) {
+        if (!json.isFrozen()) {
+            return view;
+        }
+        JsonConfig previous = views().objects.putIfAbsent(key, view);
+        return previous != null ? previous : view;
+    }
+
+    private Views views() {
+        Views cache = views;
+        if (cache == null) {
+            synchronized (this) {
+                cache = views;
+                if (cache == null) {
+                    views = cache = new Views();
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Extracts fields of a list of objects into columns, in one pass over entries of the objects.
+     *
+     * @param key key of the list
+     * @param schema declared fields of the objects
+     * @return one array per declared field, indexed by position of the object in the list
+     * @throws ConfigException if the key does not exist, the value is not a list of objects,
+     * a required field does not exist or a field value has a wrong type
+     */
+    public Columns columns(String key, ColumnSchema schema) {
+        JsonValue value = require(key);
+        if (!isArray(value)) {
+            typeMismatch(key);
+            throw new ConfigException("Value under key '" + key + "' is not a list");
+        }
+        List<JsonValue> values = value.getType() == JsonValue.ValueType.ARRAY ? Arrays.asList(value.asArray()) : value.asList();
+        return schema.extract(key, values);
     }
 
     /**
@@ -469,10 +749,8 @@ public class JsonConfig {
      * @return true if the value is null
      */
     public boolean isNull(String key) {
-        if (!has(key)) {
-            return false;
-        }
-        return json.get(key).isNull();
+        JsonValue value = lookup(key);
+        return value != null && value.isNull();
     }
 
     /**
@@ -484,6 +762,17 @@ public class JsonConfig {
         return json;
     }
 
+    /**
+     * Returns configuration sharing identical subtrees with other configurations interned by the same interner.
+     * The underlying Json object is frozen, so the configuration can not be modified afterwards.
+     *
+     * @param interner interner holding canonical subtrees
+     * @return configuration with the interned Json object
+     */
+    public JsonConfig intern(JsonInterner interner) {
+        return new JsonConfig(interner.intern(json), access);
+    }
+
     /**
      * Returns the number of keys in the configuration.
      *
@@ -502,4 +791,11 @@ public class JsonConfig {
         return json.isEmpty();
     }
 
+    /**
+     * Cached views of nested objects and lists of a frozen configuration.
+     */
+    private static final class Views {
+        private final Map<String, JsonConfig> objects = new ConcurrentHashMap<>();
+        private final Map<String, List<JsonConfig>> lists = new ConcurrentHashMap<>();
+    }
 }
@@ -0,0 +1,194 @@
+package snake2d.config;
+
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.IndexedJson;
+import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonIndex;
+import snake2d.util.file.json.JsonKey;
+import snake2d.util.file.json.JsonMerger;
+import snake2d.util.file.json.JsonValue;
+import snake2d.util.file.json.exception.JsonParseException;
+import snake2d.util.sets.LIST;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configuration built from multiple files whose top-level sections are parsed and merged on first access.
+ * Files are only scanned for positions of their sections when the configuration is created,
+ * so loading does not pay for sections which are never used.
+ * Sections are merged the same way as by {@link JsonConfig#JsonConfig(LIST)} – later files override earlier ones.
+ * Loaded sections can be released again by {@link #compact()}, keeping only those marked by {@link #use(int)}.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class LazyJsonConfig {
+    private final List<IndexedJson> layers;
+    private final Set<String> keys;
+    private final UsedKeys used;
+    /**
+     * Merged sections, empty for keys deleted by a later file.
+     */
+    private final ConcurrentHashMap<String, Optional<JsonConfig>> sections = new ConcurrentHashMap<>();
+
+    /**
+     * Scans multiple files for their top-level sections.
+     *
+     * @param paths list of paths to JSON files
+     * @throws ConfigException in case of file reading errors or malformed structure of a file,
+     * errors inside values of sections are reported when the section is loaded
+     */
+    public LazyJsonConfig(LIST<Path> paths) {
+        this(scan(paths));
+    }
+
+    /**
+     * Creates a configuration from already indexed documents, e.g. mixing scanned files with binary bundles.
+     *
+     * @param layers documents in the order of merging
+     */
+    public LazyJsonConfig(List<? extends IndexedJson> layers) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (IndexedJson layer : layers) {
+            keys.addAll(layer.keys());
+        }
+        this.layers = new ArrayList<>(layers);
+        this.keys = Collections.unmodifiableSet(keys);
+        this.used = new UsedKeys(keys);
+    }
+
+    private static List<JsonIndex> scan(LIST<Path> paths) {
+        List<JsonIndex> layers = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            try {
+                layers.add(JsonIndex.scan(path));
+            } catch (IOException | JsonParseException e) {
+                throw new ConfigException("Error reading configuration file: " + path, e);
+            }
+        }
+        return layers;
+    }
+
+    /**
+     * Checks if the section exists after merging all files, which loads the section.
+     */
+    public boolean has(String key) {
+        return section(key).isPresent();
+    }
+
+    /**
+     * Returns the section under the given key, loading it on first access.
+     * The same instance is returned by every call.
+     *
+     * @throws ConfigException when the key does not exist, is not a JSON object or can not be parsed
+     */
+    public JsonConfig json(String key) {
+        return section(key).orElseThrow(() -> new ConfigException("Key does not exist: " + key));
+    }
+
+    /**
+     * Returns keys found in any of the files, including keys deleted by a later file.
+     */
+    public Set<String> keys() {
+        return keys;
+    }
+
+    /**
+     * Returns keys of sections loaded so far, including keys of sections which turned out to be deleted.
+     */
+    public Set<String> loadedKeys() {
+        return Collections.unmodifiableSet(sections.keySet());
+    }
+
+    /**
+     * Returns the number of sections loaded so far.
+     */
+    public int loadedCount() {
+        return sections.size();
+    }
+
+    /**
+     * Returns the id of a key for {@link #use(int)}, or -1 if no file has the key.
+     */
+    public int id(String key) {
+        return used.id(key);
+    }
+
+    /**
+     * Marks the section as used, so that {@link #compact()} keeps it. Cheap enough to be called on every access.
+     *
+     * @param id id of the key, negative ids are ignored
+     */
+    public void use(int id) {
+        used.use(id);
+    }
+
+    public boolean isUsed(String key) {
+        return used.isUsed(key);
+    }
+
+    /**
+     * Releases loaded sections which are not marked as used.
+     * Released sections stay available, they are parsed and merged again from the files on their next access.
+     *
+     * @return the number of released sections
+     */
+    public int compact() {
+        int released = 0;
+        for (String key : sections.keySet()) {
+            if (!isUsed(key) && sections.remove(key) != null) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    private Optional<JsonConfig> section(String key) {
+        if (!keys.contains(key)) {
+            return Optional.empty();
+        }
+        Optional<JsonConfig> section = sections.get(key);
+        if (section == null) {
+            // Parsed outside of the map, its locks would hold back the loading of other sections,
+            // threads racing on the same section keep the first one published
+            section = load(key);
+            Optional<JsonConfig> other = sections.putIfAbsent(key, section);
+            if (other != null) {
+                section = other;
+            }
+        }
+        return section;
+    }
+
+    private Optional<JsonConfig> load(String key) {
+        List<Json> parts = new ArrayList<>(layers.size());
+        for (IndexedJson layer : layers) {
+            try {
+                Json part = layer.parse(key);
+                if (part != null) {
+                    parts.add(part);
+                }
+            } catch (JsonParseException e) {
+                throw new ConfigException("Error reading configuration file: " + layer.getSource(), e);
+            }
+        }
+
+        JsonValue value = JsonMerger.merge(parts).get(new JsonKey(key));
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (value.getType() != JsonValue.ValueType.JSON_OBJECT) {
+            throw new ConfigException("Value under key '" + key + "' is not a JSON object");
+        }
+        Json json = (Json) value.getValue();
+        json.freeze();
+        return Optional.of(new JsonConfig(json));
+    }
+}
@@ -0,0 +1,308 @@
+package snake2d.config;
+
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonMerger;
+import snake2d.util.file.json.JsonParser;
+import snake2d.util.file.json.exception.JsonParseException;
+import snake2d.util.sets.LIST;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Configuration merged from multiple files, which is reloaded when the files change.
+ * Readers get an immutable snapshot (its Json object is frozen), which is replaced atomically
+ * after changed files are parsed and all files are merged again, so they never block and never see a partially merged tree.
+ * Files are watched by a background thread started with {@link #start()}.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class ReloadableConfig implements AutoCloseable {
+    /**
+     * Default time of waiting for more changes after the first one, so that saving several files reloads only once.
+     */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 100;
+
+    private final List<Path> paths = new ArrayList<>();
+    /**
+     * Parsed files, in order of paths, guarded by the array itself.
+     */
+    private final Json[] layers;
+    private final AtomicReference<JsonConfig> snapshot = new AtomicReference<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final long debounceMillis;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Creates a configuration from multiple files.
+     * Files are merged in order – later ones override earlier ones.
+     *
+     * @param paths list of paths to JSON files
+     * @throws ConfigException in case of parsing or file reading errors
+     */
+    public ReloadableConfig(LIST<Path> paths) {
+        this(paths, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Creates a configuration from multiple files.
+     * Files are merged in order – later ones override earlier ones.
+     *
+     * @param paths list of paths to JSON files
+     * @param debounceMillis time of waiting for more changes after the first one
+     * @throws ConfigException in case of parsing or file reading errors
+     */
+    public ReloadableConfig(LIST<Path> paths, long debounceMillis) {
+        for (Path path : paths) {
+            this.paths.add(path.toAbsolutePath().normalize());
+        }
+        this.layers = new Json[this.paths.size()];
+        this.debounceMillis = debounceMillis;
+
+        for (int i = 0; i < layers.length; i++) {
+            try {
+                layers[i] = parse(this.paths.get(i));
+            } catch (IOException | JsonParseException e) {
+                throw new ConfigException("Error reading configuration file: " + this.paths.get(i), e);
+            }
+        }
+        snapshot.set(merge());
+    }
+
+    /**
+     * Returns the current snapshot. It never changes, later changes of files are published as new snapshots.
+     *
+     * @return current configuration
+     */
+    public JsonConfig get() {
+        return snapshot.get();
+    }
+
+    /**
+     * Adds a listener notified on the reloading thread.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts watching directories of the files on a daemon thread. Does nothing if already started.
+     *
+     * @throws ConfigException if directories can not be watched
+     */
+    public synchronized void start() {
+        if (watcher != null) {
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> directories = new LinkedHashSet<>();
+            for (Path path : paths) {
+                directories.add(path.getParent());
+            }
+            for (Path directory : directories) {
+                directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        } catch (IOException e) {
+            closeWatchService();
+            throw new ConfigException("Error watching configuration files", e);
+        }
+
+        watcher = new Thread(this::watch, "config-reload");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching files. The last snapshot stays available.
+     */
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+        closeWatchService();
+    }
+
+    /**
+     * Parses all files again and publishes a new snapshot.
+     *
+     * @return true if the snapshot was published, false if any file could not be read (listeners are notified)
+     */
+    public boolean reload() {
+        return reload(paths);
+    }
+
+    /**
+     * Parses changed files again and publishes a new snapshot merged from all files.
+     * If any file can not be read, the current snapshot is kept.
+     *
+     * @param changed paths of changed files, paths of other files are ignored
+     * @return true if the snapshot was published, false if any file could not be read (listeners are notified)
+     */
+    public boolean reload(Collection<Path> changed) {
+        JsonConfig previous;
+        JsonConfig current;
+        synchronized (layers) {
+            Set<Path> normalized = new HashSet<>();
+            for (Path path : changed) {
+                normalized.add(path.toAbsolutePath().normalize());
+            }
+
+            Json[] parsed = new Json[layers.length];
+            for (int i = 0; i < layers.length; i++) {
+                Path path = paths.get(i);
+                if (!normalized.contains(path)) {
+                    continue;
+                }
+                try {
+                    parsed[i] = parse(path);
+                } catch (IOException | JsonParseException e) {
+                    for (Listener listener : listeners) {
+                        listener.reloadFailed(path, e);
+                    }
+                    return false;
+                }
+            }
+
+            for (int i = 0; i < layers.length; i++) {
+                if (parsed[i] != null) {
+                    layers[i] = parsed[i];
+                }
+            }
+            current = merge();
+            previous = snapshot.getAndSet(current);
+        }
+
+        for (Listener listener : listeners) {
+            listener.configChanged(previous, current);
+        }
+        return true;
+    }
+
+    /**
+     * Merges copies of parsed files, because merging modifies objects of merged layers.
+     */
+    private JsonConfig merge() {
+        List<Json> copies = new ArrayList<>(layers.length);
+        for (Json layer : layers) {
+            copies.add(layer.copy());
+        }
+        Json merged = JsonMerger.merge(copies);
+        merged.freeze();
+        return new JsonConfig(merged, JsonConfig.accessListener(JsonConfig.layersName(paths)));
+    }
+
+    private static Json parse(Path path) throws IOException, JsonParseException {
+        return new JsonParser().parse(path);
+    }
+
+    private void watch() {
+        WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+        if (service == null) {
+            return;
+        }
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changed = new HashSet<>();
+                WatchKey key = service.take();
+                // Waits for more changes, editors often write a file in several steps
+                do {
+                    collect(key, changed);
+                    key = service.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                changed.retainAll(paths);
+                if (!changed.isEmpty()) {
+                    reload(changed);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watching has been stopped
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Some events have been lost, so any file could have changed
+                changed.addAll(paths);
+            } else {
+                changed.add(directory.resolve((Path) event.context()).toAbsolutePath().normalize());
+            }
+        }
+        key.reset();
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // Nothing more to release
+            }
+            watchService = null;
+        }
+    }
+
+    /**
+     * Listener of reloads, notified on the thread which reloaded the configuration.
+     */
+    public interface Listener {
+        /**
+         * Called after a new snapshot has been published.
+         *
+         * @param previous replaced snapshot
+         * @param current published snapshot
+         */
+        void configChanged(JsonConfig previous, JsonConfig current);
+
+        /**
+         * Called when a changed file could not be read, the current snapshot is kept.
+         *
+         * @param path path of the file
+         * @param e reading or parsing error
+         */
+        default void reloadFailed(Path path, Exception e) {
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package snake2d.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Marks of used top-level keys of a configuration, kept as a bit set indexed by ids of the keys,
+ * so that marking is cheap enough for every access.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+final class UsedKeys {
+    private final Map<String, Integer> ids;
+    private final AtomicLongArray used;
+
+    UsedKeys(Set<String> keys) {
+        this.ids = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            ids.put(key, ids.size());
+        }
+        this.used = new AtomicLongArray((keys.size() + 63) >>> 6);
+    }
+
+    /**
+     * Returns the id of a key, or -1 if it is not known.
+     */
+    int id(String key) {
+        Integer id = ids.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Marks the key of the id, negative ids are ignored.
+     */
+    void use(int id) {
+        if (id < 0) {
+            return;
+        }
+        int word = id >>> 6;
+        long bit = 1L << id;
+        if ((used.get(word) & bit) == 0) {
+            used.getAndAccumulate(word, bit, (a, b) -> a | b);
+        }
+    }
+
+    boolean isUsed(String key) {
+        int id = id(key);
+        return id >= 0 && (used.get(id >>> 6) & (1L << id)) != 0;
+    }
+}
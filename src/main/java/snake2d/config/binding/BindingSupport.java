@@ -0,0 +1,167 @@
+package snake2d.config.binding;
+
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conversions of Json values used by generated binders. Error messages are the same as of {@link snake2d.config.JsonConfig}.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public final class BindingSupport {
+
+    private BindingSupport() {
+    }
+
+    public static ConfigException missing(String key) {
+        return new ConfigException("Key does not exist: " + key);
+    }
+
+    public static int integer(JsonValue value, String key) {
+        if (value.getType() != JsonValue.ValueType.INTEGER) {
+            throw new ConfigException("Value under key '" + key + "' is not an integer");
+        }
+        return (Integer) value.getValue();
+    }
+
+    public static double decimal(JsonValue value, String key) {
+        if (value.getType() == JsonValue.ValueType.DOUBLE) {
+            return (Double) value.getValue();
+        }
+        if (value.getType() == JsonValue.ValueType.INTEGER) {
+            return (Integer) value.getValue();
+        }
+        throw new ConfigException("Value under key '" + key + "' is not a floating-point number");
+    }
+
+    public static boolean bool(JsonValue value, String key) {
+        if (value.getType() != JsonValue.ValueType.BOOLEAN) {
+            throw new ConfigException("Value under key '" + key + "' is not a boolean value");
+        }
+        return (Boolean) value.getValue();
+    }
+
+    public static String text(JsonValue value, String key) {
+        if (value.getType() != JsonValue.ValueType.STRING) {
+            throw new ConfigException("Value under key '" + key + "' is not a string");
+        }
+        return (String) value.getValue();
+    }
+
+    public static <E extends Enum<E>> E enumValue(Class<E> type, JsonValue value, String key) {
+        E result = value.getType() == JsonValue.ValueType.STRING ? constant(type, (String) value.getValue()) : null;
+        if (result == null) {
+            throw new ConfigException("Value under key '" + key + "' is not one of " + Arrays.toString(type.getEnumConstants()));
+        }
+        return result;
+    }
+
+    public static Json object(JsonValue value, String key) {
+        if (value.getType() != JsonValue.ValueType.JSON_OBJECT) {
+            throw new ConfigException("Value under key '" + key + "' is not a JSON object");
+        }
+        return (Json) value.getValue();
+    }
+
+    public static List<String> texts(JsonValue value, String key) {
+        List<JsonValue> elements = list(value, key);
+        List<String> result = new ArrayList<>(elements.size());
+        for (JsonValue element : elements) {
+            if (element.getType() != JsonValue.ValueType.STRING) {
+                throw new ConfigException("Array element under key '" + key + "' is not a string");
+            }
+            result.add((String) element.getValue());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public static List<Integer> integers(JsonValue value, String key) {
+        List<JsonValue> elements = list(value, key);
+        List<Integer> result = new ArrayList<>(elements.size());
+        for (JsonValue element : elements) {
+            if (element.getType() != JsonValue.ValueType.INTEGER) {
+                throw new ConfigException("Array element under key '" + key + "' is not an integer");
+            }
+            result.add((Integer) element.getValue());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public static List<Double> decimals(JsonValue value, String key) {
+        List<JsonValue> elements = list(value, key);
+        List<Double> result = new ArrayList<>(elements.size());
+        for (JsonValue element : elements) {
+            if (element.getType() == JsonValue.ValueType.DOUBLE) {
+                result.add((Double) element.getValue());
+            } else if (element.getType() == JsonValue.ValueType.INTEGER) {
+                result.add(((Integer) element.getValue()).doubleValue());
+            } else {
+                throw new ConfigException("Array element under key '" + key + "' is not a floating-point number");
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public static List<Boolean> bools(JsonValue value, String key) {
+        List<JsonValue> elements = list(value, key);
+        List<Boolean> result = new ArrayList<>(elements.size());
+        for (JsonValue element : elements) {
+            if (element.getType() != JsonValue.ValueType.BOOLEAN) {
+                throw new ConfigException("Array element under key '" + key + "' is not a boolean value");
+            }
+            result.add((Boolean) element.getValue());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public static <E extends Enum<E>> List<E> enums(Class<E> type, JsonValue value, String key) {
+        List<JsonValue> elements = list(value, key);
+        List<E> result = new ArrayList<>(elements.size());
+        for (JsonValue element : elements) {
+            E constant = element.getType() == JsonValue.ValueType.STRING ? constant(type, (String) element.getValue()) : null;
+            if (constant == null) {
+                throw new ConfigException("Array element under key '" + key + "' is not one of " + Arrays.toString(type.getEnumConstants()));
+            }
+            result.add(constant);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public static <T> List<T> objects(JsonValue value, String key, ConfigBinder<T> binder) {
+        List<JsonValue> elements = list(value, key);
+        List<T> result = new ArrayList<>(elements.size());
+        for (JsonValue element : elements) {
+            if (element.getType() != JsonValue.ValueType.JSON_OBJECT) {
+                throw new ConfigException("Array element under key '" + key + "' is not a JSON object");
+            }
+            result.add(binder.bind((Json) element.getValue()));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static List<JsonValue> list(JsonValue value, String key) {
+        if (value.getType() == JsonValue.ValueType.ARRAY) {
+            return Arrays.asList((JsonValue[]) value.getValue());
+        }
+        if (value.getType() != JsonValue.ValueType.LIST) {
+            throw new ConfigException("Value under key '" + key + "' is not a list");
+        }
+        return value.asList();
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String name) {
+        // Linear scan, enums used in configurations are small and valueOf would need an exception for unknown names
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+}
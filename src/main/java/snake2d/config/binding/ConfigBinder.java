@@ -0,0 +1,55 @@
+package snake2d.config.binding;
+
+import snake2d.config.JsonConfig;
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonValue;
+
+import java.util.List;
+
+/**
+ * Builds typed objects from Json objects. Implementations are generated by {@link ConfigBindingProcessor}
+ * for types annotated with {@link ConfigBinding} and read all fields in one pass over entries of the object.
+ *
+ * @param <T> bound type
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public interface ConfigBinder<T> {
+
+    /**
+     * Builds an object from the Json object.
+     *
+     * @param json source object
+     * @return new bound object
+     * @throws ConfigException if a required key does not exist or a value has a wrong type
+     */
+    T bind(Json json);
+
+    /**
+     * Builds an object from the configuration.
+     *
+     * @param config source configuration
+     * @return new bound object
+     * @throws ConfigException if a required key does not exist or a value has a wrong type
+     */
+    default T bind(JsonConfig config) {
+        return bind(config.getRawJson());
+    }
+
+    /**
+     * Builds objects from a list of Json objects under the key of the configuration.
+     *
+     * @param config source configuration
+     * @param key key of the list
+     * @return new bound objects
+     * @throws ConfigException if the key does not exist, the value is not a list of objects,
+     * a required key does not exist or a value has a wrong type
+     */
+    default List<T> bindList(JsonConfig config, String key) {
+        JsonValue value = config.getRawJson().get(key);
+        if (value == null) {
+            throw BindingSupport.missing(key);
+        }
+        return BindingSupport.objects(value, key, this);
+    }
+}
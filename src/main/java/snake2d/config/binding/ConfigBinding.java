@@ -0,0 +1,27 @@
+package snake2d.config.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record or a class, whose binder is generated by {@link ConfigBindingProcessor} at build time.
+ * The binder of type {@code Race} is {@code RaceBinder} in the same package, for nested types names of enclosing
+ * types are joined with {@code _}, e.g. {@code Race_StatsBinder}.
+ * <p>
+ * Components of records and non-static, non-transient fields of classes are bound to keys of the same name,
+ * unless renamed with {@link ConfigKey}. Fields of classes must not be private or final and classes need
+ * a non-private constructor without parameters.
+ * Supported types are {@code int}, {@code long}, {@code double}, {@code float}, {@code boolean}, their wrappers,
+ * {@code String}, enums, other types annotated with {@code @ConfigBinding} and lists of strings, integers,
+ * doubles, booleans, enums or annotated types. Values of reference types may be {@code null} in the Json object.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ConfigBinding {
+}
@@ -0,0 +1,356 @@
+package snake2d.config.binding;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor generating binders of types annotated with {@link ConfigBinding}.
+ * A generated binder iterates entries of the Json object once and assigns values in a {@code switch} on keys,
+ * so it does no lookups by key and uses no reflection. Required keys, which have not been seen, are reported after the pass.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+@SupportedAnnotationTypes("snake2d.config.binding.ConfigBinding")
+public class ConfigBindingProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(ConfigBinding.class)) {
+            TypeElement type = (TypeElement) element;
+            List<Field> fields = fields(type);
+            if (fields == null) {
+                continue;
+            }
+            try {
+                write(type, fields);
+            } catch (IOException e) {
+                error("Cannot write binder of " + type.getQualifiedName() + ": " + e.getMessage(), type);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects bound fields of the type.
+     *
+     * @return fields or null if the type can not be bound, errors are reported already
+     */
+    private List<Field> fields(TypeElement type) {
+        boolean record = type.getKind() == ElementKind.RECORD;
+        if (!record && type.getKind() != ElementKind.CLASS) {
+            return error("@ConfigBinding can be used only on records and classes", type);
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return error("Generic types can not be bound", type);
+        }
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                return error("Bound type must not be private", type);
+            }
+        }
+        if (!record) {
+            if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+                return error("Bound class must not be abstract", type);
+            }
+            if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+                return error("Bound nested class must be static", type);
+            }
+            if (!hasDefaultConstructor(type)) {
+                return error("Bound class needs a non-private constructor without parameters", type);
+            }
+        }
+
+        List<Field> fields = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        boolean valid = true;
+        List<? extends Element> members = record ? type.getRecordComponents() : ElementFilter.fieldsIn(type.getEnclosedElements());
+        for (Element member : members) {
+            Set<Modifier> modifiers = member.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            if (!record && (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL))) {
+                error("Bound field must not be private or final", member);
+                valid = false;
+                continue;
+            }
+
+            ConfigKey annotation = member.getAnnotation(ConfigKey.class);
+            String name = member.getSimpleName().toString();
+            String key = annotation == null || annotation.value().isEmpty() ? name : annotation.value();
+            TypeMirror fieldType = member.asType();
+            String conversion = conversion(fieldType);
+            if (conversion == null) {
+                error("Unsupported type of bound field: " + fieldType, member);
+                valid = false;
+            } else if (!keys.add(key)) {
+                error("Duplicate key '" + key + "'", member);
+                valid = false;
+            } else {
+                fields.add(new Field(name, key, fieldType, conversion, annotation != null && annotation.optional()));
+            }
+        }
+        return valid ? fields : null;
+    }
+
+    private static boolean hasDefaultConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns expression converting {@code value} to the type, with {@code key} holding the key literal.
+     *
+     * @return expression or null if the type is not supported
+     */
+    private String conversion(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+            case LONG:
+                return "BindingSupport.integer(value, key)";
+            case DOUBLE:
+                return "BindingSupport.decimal(value, key)";
+            case FLOAT:
+                return "(float) BindingSupport.decimal(value, key)";
+            case BOOLEAN:
+                return "BindingSupport.bool(value, key)";
+            case DECLARED:
+                String conversion = referenceConversion((DeclaredType) type);
+                return conversion == null ? null : "value.isNull() ? null : " + conversion;
+            default:
+                return null;
+        }
+    }
+
+    private String referenceConversion(DeclaredType type) {
+        TypeElement element = (TypeElement) type.asElement();
+        switch (element.getQualifiedName().toString()) {
+            case "java.lang.Integer":
+                return "Integer.valueOf(BindingSupport.integer(value, key))";
+            case "java.lang.Long":
+                return "Long.valueOf(BindingSupport.integer(value, key))";
+            case "java.lang.Double":
+                return "Double.valueOf(BindingSupport.decimal(value, key))";
+            case "java.lang.Float":
+                return "Float.valueOf((float) BindingSupport.decimal(value, key))";
+            case "java.lang.Boolean":
+                return "Boolean.valueOf(BindingSupport.bool(value, key))";
+            case "java.lang.String":
+                return "BindingSupport.text(value, key)";
+            case "java.util.List":
+                return type.getTypeArguments().size() == 1 ? listConversion(type.getTypeArguments().get(0)) : null;
+            default:
+                if (element.getKind() == ElementKind.ENUM) {
+                    return "BindingSupport.enumValue(" + element.getQualifiedName() + ".class, value, key)";
+                }
+                if (element.getAnnotation(ConfigBinding.class) != null) {
+                    return binderName(element) + ".INSTANCE.bind(BindingSupport.object(value, key))";
+                }
+                return null;
+        }
+    }
+
+    private String listConversion(TypeMirror elementType) {
+        if (elementType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) elementType).asElement();
+        switch (element.getQualifiedName().toString()) {
+            case "java.lang.String":
+                return "BindingSupport.texts(value, key)";
+            case "java.lang.Integer":
+                return "BindingSupport.integers(value, key)";
+            case "java.lang.Double":
+                return "BindingSupport.decimals(value, key)";
+            case "java.lang.Boolean":
+                return "BindingSupport.bools(value, key)";
+            default:
+                if (element.getKind() == ElementKind.ENUM) {
+                    return "BindingSupport.enums(" + element.getQualifiedName() + ".class, value, key)";
+                }
+                if (element.getAnnotation(ConfigBinding.class) != null) {
+                    return "BindingSupport.objects(value, key, " + binderName(element) + ".INSTANCE)";
+                }
+                return null;
+        }
+    }
+
+    /**
+     * Qualified name of the binder, names of enclosing types are joined with {@code _}.
+     */
+    private String binderName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            name = enclosing.getSimpleName() + "_" + name;
+        }
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        return pkg.isUnnamed() ? name + "Binder" : pkg.getQualifiedName() + "." + name + "Binder";
+    }
+
+    private void write(TypeElement type, List<Field> fields) throws IOException {
+        boolean record = type.getKind() == ElementKind.RECORD;
+        String typeName = type.getQualifiedName().toString();
+        String binderName = binderName(type);
+        int dot = binderName.lastIndexOf('.');
+        String simpleName = binderName.substring(dot + 1);
+
+        StringBuilder out = new StringBuilder();
+        if (dot > 0) {
+            out.append("package ").append(binderName, 0, dot).append(";\n\n");
+        }
+        out.append("import snake2d.config.binding.BindingSupport;\n");
+        out.append("import snake2d.config.binding.ConfigBinder;\n");
+        out.append("import snake2d.util.file.json.Json;\n");
+        out.append("import snake2d.util.file.json.JsonKey;\n");
+        out.append("import snake2d.util.file.json.JsonValue;\n\n");
+        out.append("import java.util.Iterator;\n\n");
+        out.append("/**\n * Binder of {@link ").append(typeName).append("}.\n */\n");
+        out.append("@javax.annotation.processing.Generated(\"").append(ConfigBindingProcessor.class.getName()).append("\")\n");
+        out.append("public final class ").append(simpleName).append(" implements ConfigBinder<").append(typeName).append("> {\n");
+        out.append("    public static final ").append(simpleName).append(" INSTANCE = new ").append(simpleName).append("();\n\n");
+        out.append("    private ").append(simpleName).append("() {\n    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public ").append(typeName).append(" bind(Json json) {\n");
+
+        if (record) {
+            for (Field field : fields) {
+                out.append("        ").append(field.type).append(" v_").append(field.name).append(" = ").append(zero(field.type)).append(";\n");
+            }
+        } else {
+            out.append("        ").append(typeName).append(" result = new ").append(typeName).append("();\n");
+        }
+        for (Field field : fields) {
+            if (!field.optional) {
+                out.append("        boolean has_").append(field.name).append(" = false;\n");
+            }
+        }
+
+        out.append("        Iterator<JsonValue> values = json.values().iterator();\n");
+        out.append("        for (JsonKey jsonKey : json.keySet()) {\n");
+        out.append("            JsonValue value = values.next();\n");
+        out.append("            String key = jsonKey.getKey();\n");
+        out.append("            switch (key) {\n");
+        for (Field field : fields) {
+            out.append("                case ").append(literal(field.key)).append(":\n");
+            out.append("                    ").append(record ? "v_" : "result.").append(field.name)
+                    .append(" = ").append(field.conversion).append(";\n");
+            if (!field.optional) {
+                out.append("                    has_").append(field.name).append(" = true;\n");
+            }
+            out.append("                    break;\n");
+        }
+        out.append("                default:\n");
+        out.append("                    break;\n");
+        out.append("            }\n");
+        out.append("        }\n");
+
+        for (Field field : fields) {
+            if (!field.optional) {
+                out.append("        if (!has_").append(field.name).append(") {\n");
+                out.append("            throw BindingSupport.missing(").append(literal(field.key)).append(");\n");
+                out.append("        }\n");
+            }
+        }
+
+        if (record) {
+            out.append("        return new ").append(typeName).append("(");
+            for (int i = 0; i < fields.size(); i++) {
+                out.append(i == 0 ? "" : ", ").append("v_").append(fields.get(i).name);
+            }
+            out.append(");\n");
+        } else {
+            out.append("        return result;\n");
+        }
+        out.append("    }\n");
+        out.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(binderName, type).openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    private static String zero(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return "0";
+            case LONG:
+                return "0L";
+            case DOUBLE:
+                return "0.0";
+            case FLOAT:
+                return "0.0f";
+            case BOOLEAN:
+                return "false";
+            default:
+                return "null";
+        }
+    }
+
+    private static String literal(String text) {
+        StringBuilder result = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                result.append(String.format("\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.append('"').toString();
+    }
+
+    private <T> T error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return null;
+    }
+
+    /**
+     * Bound field of a class or component of a record.
+     */
+    private static final class Field {
+        private final String name;
+        private final String key;
+        private final TypeMirror type;
+        private final String conversion;
+        private final boolean optional;
+
+        private Field(String name, String key, TypeMirror type, String conversion, boolean optional) {
+            this.name = name;
+            this.key = key;
+            this.type = type;
+            this.conversion = conversion;
+            this.optional = optional;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package snake2d.config.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Key of a bound field or record component of a type annotated with {@link ConfigBinding}.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.FIELD, ElementType.RECORD_COMPONENT})
+public @interface ConfigKey {
+
+    /**
+     * @return key in the Json object, name of the field by default
+     */
+    String value() default "";
+
+    /**
+     * Optional keys may be missing. Missing fields of classes keep their initial values,
+     * missing components of records are 0, false or null.
+     *
+     * @return true if the key may be missing
+     */
+    boolean optional() default false;
+}
@@ -0,0 +1,361 @@
+package snake2d.config.metrics;
+
+import snake2d.config.AccessListener;
+import snake2d.config.JsonConfig;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Factory of access listeners collecting lookups, misses, default fallbacks and type mismatches of configurations.
+ * Statistics are kept per top-level configuration, nested configurations count into their top-level one.
+ * Hot keys are sampled, only every {@code sampleRate}-th lookup on average records its key,
+ * so that counting stays cheap on hot paths. Totals are available directly and through JMX under {@link #OBJECT_NAME}.
+ * Metrics are enabled at startup with {@code -Dsnake2d.config.accessMetrics=true} or by calling {@link #install()}.
+ * When they are disabled, configurations do not call any listener.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class AccessMetrics implements Function<String, AccessListener>, AccessMetricsMBean {
+    public static final String ENABLED_PROPERTY = "snake2d.config.accessMetrics";
+    public static final String OBJECT_NAME = "snake2d.config:type=AccessMetrics";
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+    /**
+     * Limit of sampled keys of a single configuration, keys seen after reaching it are not sampled.
+     */
+    static final int MAX_SAMPLED_KEYS = 4096;
+    private static final int HOT_KEYS = 20;
+
+    private static AccessMetrics installed;
+
+    private final Map<String, ConfigStats> configs = new ConcurrentHashMap<>();
+    private final int sampleRate;
+
+    public AccessMetrics() {
+        this(DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * @param sampleRate average number of lookups per one sampled key, 1 samples every lookup
+     */
+    public AccessMetrics(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Creates metrics and installs them as the access listener factory of {@link JsonConfig} and as a platform MBean.
+     * Only configurations created afterwards are measured. Repeated calls return the already installed instance.
+     *
+     * @return installed metrics
+     */
+    public static synchronized AccessMetrics install() {
+        if (installed == null) {
+            AccessMetrics metrics = new AccessMetrics();
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(metrics, name);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register MBean: " + OBJECT_NAME, e);
+            }
+            JsonConfig.setAccessListenerFactory(metrics);
+            installed = metrics;
+        }
+        return installed;
+    }
+
+    /**
+     * Removes installed metrics from {@link JsonConfig} and JMX.
+     * Configurations created before keep reporting to the removed metrics.
+     */
+    public static synchronized void uninstall() {
+        if (installed == null) {
+            return;
+        }
+        if (JsonConfig.getAccessListenerFactory() == installed) {
+            JsonConfig.setAccessListenerFactory(null);
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister MBean: " + OBJECT_NAME, e);
+        }
+        installed = null;
+    }
+
+    /**
+     * Returns the listener of a top-level configuration. Configurations with the same name share statistics.
+     *
+     * @param name name of the configuration
+     * @return listener counting into statistics of the configuration
+     */
+    @Override
+    public AccessListener apply(String name) {
+        return new Scope(configs.computeIfAbsent(name, ConfigStats::new), null);
+    }
+
+    /**
+     * Returns statistics of a single configuration.
+     *
+     * @param name name of the configuration
+     * @return statistics or null if no configuration of that name has been created
+     */
+    public ConfigStats getConfig(String name) {
+        return configs.get(name);
+    }
+
+    /**
+     * Returns statistics of all configurations, most looked up first.
+     */
+    public List<ConfigStats> getConfigStats() {
+        List<ConfigStats> result = new ArrayList<>(configs.values());
+        result.sort(Comparator.comparingLong(ConfigStats::getLookups).reversed());
+        return result;
+    }
+
+    @Override
+    public long getLookupCount() {
+        long sum = 0;
+        for (ConfigStats stats : configs.values()) {
+            sum += stats.getLookups();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getMissCount() {
+        long sum = 0;
+        for (ConfigStats stats : configs.values()) {
+            sum += stats.getMisses();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getDefaultCount() {
+        long sum = 0;
+        for (ConfigStats stats : configs.values()) {
+            sum += stats.getDefaults();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getTypeMismatchCount() {
+        long sum = 0;
+        for (ConfigStats stats : configs.values()) {
+            sum += stats.getTypeMismatches();
+        }
+        return sum;
+    }
+
+    @Override
+    public String[] getConfigs() {
+        return getConfigStats().stream().map(ConfigStats::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getHotKeys() {
+        List<HotKey> result = new ArrayList<>();
+        for (ConfigStats stats : configs.values()) {
+            for (HotKey key : stats.getHotKeys(HOT_KEYS)) {
+                result.add(new HotKey(stats.name + ": " + key.key, key.estimate));
+            }
+        }
+        result.sort(HotKey.ORDER);
+        return result.stream().limit(HOT_KEYS).map(HotKey::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("lookups %d, misses %d, defaults %d, type mismatches %d, sample rate %d%n",
+                getLookupCount(), getMissCount(), getDefaultCount(), getTypeMismatchCount(), sampleRate));
+        for (ConfigStats stats : getConfigStats()) {
+            result.append(stats).append(System.lineSeparator());
+            for (HotKey key : stats.getHotKeys(HOT_KEYS)) {
+                result.append("    ").append(key).append(System.lineSeparator());
+            }
+        }
+        return result.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (ConfigStats stats : configs.values()) {
+            stats.reset();
+        }
+    }
+
+    /**
+     * Listener of a top-level or nested configuration, counting into statistics of its top-level configuration.
+     */
+    private final class Scope implements AccessListener {
+        private final ConfigStats stats;
+        /**
+         * Dotted path of the nested configuration, null for the top-level one.
+         */
+        private final String path;
+
+        private Scope(ConfigStats stats, String path) {
+            this.stats = stats;
+            this.path = path;
+        }
+
+        @Override
+        public void lookup(String key) {
+            stats.lookups.increment();
+            if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+                stats.sample(path(key), sampleRate);
+            }
+        }
+
+        @Override
+        public void miss(String key) {
+            stats.misses.increment();
+        }
+
+        @Override
+        public void defaultUsed(String key) {
+            stats.defaults.increment();
+        }
+
+        @Override
+        public void typeMismatch(String key) {
+            stats.mismatches.increment();
+        }
+
+        @Override
+        public AccessListener nested(String key) {
+            return new Scope(stats, path(key));
+        }
+
+        private String path(String key) {
+            return path == null ? key : path + "." + key;
+        }
+    }
+
+    /**
+     * Statistics of a single top-level configuration and its nested configurations.
+     */
+    public static final class ConfigStats {
+        private final String name;
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder defaults = new LongAdder();
+        private final LongAdder mismatches = new LongAdder();
+        private final Map<String, LongAdder> sampled = new ConcurrentHashMap<>();
+
+        private ConfigStats(String name) {
+            this.name = name;
+        }
+
+        private void sample(String key, int weight) {
+            LongAdder count = sampled.get(key);
+            if (count == null) {
+                if (sampled.size() >= MAX_SAMPLED_KEYS) {
+                    return;
+                }
+                count = sampled.computeIfAbsent(key, k -> new LongAdder());
+            }
+            count.add(weight);
+        }
+
+        private void reset() {
+            lookups.reset();
+            misses.reset();
+            defaults.reset();
+            mismatches.reset();
+            sampled.clear();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getLookups() {
+            return lookups.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getDefaults() {
+            return defaults.sum();
+        }
+
+        public long getTypeMismatches() {
+            return mismatches.sum();
+        }
+
+        /**
+         * Returns the most looked up keys. Keys of nested configurations are dotted paths from the top-level one.
+         *
+         * @param limit maximum number of returned keys
+         * @return keys with estimated numbers of lookups, most looked up first
+         */
+        public List<HotKey> getHotKeys(int limit) {
+            List<HotKey> result = new ArrayList<>(sampled.size());
+            for (Map.Entry<String, LongAdder> entry : sampled.entrySet()) {
+                result.add(new HotKey(entry.getKey(), entry.getValue().sum()));
+            }
+            result.sort(HotKey.ORDER);
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: lookups %d, misses %d, defaults %d, type mismatches %d",
+                    name, getLookups(), getMisses(), getDefaults(), getTypeMismatches());
+        }
+    }
+
+    /**
+     * Sampled key with estimated number of its lookups.
+     */
+    public static final class HotKey {
+        private static final Comparator<HotKey> ORDER = Comparator.comparingLong(HotKey::getEstimate).reversed().thenComparing(HotKey::getKey);
+
+        private final String key;
+        private final long estimate;
+
+        private HotKey(String key, long estimate) {
+            this.key = key;
+            this.estimate = estimate;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getEstimate() {
+            return estimate;
+        }
+
+        @Override
+        public String toString() {
+            return key + " ~" + estimate;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package snake2d.config.metrics;
+
+/**
+ * JMX view of {@link AccessMetrics}.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public interface AccessMetricsMBean {
+
+    long getLookupCount();
+
+    long getMissCount();
+
+    long getDefaultCount();
+
+    long getTypeMismatchCount();
+
+    /**
+     * @return one line per configuration, most used configurations first
+     */
+    String[] getConfigs();
+
+    /**
+     * @return most looked up keys of all configurations with estimated numbers of lookups
+     */
+    String[] getHotKeys();
+
+    /**
+     * @return report of all configurations with their hot keys
+     */
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,324 @@
+package snake2d.config.metrics;
+
+import snake2d.config.JsonConfig;
+import snake2d.util.file.json.JsonValue;
+import snake2d.util.file.json.MergeListener;
+import snake2d.util.file.json.MergeStrategy;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merge listener collecting parse and merge metrics of configuration layers.
+ * Totals and per-layer statistics are available directly and through JMX under {@link #OBJECT_NAME}.
+ * Metrics are enabled at startup with {@code -Dsnake2d.config.metrics=true} or by calling {@link #install()}.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class MergeMetrics implements MergeListener, MergeMetricsMBean {
+    public static final String ENABLED_PROPERTY = "snake2d.config.metrics";
+    public static final String OBJECT_NAME = "snake2d.config:type=MergeMetrics";
+
+    private static MergeMetrics installed;
+
+    private final Map<String, LayerStats> layers = new ConcurrentHashMap<>();
+    private final ThreadLocal<LayerStats> current = new ThreadLocal<>();
+    private final Counters totals = new Counters();
+    private final LongAdder layerCount = new LongAdder();
+    private final LongAdder bytesParsed = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder mergeNanos = new LongAdder();
+
+    /**
+     * Creates metrics and installs them as the merge listener of {@link JsonConfig} and as a platform MBean.
+     * Repeated calls return the already installed instance.
+     *
+     * @return installed metrics
+     */
+    public static synchronized MergeMetrics install() {
+        if (installed == null) {
+            MergeMetrics metrics = new MergeMetrics();
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(metrics, name);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register MBean: " + OBJECT_NAME, e);
+            }
+            JsonConfig.setMergeListener(metrics);
+            installed = metrics;
+        }
+        return installed;
+    }
+
+    /**
+     * Removes installed metrics from {@link JsonConfig} and JMX.
+     */
+    public static synchronized void uninstall() {
+        if (installed == null) {
+            return;
+        }
+        if (JsonConfig.getMergeListener() == installed) {
+            JsonConfig.setMergeListener(null);
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister MBean: " + OBJECT_NAME, e);
+        }
+        installed = null;
+    }
+
+    @Override
+    public void layerParsed(String source, long bytes, long nanos) {
+        LayerStats stats = layer(source);
+        stats.loads.increment();
+        stats.bytes.add(bytes);
+        stats.parseNanos.add(nanos);
+
+        layerCount.increment();
+        bytesParsed.add(bytes);
+        parseNanos.add(nanos);
+    }
+
+    @Override
+    public void layerMergeStarted(String source) {
+        current.set(layer(source));
+    }
+
+    @Override
+    public void layerMerged(String source, long nanos) {
+        current.remove();
+        layer(source).mergeNanos.add(nanos);
+        mergeNanos.add(nanos);
+    }
+
+    @Override
+    public void valueAdded() {
+        totals.added.increment();
+        LayerStats stats = current.get();
+        if (stats != null) {
+            stats.counters.added.increment();
+        }
+    }
+
+    @Override
+    public void valueMerged(MergeStrategy strategy) {
+        totals.strategies[strategy.ordinal()].increment();
+        LayerStats stats = current.get();
+        if (stats != null) {
+            stats.counters.strategies[strategy.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public void typeMismatch(JsonValue.ValueType target, JsonValue.ValueType source) {
+        totals.typeMismatches.increment();
+        LayerStats stats = current.get();
+        if (stats != null) {
+            stats.counters.typeMismatches.increment();
+        }
+    }
+
+    /**
+     * Returns statistics of a single layer.
+     *
+     * @param source name of the layer
+     * @return statistics or null if the layer has not been loaded
+     */
+    public LayerStats getLayer(String source) {
+        return layers.get(source);
+    }
+
+    /**
+     * Returns statistics of all loaded layers, slowest layers first.
+     */
+    public List<LayerStats> getLayerStats() {
+        List<LayerStats> result = new ArrayList<>(layers.values());
+        result.sort(Comparator.comparingLong(LayerStats::getTotalNanos).reversed());
+        return result;
+    }
+
+    @Override
+    public long getLayerCount() {
+        return layerCount.sum();
+    }
+
+    @Override
+    public long getBytesParsed() {
+        return bytesParsed.sum();
+    }
+
+    @Override
+    public long getParseTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(parseNanos.sum());
+    }
+
+    @Override
+    public long getMergeTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(mergeNanos.sum());
+    }
+
+    @Override
+    public long getAddedCount() {
+        return totals.added.sum();
+    }
+
+    @Override
+    public long getReplaceCount() {
+        return totals.count(MergeStrategy.REPLACE);
+    }
+
+    @Override
+    public long getPrependCount() {
+        return totals.count(MergeStrategy.PREPEND);
+    }
+
+    @Override
+    public long getAppendCount() {
+        return totals.count(MergeStrategy.APPEND);
+    }
+
+    @Override
+    public long getOverlayCount() {
+        return totals.count(MergeStrategy.OVERLAY);
+    }
+
+    @Override
+    public long getOverlayTruncateCount() {
+        return totals.count(MergeStrategy.OVERLAY_TRUNCATE);
+    }
+
+    @Override
+    public long getDeleteCount() {
+        return totals.count(MergeStrategy.DELETE);
+    }
+
+    @Override
+    public long getTypeMismatchCount() {
+        return totals.typeMismatches.sum();
+    }
+
+    @Override
+    public String[] getLayers() {
+        return getLayerStats().stream().map(LayerStats::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public void reset() {
+        layers.clear();
+        totals.reset();
+        layerCount.reset();
+        bytesParsed.reset();
+        parseNanos.reset();
+        mergeNanos.reset();
+    }
+
+    private LayerStats layer(String source) {
+        return layers.computeIfAbsent(source, LayerStats::new);
+    }
+
+    /**
+     * Operation counters of merged values.
+     */
+    private static final class Counters {
+        private final LongAdder added = new LongAdder();
+        private final LongAdder typeMismatches = new LongAdder();
+        private final LongAdder[] strategies = new LongAdder[MergeStrategy.values().length];
+
+        Counters() {
+            for (int i = 0; i < strategies.length; i++) {
+                strategies[i] = new LongAdder();
+            }
+        }
+
+        long count(MergeStrategy strategy) {
+            return strategies[strategy.ordinal()].sum();
+        }
+
+        void reset() {
+            added.reset();
+            typeMismatches.reset();
+            for (LongAdder strategy : strategies) {
+                strategy.reset();
+            }
+        }
+    }
+
+    /**
+     * Statistics of a single layer, summed over all its loads.
+     */
+    public static final class LayerStats {
+        private final String source;
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder parseNanos = new LongAdder();
+        private final LongAdder mergeNanos = new LongAdder();
+        private final Counters counters = new Counters();
+
+        private LayerStats(String source) {
+            this.source = source;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public long getLoads() {
+            return loads.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        public long getParseNanos() {
+            return parseNanos.sum();
+        }
+
+        public long getMergeNanos() {
+            return mergeNanos.sum();
+        }
+
+        public long getTotalNanos() {
+            return getParseNanos() + getMergeNanos();
+        }
+
+        public long getAddedCount() {
+            return counters.added.sum();
+        }
+
+        public long getCount(MergeStrategy strategy) {
+            return counters.count(strategy);
+        }
+
+        public long getTypeMismatchCount() {
+            return counters.typeMismatches.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: loads %d, %d bytes, parse %.3f ms, merge %.3f ms, added %d, replace %d, prepend %d, append %d, overlay %d, overlay truncate %d, delete %d, type mismatch %d",
+                    source, getLoads(), getBytes(), getParseNanos() / 1e6, getMergeNanos() / 1e6, getAddedCount(),
+                    getCount(MergeStrategy.REPLACE), getCount(MergeStrategy.PREPEND), getCount(MergeStrategy.APPEND),
+                    getCount(MergeStrategy.OVERLAY), getCount(MergeStrategy.OVERLAY_TRUNCATE), getCount(MergeStrategy.DELETE),
+                    getTypeMismatchCount());
+        }
+    }
+}
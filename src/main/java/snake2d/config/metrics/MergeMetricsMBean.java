@@ -0,0 +1,40 @@
+package snake2d.config.metrics;
+
+/**
+ * JMX view of {@link MergeMetrics}.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public interface MergeMetricsMBean {
+
+    long getLayerCount();
+
+    long getBytesParsed();
+
+    long getParseTimeMillis();
+
+    long getMergeTimeMillis();
+
+    long getAddedCount();
+
+    long getReplaceCount();
+
+    long getPrependCount();
+
+    long getAppendCount();
+
+    long getOverlayCount();
+
+    long getOverlayTruncateCount();
+
+    long getDeleteCount();
+
+    long getTypeMismatchCount();
+
+    /**
+     * @return one line per layer, slowest layers first
+     */
+    String[] getLayers();
+
+    void reset();
+}
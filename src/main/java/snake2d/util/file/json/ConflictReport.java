@@ -0,0 +1,241 @@
+package snake2d.util.file.json;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report of keys written by merged layers, recorded by {@link JsonMerger} during the merge.
+ * For every written key path it holds a bitset of indexes of layers, which added, merged or deleted it.
+ * Keys nested in objects added by a layer are recorded too, deleting or replacing an object
+ * is recorded only for its own key. Arrays are treated as single values, elements of overlaid arrays are not recorded.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class ConflictReport {
+    private final List<String> layers = new ArrayList<>();
+    private final Node root = new Node(this);
+    private int layer = -1;
+
+    /**
+     * Starts recording writes of the next layer.
+     *
+     * @param name name of the layer (usually path of the file)
+     * @return index of the layer
+     */
+    public int beginLayer(String name) {
+        layers.add(name);
+        layer = layers.size() - 1;
+        return layer;
+    }
+
+    /**
+     * @return number of recorded layers
+     */
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /**
+     * @param index index of the layer
+     * @return name of the layer
+     */
+    public String getLayerName(int index) {
+        return layers.get(index);
+    }
+
+    /**
+     * Returns layers which wrote the key.
+     *
+     * @param path path of the key, starting from the top-level key
+     * @return indexes of layers, empty if no layer wrote the key
+     */
+    public BitSet layers(String... path) {
+        Node node = root;
+        for (String key : path) {
+            node = node.children == null ? null : node.children.get(key);
+            if (node == null) {
+                return new BitSet();
+            }
+        }
+        return BitSet.valueOf(node.written);
+    }
+
+    /**
+     * Returns keys written by both layers.
+     *
+     * @param first index of the first layer
+     * @param second index of the second layer
+     * @return paths of overlapping keys in order of their first write
+     */
+    public List<List<String>> overlaps(int first, int second) {
+        List<List<String>> result = new ArrayList<>();
+        for (Conflict conflict : conflicts()) {
+            if (conflict.layers.get(first) && conflict.layers.get(second)) {
+                result.add(conflict.path);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all keys written by more than one layer.
+     *
+     * @return conflicts in order of the first write of their keys
+     */
+    public List<Conflict> conflicts() {
+        List<Conflict> result = new ArrayList<>();
+        Deque<Walk> stack = new ArrayDeque<>();
+        stack.push(new Walk(root, Collections.emptyList()));
+
+        while (!stack.isEmpty()) {
+            Walk walk = stack.pop();
+            if (cardinality(walk.node.written) > 1) {
+                result.add(new Conflict(Collections.unmodifiableList(walk.path), BitSet.valueOf(walk.node.written)));
+            }
+            if (walk.node.children == null) {
+                continue;
+            }
+
+            List<Walk> children = new ArrayList<>(walk.node.children.size());
+            for (Map.Entry<String, Node> entry : walk.node.children.entrySet()) {
+                List<String> path = new ArrayList<>(walk.path.size() + 1);
+                path.addAll(walk.path);
+                path.add(entry.getKey());
+                children.add(new Walk(entry.getValue(), path));
+            }
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        return result;
+    }
+
+    Node root() {
+        return root;
+    }
+
+    private static long[] set(long[] bits, int index) {
+        int word = index >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, word + 1);
+        }
+        bits[word] |= 1L << index;
+        return bits;
+    }
+
+    private static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Key written by more than one layer.
+     */
+    public static final class Conflict {
+        private final List<String> path;
+        private final BitSet layers;
+
+        private Conflict(List<String> path, BitSet layers) {
+            this.path = path;
+            this.layers = layers;
+        }
+
+        /**
+         * @return path of the key, starting from the top-level key
+         */
+        public List<String> getPath() {
+            return path;
+        }
+
+        /**
+         * @return indexes of layers which wrote the key
+         */
+        public BitSet getLayers() {
+            return (BitSet) layers.clone();
+        }
+
+        @Override
+        public String toString() {
+            return String.join(".", path) + " " + layers;
+        }
+    }
+
+    /**
+     * Node of the key trie, with a bitset of layers which wrote the key.
+     */
+    static final class Node {
+        private static final long[] EMPTY = new long[0];
+
+        private final ConflictReport report;
+        private Map<String, Node> children;
+        private long[] written = EMPTY;
+
+        private Node(ConflictReport report) {
+            this.report = report;
+        }
+
+        /**
+         * Records a write of the key by the current layer.
+         *
+         * @param key written key of this object
+         * @return node of the written key
+         */
+        Node write(JsonKey key) {
+            int layer = report.layer;
+            if (layer < 0) {
+                throw new IllegalStateException("No layer has been started");
+            }
+            if (children == null) {
+                children = new LinkedHashMap<>();
+            }
+            Node node = children.computeIfAbsent(key.getKey(), k -> new Node(report));
+            node.written = set(node.written, layer);
+            return node;
+        }
+
+        /**
+         * Records writes of all keys nested in an object added by the current layer.
+         *
+         * @param json added object, whose key is this node
+         */
+        void writeAll(Json json) {
+            Deque<Node> nodes = new ArrayDeque<>();
+            Deque<Json> jsons = new ArrayDeque<>();
+            nodes.push(this);
+            jsons.push(json);
+
+            while (!nodes.isEmpty()) {
+                Node node = nodes.pop();
+                Json object = jsons.pop();
+                for (JsonKey key : object.keySet()) {
+                    Node child = node.write(key);
+                    JsonValue value = object.get(key);
+                    if (value.getType() == JsonValue.ValueType.JSON_OBJECT) {
+                        nodes.push(child);
+                        jsons.push(value.asJson());
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Walk {
+        private final Node node;
+        private final List<String> path;
+
+        private Walk(Node node, List<String> path) {
+            this.node = node;
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package snake2d.util.file.json;
+
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.util.Set;
+
+/**
+ * Top-level entries of a JSON document which are read one by one, when they are needed.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ * @see JsonIndex
+ * @see JsonBundle
+ */
+public interface IndexedJson {
+
+    /**
+     * Returns keys of top-level entries in the order of the document.
+     */
+    Set<String> keys();
+
+    /**
+     * Reads the entry under the given key.
+     *
+     * @return object holding only the entry with its merge strategy, or null if there is no such key
+     */
+    Json parse(String key) throws JsonParseException;
+
+    /**
+     * Name of the document reported with errors, may be null.
+     */
+    String getSource();
+}
@@ -1,5 +1,9 @@
 package snake2d.util.file.json;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -12,6 +16,8 @@ import java.util.Set;
  */
 public class Json {
     private Map<JsonKey, JsonValue> data;
+    private boolean frozen;
+    private int hash;
 
     public Json() {
         this.data = new LinkedHashMap<>();
@@ -21,6 +27,7 @@ public class Json {
      * Adds a key-value pair to the JSON object.
      */
     public void put(JsonKey key, JsonValue value) {
+        checkNotFrozen();
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
@@ -41,6 +48,7 @@ public class Json {
      * Removes key from JSON object.
      */
     public void remove(JsonKey key) {
+        checkNotFrozen();
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
@@ -89,6 +97,13 @@ public class Json {
         return data.keySet();
     }
 
+    /**
+     * Returns all values, in the same order as keys of {@link #keySet()}.
+     */
+    public Collection<JsonValue> values() {
+        return data.values();
+    }
+
     /**
      * Returns the number of key-value pairs.
      */
@@ -107,9 +122,98 @@ public class Json {
      * Removes all key-value pairs.
      */
     public void clear() {
+        checkNotFrozen();
         data.clear();
     }
 
+    /**
+     * Makes this object and all nested objects immutable.
+     * Frozen objects can be safely shared, e.g. by {@link JsonInterner}, and cache their structural hash.
+     * Arrays are not copied, they must not be modified after freezing.
+     */
+    public void freeze() {
+        Deque<Json> stack = new ArrayDeque<>();
+        stack.push(this);
+
+        while (!stack.isEmpty()) {
+            Json json = stack.pop();
+            if (json.frozen) {
+                continue;
+            }
+            json.freezeShallow();
+
+            Deque<JsonValue> values = new ArrayDeque<>(json.values());
+            while (!values.isEmpty()) {
+                JsonValue value = values.pop();
+                if (value.getType() == JsonValue.ValueType.JSON_OBJECT) {
+                    stack.push(value.asJson());
+                } else if (JsonStructure.isContainer(value)) {
+                    JsonStructure.elements(value).forEach(values::push);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a deep copy of the object, which is not frozen even if this object is.
+     */
+    public Json copy() {
+        return JsonStructure.copy(this);
+    }
+
+    /**
+     * Checks whether the object has been frozen.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Returns hash of the whole structure, consistent with {@link #deepEquals(Json)}.
+     * The hash is cached once the object is frozen.
+     */
+    public int structuralHash() {
+        return JsonStructure.hashOf(this);
+    }
+
+    /**
+     * Checks whether both objects have the same keys in the same order, with the same merge strategies, and equal values.
+     * Frozen objects with different cached hashes are rejected without walking them.
+     */
+    public boolean deepEquals(Json other) {
+        return other != null && JsonStructure.equal(this, other);
+    }
+
+    /**
+     * Freezes only this object, nested objects are expected to be frozen already or separately.
+     */
+    void freezeShallow() {
+        if (!frozen) {
+            data = Collections.unmodifiableMap(data);
+            frozen = true;
+        }
+    }
+
+    Set<Map.Entry<JsonKey, JsonValue>> entries() {
+        return data.entrySet();
+    }
+
+    int cachedHash() {
+        return hash;
+    }
+
+    void cacheHash(int hash) {
+        if (frozen) {
+            this.hash = hash;
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Json object is frozen");
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,421 @@
+package snake2d.util.file.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary form of a parsed JSON document, with an index of its top-level entries.
+ * Bundles are written at build time from validated documents, so reading them can not fail on syntax.
+ * The whole file is mapped into memory when it is opened, entries are decoded only when they are requested.
+ * Merge strategies of keys, keys of array elements and overlay placeholders are kept.
+ * Instances are thread-safe.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class JsonBundle implements IndexedJson {
+    private static final int MAGIC = 0x534A4231; // "SJB1"
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte TRUE = 4;
+    private static final byte FALSE = 5;
+    private static final byte OBJECT = 6;
+    private static final byte ARRAY = 7;
+    private static final byte LIST = 8;
+    private static final byte OVERLAY = 9;
+    /**
+     * Key of an array element, followed by the element.
+     */
+    private static final byte KEYED = 10;
+
+    private static final MergeStrategy[] STRATEGIES = MergeStrategy.values();
+
+    private final ByteBuffer buffer;
+    private final String source;
+    private final long stamp;
+    private final Map<String, Entry> entries;
+
+    private JsonBundle(ByteBuffer buffer, String source, long stamp, Map<String, Entry> entries) {
+        this.buffer = buffer;
+        this.source = source;
+        this.stamp = stamp;
+        this.entries = entries;
+    }
+
+    /**
+     * Writes a document as a bundle. Existing file is overwritten.
+     *
+     * @param stamp value stored with the bundle, e.g. checksum of the source file used to check if the bundle is up to date
+     */
+    public static void write(Json json, Path path, long stamp) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        DataOutputStream dataOut = new DataOutputStream(data);
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+
+        indexOut.writeInt(json.size());
+        for (Map.Entry<JsonKey, JsonValue> entry : json.entries()) {
+            int start = dataOut.size();
+            writeValue(entry.getValue(), dataOut);
+            writeKey(entry.getKey(), indexOut);
+            indexOut.writeInt(start);
+            indexOut.writeInt(dataOut.size() - start);
+        }
+
+        try (OutputStream out = Files.newOutputStream(path)) {
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeLong(stamp);
+            index.writeTo(header);
+            data.writeTo(header);
+            header.flush();
+        }
+    }
+
+    /**
+     * Maps a bundle into memory and reads its index.
+     *
+     * @throws IOException in case of file reading error, or when the file is not a bundle of this version
+     */
+    public static JsonBundle open(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a JSON bundle: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " of JSON bundle: " + path);
+            }
+            long stamp = buffer.getLong();
+
+            int count = buffer.getInt();
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                JsonKey key = readKey(buffer);
+                entries.put(key.getKey(), new Entry(key, buffer.getInt(), buffer.getInt()));
+            }
+            int data = buffer.position();
+            for (Entry entry : entries.values()) {
+                if (entry.start < 0 || entry.length < 0 || (long) data + entry.start + entry.length > buffer.limit()) {
+                    throw new IOException("Truncated JSON bundle: " + path);
+                }
+            }
+            return new JsonBundle(buffer.slice(data, buffer.limit() - data), path.toString(), stamp, Collections.unmodifiableMap(entries));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated JSON bundle: " + path, e);
+        }
+    }
+
+    @Override
+    public Set<String> keys() {
+        return entries.keySet();
+    }
+
+    public boolean containsKey(String key) {
+        return entries.containsKey(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Value stored with the bundle when it was written.
+     */
+    public long getStamp() {
+        return stamp;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Decodes the entry under the given key.
+     *
+     * @return object holding only the entry with its merge strategy, or null if there is no such key
+     */
+    @Override
+    public Json parse(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        Json result = new Json();
+        result.put(entry.key, readValue(buffer.slice(entry.start, entry.length)));
+        return result;
+    }
+
+    /**
+     * Decodes the whole document.
+     */
+    public Json toJson() {
+        Json result = new Json();
+        for (Entry entry : entries.values()) {
+            result.put(entry.key, readValue(buffer.slice(entry.start, entry.length)));
+        }
+        return result;
+    }
+
+    /**
+     * Writes a value with all nested objects and arrays.
+     * Trees are walked with an explicit stack, so their depth is limited only by available memory.
+     */
+    private static void writeValue(JsonValue root, DataOutputStream out) throws IOException {
+        Deque<Iterator<?>> stack = new ArrayDeque<>();
+        writeNode(root, out, stack);
+
+        while (!stack.isEmpty()) {
+            Iterator<?> iterator = stack.peek();
+            if (!iterator.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Object next = iterator.next();
+            if (next instanceof Map.Entry) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) next;
+                writeKey((JsonKey) entry.getKey(), out);
+                writeNode((JsonValue) entry.getValue(), out, stack);
+            } else {
+                JsonValue element = (JsonValue) next;
+                JsonKey key = JsonStructure.arrayKey(element);
+                if (key != null) {
+                    out.writeByte(KEYED);
+                    writeKey(key, out);
+                }
+                writeNode(element, out, stack);
+            }
+        }
+    }
+
+    /**
+     * Writes a primitive value, or the header of an object or array whose content is pushed on the stack.
+     */
+    private static void writeNode(JsonValue value, DataOutputStream out, Deque<Iterator<?>> stack) throws IOException {
+        switch (value.getType()) {
+            case NULL:
+                out.writeByte(NULL);
+                break;
+            case STRING:
+                out.writeByte(STRING);
+                writeString((String) value.getValue(), out);
+                break;
+            case INTEGER:
+                out.writeByte(INTEGER);
+                out.writeInt((Integer) value.getValue());
+                break;
+            case DOUBLE:
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value.getValue());
+                break;
+            case BOOLEAN:
+                out.writeByte((Boolean) value.getValue() ? TRUE : FALSE);
+                break;
+            case OVERLAY:
+                out.writeByte(OVERLAY);
+                break;
+            case JSON_OBJECT:
+                Json json = value.asJson();
+                out.writeByte(OBJECT);
+                writeLength(json.size(), out);
+                stack.push(json.entries().iterator());
+                break;
+            case ARRAY:
+            case LIST:
+                List<JsonValue> elements = value.asList();
+                out.writeByte(value.getType() == JsonValue.ValueType.ARRAY ? ARRAY : LIST);
+                writeLength(elements.size(), out);
+                stack.push(elements.iterator());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported value type: " + value.getType());
+        }
+    }
+
+    private static void writeKey(JsonKey key, DataOutputStream out) throws IOException {
+        out.writeByte(key.getMergeStrategy().ordinal());
+        writeString(key.getKey(), out);
+    }
+
+    private static void writeString(String text, DataOutputStream out) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeLength(bytes.length, out);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes a length in 7-bit groups, most lengths take a single byte.
+     */
+    private static void writeLength(int length, DataOutputStream out) throws IOException {
+        while ((length & ~0x7F) != 0) {
+            out.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+    }
+
+    /**
+     * Reads a value with all nested objects and arrays, using an explicit stack of frames.
+     */
+    private static JsonValue readValue(ByteBuffer in) {
+        Deque<Frame> stack = new ArrayDeque<>();
+        JsonValue completed = readNode(in, stack);
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (completed != null) {
+                frame.add(completed);
+                completed = null;
+            }
+            if (frame.remaining == 0) {
+                stack.pop();
+                completed = frame.toValue();
+                continue;
+            }
+
+            frame.remaining--;
+            if (frame.json != null) {
+                frame.key = readKey(in);
+            } else if (in.get(in.position()) == KEYED) {
+                in.get();
+                frame.key = readKey(in);
+            }
+            completed = readNode(in, stack);
+        }
+        return completed;
+    }
+
+    /**
+     * Reads a primitive value, or the header of an object or array whose frame is pushed on the stack.
+     *
+     * @return the value, or null if a frame has been pushed
+     */
+    private static JsonValue readNode(ByteBuffer in, Deque<Frame> stack) {
+        byte tag = in.get();
+        switch (tag) {
+            case NULL:
+                return new JsonValue(null);
+            case STRING:
+                return new JsonValue(readString(in));
+            case INTEGER:
+                return new JsonValue(in.getInt());
+            case DOUBLE:
+                return new JsonValue(in.getDouble());
+            case TRUE:
+                return new JsonValue(true);
+            case FALSE:
+                return new JsonValue(false);
+            case OVERLAY:
+                return new JsonValue(JsonValue.ValueType.OVERLAY);
+            case OBJECT:
+            case ARRAY:
+            case LIST:
+                stack.push(new Frame(tag, readLength(in)));
+                return null;
+            default:
+                throw new IllegalStateException("Unknown tag " + tag + " in JSON bundle");
+        }
+    }
+
+    private static JsonKey readKey(ByteBuffer in) {
+        MergeStrategy strategy = STRATEGIES[in.get()];
+        return new JsonKey(readString(in), strategy);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[readLength(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(ByteBuffer in) {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return length;
+            }
+        }
+    }
+
+    /**
+     * Object or array which is being read.
+     */
+    private static final class Frame {
+        final byte tag;
+        final Json json;
+        final List<JsonValue> elements;
+        int remaining;
+        /**
+         * Key of the entry or array element being read.
+         */
+        JsonKey key;
+
+        Frame(byte tag, int size) {
+            this.tag = tag;
+            this.json = tag == OBJECT ? new Json() : null;
+            this.elements = tag == OBJECT ? null : new ArrayList<>(size);
+            this.remaining = size;
+        }
+
+        void add(JsonValue value) {
+            if (json != null) {
+                json.put(key, value);
+            } else {
+                elements.add(key != null ? new JsonValue.JsonArrayValue(key, value) : value);
+            }
+            key = null;
+        }
+
+        JsonValue toValue() {
+            if (json != null) {
+                return new JsonValue(json);
+            }
+            return tag == ARRAY ? new JsonValue(elements.toArray(new JsonValue[0])) : new JsonValue(elements);
+        }
+    }
+
+    /**
+     * Position of an entry in the data part of the bundle.
+     */
+    private static final class Entry {
+        final JsonKey key;
+        final int start;
+        final int length;
+
+        Entry(JsonKey key, int start, int length) {
+            this.key = key;
+            this.start = start;
+            this.length = length;
+        }
+    }
+}
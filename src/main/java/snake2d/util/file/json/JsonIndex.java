@@ -0,0 +1,107 @@
+package snake2d.util.file.json;
+
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of top-level entries of a JSON document.
+ * The document is scanned once for positions of its entries, values are parsed only when they are requested.
+ * Useful for large files of which only a few sections are used, like dictionaries of translations.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class JsonIndex implements IndexedJson {
+    private final String content;
+    private final String source;
+    private final Map<String, List<Entry>> entries = new LinkedHashMap<>();
+
+    JsonIndex(String content, String source) {
+        this.content = content;
+        this.source = source;
+    }
+
+    /**
+     * Scans a JSON file from the given path.
+     */
+    public static JsonIndex scan(Path path) throws IOException, JsonParseException {
+        return new JsonParser().index(JsonParser.read(path), path.toString());
+    }
+
+    /**
+     * Scans JSON content from a string.
+     */
+    public static JsonIndex scan(String content) throws JsonParseException {
+        return new JsonParser().index(content, null);
+    }
+
+    void add(JsonKey key, int start, int line, int column) {
+        entries.computeIfAbsent(key.getKey(), k -> new ArrayList<>(1)).add(new Entry(start, line, column));
+    }
+
+    @Override
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public boolean containsKey(String key) {
+        return entries.containsKey(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Name of the scanned file, null for content scanned from a string.
+     */
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Parses the entry under the given key.
+     * Repeated keys are parsed in the order of the document, the same way as the whole document would be.
+     *
+     * @return object holding only the entry with its merge strategy, or null if there is no such key
+     */
+    @Override
+    public Json parse(String key) throws JsonParseException {
+        List<Entry> found = entries.get(key);
+        if (found == null) {
+            return null;
+        }
+        Json result = new Json();
+        JsonParser parser = new JsonParser();
+        for (Entry entry : found) {
+            Json parsed = parser.parseEntry(content, entry.start, entry.line, entry.column);
+            for (JsonKey parsedKey : parsed.keySet()) {
+                result.put(parsedKey, parsed.get(parsedKey));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Position of an entry in the document, lines and columns are kept for error messages.
+     */
+    private static final class Entry {
+        final int start;
+        final int line;
+        final int column;
+
+        Entry(int start, int line, int column) {
+            this.start = start;
+            this.line = line;
+            this.column = column;
+        }
+    }
+}
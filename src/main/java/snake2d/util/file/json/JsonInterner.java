@@ -0,0 +1,208 @@
+package snake2d.util.file.json;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash-consing of Json trees.
+ * Interning freezes a tree and replaces its structurally identical objects, arrays and values
+ * with a single shared instance. The interner keeps all canonical instances, so the same interner
+ * can be used for several layers or languages to share identical subtrees between them.
+ * Trees are walked with an explicit stack, so their depth is limited only by available memory.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class JsonInterner {
+    private final Map<Canonical, Json> objects = new HashMap<>();
+    private final Map<Canonical, JsonValue> values = new HashMap<>();
+    private final Map<JsonValue, Integer> arrayHashes = new IdentityHashMap<>();
+
+    /**
+     * Freezes the object and replaces its identical subtrees with shared instances.
+     * Nested objects which are frozen already are shared as a whole, their content is not changed.
+     *
+     * @param json object to intern (will be frozen)
+     * @return canonical instance structurally equal to the object, possibly interned before
+     */
+    public Json intern(Json json) {
+        if (!json.isFrozen()) {
+            internContent(json);
+        }
+        return canonical(json);
+    }
+
+    /**
+     * Freezes objects nested in the value and replaces identical subtrees with shared instances.
+     *
+     * @param value value to intern
+     * @return canonical instance structurally equal to the value, possibly interned before
+     */
+    public JsonValue intern(JsonValue value) {
+        if (value.getType() == JsonValue.ValueType.JSON_OBJECT) {
+            if (!value.asJson().isFrozen()) {
+                internContent(value.asJson());
+            }
+        } else if (JsonStructure.isContainer(value)) {
+            internContent(value);
+        }
+        return canonical(value);
+    }
+
+    /**
+     * @return number of canonical objects and values
+     */
+    public int size() {
+        return objects.size() + values.size();
+    }
+
+    /**
+     * Forgets all canonical instances. Interned trees stay frozen and keep sharing their subtrees.
+     */
+    public void clear() {
+        objects.clear();
+        values.clear();
+        arrayHashes.clear();
+    }
+
+    /**
+     * Replaces content of the container (not frozen Json object or array) and of all nested containers
+     * with canonical instances, starting from the deepest ones.
+     */
+    private void internContent(Object root) {
+        List<Object> containers = new ArrayList<>();
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            Object container = stack.pop();
+            containers.add(container);
+            Collection<JsonValue> children = container instanceof Json
+                    ? ((Json) container).values()
+                    : JsonStructure.elements((JsonValue) container);
+            for (JsonValue child : children) {
+                if (child.getType() == JsonValue.ValueType.JSON_OBJECT) {
+                    if (!child.asJson().isFrozen()) {
+                        stack.push(child.asJson());
+                    }
+                } else if (JsonStructure.isContainer(child) && !arrayHashes.containsKey(child)) {
+                    stack.push(child);
+                }
+            }
+        }
+
+        // Nested containers are always listed after their parents
+        for (int i = containers.size() - 1; i >= 0; i--) {
+            Object container = containers.get(i);
+            if (container instanceof Json) {
+                Json json = (Json) container;
+                for (Map.Entry<JsonKey, JsonValue> entry : json.entries()) {
+                    entry.setValue(canonical(entry.getValue()));
+                }
+                json.freezeShallow();
+            } else {
+                List<JsonValue> elements = JsonStructure.elements((JsonValue) container);
+                for (int j = 0; j < elements.size(); j++) {
+                    elements.set(j, canonical(elements.get(j)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the canonical instance of a frozen object.
+     */
+    private Json canonical(Json json) {
+        return objects.computeIfAbsent(new Canonical(json, json.structuralHash()), canonical -> json);
+    }
+
+    /**
+     * Returns the canonical instance of a value, whose nested containers are canonical already.
+     */
+    private JsonValue canonical(JsonValue value) {
+        int hash;
+        switch (value.getType()) {
+            case JSON_OBJECT:
+                Json json = value.asJson();
+                Json canonical = canonical(json);
+                if (canonical != json) {
+                    value = wrap(value, canonical);
+                }
+                hash = JsonStructure.valueHash(value, canonical.structuralHash());
+                break;
+            case ARRAY:
+            case LIST:
+                hash = arrayHash(value);
+                break;
+            default:
+                hash = JsonStructure.leafHash(value);
+        }
+
+        JsonValue result = values.computeIfAbsent(new Canonical(value, hash), canonical -> canonical.value());
+        if (result == value && JsonStructure.isContainer(value) && value.getType() != JsonValue.ValueType.JSON_OBJECT) {
+            arrayHashes.put(value, hash);
+        }
+        return result;
+    }
+
+    private int arrayHash(JsonValue array) {
+        Integer cached = arrayHashes.get(array);
+        if (cached != null) {
+            return cached;
+        }
+
+        int hash = 1;
+        for (JsonValue element : JsonStructure.elements(array)) {
+            Integer elementHash = arrayHashes.get(element);
+            hash = 31 * hash + (elementHash != null ? elementHash : element.structuralHash());
+        }
+        return JsonStructure.valueHash(array, hash);
+    }
+
+    private static JsonValue wrap(JsonValue value, Json json) {
+        JsonKey key = JsonStructure.arrayKey(value);
+        JsonValue wrapped = new JsonValue(json);
+        return key == null ? wrapped : new JsonValue.JsonArrayValue(key, wrapped);
+    }
+
+    /**
+     * Key of the canonical table, comparing structure of Json objects or values.
+     */
+    private static final class Canonical {
+        private final Object item;
+        private final int hash;
+
+        Canonical(Object item, int hash) {
+            this.item = item;
+            this.hash = hash;
+        }
+
+        JsonValue value() {
+            return (JsonValue) item;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Canonical)) return false;
+            Canonical other = (Canonical) o;
+            if (hash != other.hash) {
+                return false;
+            }
+            if (item instanceof Json) {
+                return other.item instanceof Json && JsonStructure.equal((Json) item, (Json) other.item);
+            }
+            return other.item instanceof JsonValue && JsonStructure.equal((JsonValue) item, (JsonValue) other.item);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -49,6 +49,7 @@ public class JsonKey {
 
     @Override
     public int hashCode() {
-        return Objects.hash(key);
+        // Same value as Objects.hash(key), without allocating the varargs array on every lookup
+        return 31 + key.hashCode();
     }
 }
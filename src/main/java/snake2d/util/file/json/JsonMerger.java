@@ -1,6 +1,14 @@
 package snake2d.util.file.json;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static snake2d.util.file.json.JsonValue.ValueType.*;
 
@@ -29,7 +37,7 @@ public class JsonMerger {
 
         for (Json json : jsons) {
             if (json != null) {
-                merge(result, json, MergeStrategy.REPLACE);
+                merge(result, json, MergeStrategy.REPLACE, null, null);
             }
         }
 
@@ -51,26 +59,127 @@ public class JsonMerger {
         return merge(jsons.toArray(new Json[0]));
     }
 
+    /**
+     * Merges a list of Json objects into one, reporting every operation to the listener.
+     *
+     * @param jsons list of Json objects to merge
+     * @param listener listener notified about merge operations, may be null
+     * @return new Json object containing merged keys
+     */
+    public static Json merge(List<Json> jsons, MergeListener listener) {
+        Json result = new Json();
+
+        if (jsons != null) {
+            for (Json json : jsons) {
+                mergeInto(result, json, listener);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Merges a list of Json objects into one, recording keys written by every object in the report.
+     * Objects are recorded as layers named by their index in the list.
+     *
+     * @param jsons list of Json objects to merge
+     * @param report report of written keys
+     * @return new Json object containing merged keys
+     */
+    public static Json merge(List<Json> jsons, ConflictReport report) {
+        Json result = new Json();
+
+        if (jsons != null) {
+            for (int i = 0; i < jsons.size(); i++) {
+                report.beginLayer(String.valueOf(i));
+                mergeInto(result, jsons.get(i), null, report);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Merges a single layer into the target Json, as it is done for every object passed to {@link #merge(Json...)}.
+     * Allows merging layers one by one, e.g. to measure time spent on each of them.
+     *
+     * @param target target Json (will be modified)
+     * @param source layer to merge into target, ignored if null
+     * @param listener listener notified about merge operations, may be null
+     */
+    public static void mergeInto(Json target, Json source, MergeListener listener) {
+        mergeInto(target, source, listener, null);
+    }
+
+    /**
+     * Merges a single layer into the target Json, recording written keys in the current layer of the report.
+     *
+     * @param target target Json (will be modified)
+     * @param source layer to merge into target, ignored if null
+     * @param listener listener notified about merge operations, may be null
+     * @param report report of written keys, may be null
+     * @see ConflictReport#beginLayer(String)
+     */
+    public static void mergeInto(Json target, Json source, MergeListener listener, ConflictReport report) {
+        if (source != null) {
+            merge(target, source, MergeStrategy.REPLACE, listener, report);
+        }
+    }
+
+    /**
+     * Merges a list of Json objects into one using the common fork-join pool.
+     *
+     * @param jsons list of Json objects to merge
+     * @return new Json object containing merged keys, same as returned by {@link #merge(List)}
+     * @see #parallelMerge(List, ForkJoinPool)
+     */
+    public static Json parallelMerge(List<Json> jsons) {
+        return parallelMerge(jsons, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Merges a list of Json objects into one, combining neighbouring layers pairwise in parallel.
+     * Two neighbouring layers are composed into a single layer only when applying the composed layer
+     * is guaranteed to give the same result as applying both of them in order, otherwise they are kept
+     * separate. Composed layers are finally applied in order, like in {@link #merge(List)}.
+     *
+     * @param jsons list of Json objects to merge
+     * @param pool pool running the reduction
+     * @return new Json object containing merged keys, same as returned by {@link #merge(List)}
+     */
+    public static Json parallelMerge(List<Json> jsons, ForkJoinPool pool) {
+        Json result = new Json();
+        if (jsons == null || jsons.isEmpty()) {
+            return result;
+        }
+
+        Json[] layers = jsons.stream().filter(json -> json != null).toArray(Json[]::new);
+        List<Json> runs = pool.invoke(new ComposeTask(layers, 0, layers.length));
+        for (Json run : runs) {
+            merge(result, run, MergeStrategy.REPLACE, null, null);
+        }
+
+        return result;
+    }
+
     /**
      * Applies source Json to target Json with given merge strategy.
+     * Nested objects and overlaid arrays are merged using an explicit stack of frames
+     * instead of recursion, so the depth of merged objects is limited only by available memory.
      *
      * @param target target Json (will be modified)
      * @param source source Json (provides new values)
      * @param defaultStrategy default merge strategy if key doesn't specify one
+     * @param listener listener notified about merge operations, may be null
+     * @param report report of written keys, may be null
      */
-    private static void merge(Json target, Json source, MergeStrategy defaultStrategy) {
-        for (JsonKey key : source.keySet()) {
-            MergeStrategy strategy = resolveStrategy(key, defaultStrategy);
-            JsonValue sourceValue = source.get(key);
-            JsonValue targetValue = target.get(key);
-
-            if (strategy == MergeStrategy.DELETE) {
-                target.remove(key);
-            } else if (targetValue == null) {
-                target.put(key, sourceValue);
-            } else {
-                JsonValue merged = mergeValuesByStrategy(strategy, targetValue, sourceValue);
-                target.put(key, merged);
+    private static void merge(Json target, Json source, MergeStrategy defaultStrategy, MergeListener listener, ConflictReport report) {
+        Deque<Frame> stack = new ArrayDeque<>();
+        stack.push(new ObjectFrame(target, source, defaultStrategy, listener, report == null ? null : report.root()));
+
+        while (!stack.isEmpty()) {
+            if (!stack.peek().advance(stack)) {
+                stack.pop();
             }
         }
     }
@@ -85,8 +194,10 @@ public class JsonMerger {
 
     /**
      * Merges two values based on strategy and their types.
+     * Merging of nested objects and overlaid arrays is deferred by pushing their frame
+     * on the stack, the returned value is completed when that frame is processed.
      */
-    private static JsonValue mergeValuesByStrategy(MergeStrategy strategy, JsonValue target, JsonValue source) {
+    private static JsonValue mergeValuesByStrategy(MergeStrategy strategy, JsonValue target, JsonValue source, Deque<Frame> stack, MergeListener listener, ConflictReport.Node node) {
         if (target.getType() == STRING && source.getType() == STRING) {
             return mergeStrings(strategy, target, source);
         }
@@ -100,30 +211,34 @@ public class JsonMerger {
             return mergeBooleans(strategy, target, source);
         }
         if (target.getType() == ARRAY && source.getType() == ARRAY) {
-            return mergeArrays(strategy, target, source);
+            return mergeArrays(strategy, target, source, stack, listener);
         }
         if (target.getType() == LIST && source.getType() == LIST) {
             throw new IllegalStateException("Not implemented yet!");
         }
         if (target.getType() == JSON_OBJECT && source.getType() == JSON_OBJECT) {
-            return mergeJsonObjects(strategy, target, source);
+            return mergeJsonObjects(strategy, target, source, stack, listener, node);
         }
         if (target.getType() == OVERLAY || source.getType() == OVERLAY) {
             throw new IllegalStateException("Overlays cannot be merged!");
         }
 
+        if (listener != null && target.getType() != source.getType()) {
+            listener.typeMismatch(target.getType(), source.getType());
+        }
+
         // Different types or simple values means REPLACE
         return source;
     }
 
     /**
-     * Merges two JSON objects recursively.
+     * Merges two JSON objects. Target object is modified in place when its frame is processed.
      */
-    private static JsonValue mergeJsonObjects(MergeStrategy parentStrategy, JsonValue targetValue, JsonValue sourceValue) {
+    private static JsonValue mergeJsonObjects(MergeStrategy parentStrategy, JsonValue targetValue, JsonValue sourceValue, Deque<Frame> stack, MergeListener listener, ConflictReport.Node node) {
         Json target = targetValue.asJson();
         Json source = sourceValue.asJson();
 
-        merge(target, source, parentStrategy);
+        stack.push(new ObjectFrame(target, source, parentStrategy, listener, node));
 
         return targetValue;
     }
@@ -131,7 +246,7 @@ public class JsonMerger {
     /**
      * Merges two arrays based on merge strategy.
      */
-    private static JsonValue mergeArrays(MergeStrategy strategy, JsonValue targetValue, JsonValue sourceValue) {
+    private static JsonValue mergeArrays(MergeStrategy strategy, JsonValue targetValue, JsonValue sourceValue, Deque<Frame> stack, MergeListener listener) {
         JsonValue[] targetArr = targetValue.asArray();
         JsonValue[] sourceArr = sourceValue.asArray();
 
@@ -144,10 +259,10 @@ public class JsonMerger {
                 merged = appendArrays(targetArr, sourceArr);
                 break;
             case OVERLAY:
-                merged = overlayArrays(targetArr, sourceArr, false);
+                merged = overlayArrays(targetArr, sourceArr, false, stack, listener);
                 break;
             case OVERLAY_TRUNCATE:
-                merged = overlayArrays(targetArr, sourceArr, true);
+                merged = overlayArrays(targetArr, sourceArr, true, stack, listener);
                 break;
             case REPLACE:
             default:
@@ -171,27 +286,14 @@ public class JsonMerger {
      * Overlays source array over target array.
      * If truncate is true, result length equals source length.
      * If truncate is false, result length of longer array.
-     * Recursively merges nested structures (arrays and JSON objects).
+     * Nested structures (arrays and JSON objects) are merged too, the returned
+     * array is filled in when its frame is processed.
      */
-    private static JsonValue[] overlayArrays(JsonValue[] target, JsonValue[] source, boolean truncate) {
+    private static JsonValue[] overlayArrays(JsonValue[] target, JsonValue[] source, boolean truncate, Deque<Frame> stack, MergeListener listener) {
         int length = truncate ? source.length : Math.max(target.length, source.length);
         JsonValue[] merged = new JsonValue[length];
 
-        for (int i = 0; i < length; i++) {
-            if (i < source.length) { // Source has element at position i
-                if (i < target.length) {
-                    if (source[i].isOverlay()) {
-                        merged[i] = target[i];
-                    } else {
-                        merged[i] = mergeValuesByStrategy(MergeStrategy.OVERLAY, target[i], source[i]);
-                    }
-                } else {
-                    merged[i] = source[i]; // Only source has value
-                }
-            } else {
-                merged[i] = target[i]; // Only target has element at position i
-            }
-        }
+        stack.push(new ArrayFrame(target, source, merged, listener));
 
         return merged;
     }
@@ -255,6 +357,132 @@ public class JsonMerger {
         return new JsonValue(merged);
     }
 
+    /**
+     * Composes two neighbouring layers into a single layer, which applied to any target
+     * gives the same result as applying the first layer and then the second one.
+     * Neither layer is modified, nested values which are not merged are shared with the result.
+     *
+     * @param first earlier layer
+     * @param second later layer
+     * @param defaultStrategy strategy of keys without their own strategy
+     * @param root whether composed objects are the merged layers themselves and not nested values
+     * @param depth nesting depth, composition gives up on too deep objects
+     * @return composed layer or null if the layers cannot be composed
+     */
+    private static Json compose(Json first, Json second, MergeStrategy defaultStrategy, boolean root, int depth) {
+        if (depth > MAX_COMPOSE_DEPTH) {
+            return null;
+        }
+
+        Map<JsonKey, JsonKey> secondKeys = new HashMap<>();
+        for (JsonKey key : second.keySet()) {
+            if (!root && resolveStrategy(key, defaultStrategy) == MergeStrategy.DELETE) {
+                // Deleting a key from a nested object is not the same as inserting the deleting key
+                return null;
+            }
+            secondKeys.put(key, key);
+        }
+
+        Json composed = new Json();
+        for (JsonKey key : first.keySet()) {
+            JsonKey secondKey = secondKeys.remove(key);
+            if (secondKey == null) {
+                composed.put(key, first.get(key));
+                continue;
+            }
+
+            MergeStrategy firstStrategy = resolveStrategy(key, defaultStrategy);
+            MergeStrategy secondStrategy = resolveStrategy(secondKey, defaultStrategy);
+            if (secondStrategy == MergeStrategy.DELETE) {
+                if (!canBeDeleted(firstStrategy, first.get(key))) {
+                    return null;
+                }
+                composed.put(secondKey, second.get(secondKey));
+            } else if (firstStrategy == MergeStrategy.DELETE || firstStrategy != secondStrategy) {
+                return null;
+            } else {
+                JsonValue value = composeValues(firstStrategy, first.get(key), second.get(secondKey), depth);
+                if (value == null) {
+                    return null;
+                }
+                composed.put(key, value);
+            }
+        }
+        for (JsonKey key : second.keySet()) {
+            if (secondKeys.containsKey(key)) {
+                composed.put(key, second.get(key));
+            }
+        }
+
+        return composed;
+    }
+
+    /**
+     * Checks whether merging of a value can be skipped when its key is deleted right after.
+     * Merging of objects and overlaid arrays may fail on overlay placeholders in the target,
+     * so it is never skipped.
+     */
+    private static boolean canBeDeleted(MergeStrategy strategy, JsonValue value) {
+        if (strategy == MergeStrategy.DELETE) {
+            return true;
+        }
+        switch (value.getType()) {
+            case STRING:
+            case INTEGER:
+            case DOUBLE:
+            case BOOLEAN:
+            case NULL:
+                return true;
+            case ARRAY:
+                return strategy != MergeStrategy.OVERLAY && strategy != MergeStrategy.OVERLAY_TRUNCATE;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Composes two values merged with the same strategy.
+     *
+     * @return value equivalent to both values merged in order or null if they cannot be composed
+     */
+    private static JsonValue composeValues(MergeStrategy strategy, JsonValue first, JsonValue second, int depth) {
+        if (first.getType() != second.getType()) {
+            return null;
+        }
+
+        switch (first.getType()) {
+            case STRING:
+                return mergeStrings(strategy, first, second);
+            case INTEGER:
+                return mergeIntegers(strategy, first, second);
+            case DOUBLE:
+                // Floating point addition is not associative
+                return strategy == MergeStrategy.PREPEND || strategy == MergeStrategy.APPEND
+                        ? null
+                        : mergeDoubles(strategy, first, second);
+            case BOOLEAN:
+                return mergeBooleans(strategy, first, second);
+            case NULL:
+                return second;
+            case ARRAY:
+                switch (strategy) {
+                    case PREPEND:
+                        return new JsonValue(appendArrays(second.asArray(), first.asArray()));
+                    case APPEND:
+                        return new JsonValue(appendArrays(first.asArray(), second.asArray()));
+                    case REPLACE:
+                        return second;
+                    default:
+                        return null;
+                }
+            case JSON_OBJECT:
+                Json composed = compose(first.asJson(), second.asJson(), strategy, false, depth + 1);
+                return composed == null ? null : new JsonValue(composed);
+            default:
+                return null;
+        }
+    }
+
     /**
      * Shallowly merges Json objects.
      * Nested objects are completely overwritten and not merged.
@@ -283,4 +511,201 @@ public class JsonMerger {
     private JsonMerger() {
         throw new RuntimeException("Utility class should not be instantiated");
     }
-}
\ No newline at end of file
+
+    /**
+     * Maximal depth of objects composed by {@link #parallelMerge(List, ForkJoinPool)},
+     * deeper layers are merged one after another.
+     */
+    private static final int MAX_COMPOSE_DEPTH = 256;
+
+    /**
+     * Reduces a range of layers into a list of runs, which applied in order give the same result as the layers.
+     */
+    private static final class ComposeTask extends RecursiveTask<List<Json>> {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 4;
+
+        private final Json[] layers;
+        private final int from;
+        private final int to;
+
+        ComposeTask(Json[] layers, int from, int to) {
+            this.layers = layers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Json> compute() {
+            if (to - from <= THRESHOLD) {
+                List<Json> runs = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    append(runs, List.of(layers[i]));
+                }
+                return runs;
+            }
+
+            int middle = (from + to) >>> 1;
+            ComposeTask left = new ComposeTask(layers, from, middle);
+            ComposeTask right = new ComposeTask(layers, middle, to);
+            right.fork();
+            List<Json> runs = left.compute();
+            append(runs, right.join());
+            return runs;
+        }
+
+        /**
+         * Appends runs to the list, composing the boundary runs if possible.
+         */
+        private static void append(List<Json> runs, List<Json> next) {
+            int start = 0;
+            if (!runs.isEmpty() && !next.isEmpty()) {
+                Json composed = compose(runs.get(runs.size() - 1), next.get(0), MergeStrategy.REPLACE, true, 0);
+                if (composed != null) {
+                    runs.set(runs.size() - 1, composed);
+                    start = 1;
+                }
+            }
+            runs.addAll(next.subList(start, next.size()));
+        }
+    }
+
+    /**
+     * Pending merge of an object or an overlaid array.
+     */
+    private abstract static class Frame {
+        final MergeListener listener;
+
+        Frame(MergeListener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Merges next elements until a nested frame is pushed.
+         *
+         * @return true if a nested frame has been pushed, false if this frame is done
+         */
+        abstract boolean advance(Deque<Frame> stack);
+    }
+
+    private static final class ObjectFrame extends Frame {
+        private final Json target;
+        private final Json source;
+        private final MergeStrategy defaultStrategy;
+        private final Iterator<JsonKey> keys;
+
+        private final ConflictReport.Node node;
+
+        /**
+         * @param node node of the merged object in the conflict report, null if keys are not recorded
+         */
+        ObjectFrame(Json target, Json source, MergeStrategy defaultStrategy, MergeListener listener, ConflictReport.Node node) {
+            super(listener);
+            this.target = target;
+            this.source = source;
+            this.defaultStrategy = defaultStrategy;
+            this.node = node;
+            this.keys = source.keySet().iterator();
+        }
+
+        @Override
+        boolean advance(Deque<Frame> stack) {
+            while (keys.hasNext()) {
+                JsonKey key = keys.next();
+                MergeStrategy strategy = resolveStrategy(key, defaultStrategy);
+                JsonValue sourceValue = source.get(key);
+                JsonValue targetValue = target.get(key);
+
+                if (strategy == MergeStrategy.DELETE) {
+                    if (listener != null) {
+                        listener.valueMerged(strategy);
+                    }
+                    if (node != null) {
+                        node.write(key);
+                    }
+                    target.remove(key);
+                } else if (targetValue == null) {
+                    if (listener != null) {
+                        listener.valueAdded();
+                    }
+                    if (node != null) {
+                        record(node.write(key), sourceValue);
+                    }
+                    target.put(key, sourceValue);
+                } else {
+                    if (listener != null) {
+                        listener.valueMerged(strategy);
+                    }
+                    ConflictReport.Node child = null;
+                    if (node != null) {
+                        child = node.write(key);
+                        if (targetValue.getType() != JSON_OBJECT) {
+                            record(child, sourceValue);
+                        }
+                    }
+                    int depth = stack.size();
+                    JsonValue merged = mergeValuesByStrategy(strategy, targetValue, sourceValue, stack, listener, child);
+                    target.put(key, merged);
+                    if (stack.size() > depth) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Records keys of an object added to the target as a whole.
+         */
+        private static void record(ConflictReport.Node node, JsonValue value) {
+            if (value.getType() == JSON_OBJECT) {
+                node.writeAll(value.asJson());
+            }
+        }
+    }
+
+    private static final class ArrayFrame extends Frame {
+        private final JsonValue[] target;
+        private final JsonValue[] source;
+        private final JsonValue[] merged;
+        private int index;
+
+        ArrayFrame(JsonValue[] target, JsonValue[] source, JsonValue[] merged, MergeListener listener) {
+            super(listener);
+            this.target = target;
+            this.source = source;
+            this.merged = merged;
+        }
+
+        @Override
+        boolean advance(Deque<Frame> stack) {
+            while (index < merged.length) {
+                int i = index++;
+                if (i < source.length) { // Source has element at position i
+                    if (i < target.length) {
+                        if (source[i].isOverlay()) {
+                            merged[i] = target[i];
+                        } else {
+                            if (listener != null) {
+                                listener.valueMerged(MergeStrategy.OVERLAY);
+                            }
+                            int depth = stack.size();
+                            merged[i] = mergeValuesByStrategy(MergeStrategy.OVERLAY, target[i], source[i], stack, listener, null);
+                            if (stack.size() > depth) {
+                                return true;
+                            }
+                        }
+                    } else {
+                        if (listener != null) {
+                            listener.valueAdded();
+                        }
+                        merged[i] = source[i]; // Only source has value
+                    }
+                } else {
+                    merged[i] = target[i]; // Only target has element at position i
+                }
+            }
+            return false;
+        }
+    }
+}
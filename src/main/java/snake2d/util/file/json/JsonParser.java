@@ -1,6 +1,7 @@
 package snake2d.util.file.json;
 
 import snake2d.util.file.json.exception.JsonParseException;
+import snake2d.util.file.json.exception.JsonSchemaException;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -8,7 +9,9 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -23,11 +26,29 @@ public class JsonParser {
     private int position;
     private int line;
     private int column;
+    private JsonSchema.Violations violations;
 
     /**
      * Parses a JSON file from the given path.
      */
     public Json parse(Path path) throws IOException, JsonParseException {
+        return parse(path, null);
+    }
+
+    /**
+     * Parses a JSON file from the given path, validating it against the schema while it is parsed.
+     *
+     * @param schema schema of the document, may be null
+     * @throws JsonSchemaException with all violations of the schema, if the file is valid JSON
+     */
+    public Json parse(Path path, JsonSchema schema) throws IOException, JsonParseException {
+        return parseString(read(path), path.toString(), schema);
+    }
+
+    /**
+     * Reads content of a file the same way for parsing and for indexing, with line endings normalized to '\n'.
+     */
+    static String read(Path path) throws IOException {
         StringBuilder sb = new StringBuilder();
         try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
             String line;
@@ -35,7 +56,7 @@ public class JsonParser {
                 sb.append(line).append('\n');
             }
         }
-        return parseString(sb.toString());
+        return sb.toString();
     }
 
     /**
@@ -49,17 +70,30 @@ public class JsonParser {
      * Parses a JSON file from the provided content.
      */
     public Json parse(String content) throws JsonParseException {
-        return parseString(content);
+        return parseString(content, null, null);
+    }
+
+    /**
+     * Parses a JSON file from the provided content, validating it against the schema while it is parsed.
+     *
+     * @param schema schema of the document, may be null
+     * @throws JsonSchemaException with all violations of the schema, if the content is valid JSON
+     */
+    public Json parse(String content, JsonSchema schema) throws JsonParseException {
+        return parseString(content, null, schema);
     }
 
     /**
      * Parses JSON from a string.
+     *
+     * @param source path of the file reported with schema violations, may be null
      */
-    private Json parseString(String jsonString) throws JsonParseException {
+    private Json parseString(String jsonString, String source, JsonSchema schema) throws JsonParseException {
         this.content = jsonString;
         this.position = 0;
         this.line = 1;
         this.column = 1;
+        this.violations = new JsonSchema.Violations(source);
 
         skipWhitespace();
 
@@ -71,7 +105,7 @@ public class JsonParser {
             skipWhitespace();
         }
 
-        Json json = parseObject(hasRootBracket);
+        Json json = parseObject(new ObjectFrame(hasRootBracket, false), schema);
 
         skipWhitespace();
 
@@ -90,14 +124,207 @@ public class JsonParser {
             throw new JsonParseException("Unexpected characters after parsing finished", line, column);
         }
 
+        violations.throwIfAny();
         return json;
     }
 
     /**
-     * Parses a JSON object (a set of key-value pairs).
+     * Scans top-level entries of the document without building their values.
+     * Values are skipped by matching brackets, strings and comments, so the scan is much cheaper than parsing,
+     * but errors inside values are found only when the entry is parsed.
+     *
+     * @param source name of the document reported with errors, may be null
      */
-    private Json parseObject(boolean insideBrackets) throws JsonParseException {
-        Json json = new Json();
+    JsonIndex index(String jsonString, String source) throws JsonParseException {
+        this.content = jsonString;
+        this.position = 0;
+        this.line = 1;
+        this.column = 1;
+        JsonIndex index = new JsonIndex(jsonString, source);
+
+        skipWhitespace();
+        boolean hasRootBracket = false;
+        if (peek() == '{') {
+            consume();
+            hasRootBracket = true;
+        }
+
+        while (true) {
+            skipWhitespace();
+            char c = peek();
+            if (c == '\0' || (c == '}' && hasRootBracket)) {
+                break;
+            }
+
+            int start = position;
+            int startLine = line;
+            int startColumn = column;
+            JsonKey key = parseKey();
+            skipWhitespace();
+            if (peek() != ':') {
+                throw new JsonParseException("Expected ':' after key '" + key + "'", line, column);
+            }
+            consume();
+            skipValue();
+            index.add(key, start, startLine, startColumn);
+
+            skipWhitespace();
+            if (peek() == ',') {
+                consume();
+            }
+        }
+
+        if (hasRootBracket) {
+            consume();
+            skipWhitespace();
+        }
+        if (position < content.length()) {
+            throw new JsonParseException("Unexpected characters after parsing finished", line, column);
+        }
+        return index;
+    }
+
+    /**
+     * Skips a value with all nested objects and arrays.
+     * Primitive values are parsed, so they end exactly where the parser would end them.
+     */
+    private void skipValue() throws JsonParseException {
+        skipWhitespace();
+        char c = peek();
+        if (c != '{' && c != '[') {
+            parseValue(null);
+            return;
+        }
+
+        // Scanned on a local index, line and column are counted once the value is skipped
+        int depth = 0;
+        int i = position;
+        int length = content.length();
+        while (true) {
+            if (i >= length) {
+                advanceTo(i);
+                throw new JsonParseException("Unexpected end of file", line, column);
+            }
+            c = content.charAt(i++);
+            if (c == '"') {
+                while (true) {
+                    if (i >= length) {
+                        advanceTo(i);
+                        throw new JsonParseException("Unterminated string", line, column);
+                    }
+                    char s = content.charAt(i++);
+                    if (s == '"') {
+                        break;
+                    } else if (s == '\\') {
+                        if (i >= length) {
+                            advanceTo(i);
+                            throw new JsonParseException("Unexpected end of file inside string", line, column);
+                        }
+                        i++;
+                    }
+                }
+            } else if (c == '*' && i < length && content.charAt(i) == '*') {
+                // Comment until the end of the line, the same way as in parseComment()
+                i++;
+                while (i < length && content.charAt(i) != '\n' && !(content.charAt(i) == '}' && i + 1 == length)) {
+                    i++;
+                }
+                if (i < length && content.charAt(i) == '\n') {
+                    i++;
+                }
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                advanceTo(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves the position forward, keeping line and column of the skipped characters.
+     */
+    private void advanceTo(int target) {
+        while (position < target) {
+            if (content.charAt(position++) == '\n') {
+                line++;
+                column = 1;
+            } else {
+                column++;
+            }
+        }
+    }
+
+    /**
+     * Parses a single top-level entry found by {@link #index}, errors report positions in the whole document.
+     *
+     * @return object holding only the entry
+     */
+    Json parseEntry(String jsonString, int start, int startLine, int startColumn) throws JsonParseException {
+        this.content = jsonString;
+        this.position = start;
+        this.line = startLine;
+        this.column = startColumn;
+        this.violations = new JsonSchema.Violations(null);
+
+        ObjectFrame root = new ObjectFrame(false, false);
+        root.single = true;
+        return parseObject(root, null);
+    }
+
+    /**
+     * Parses a JSON object (a set of key-value pairs) with all nested objects and arrays.
+     * Nesting is tracked on an explicit stack of frames instead of the call stack,
+     * so the depth of the document is limited only by available memory.
+     */
+    private Json parseObject(ObjectFrame root, JsonSchema schema) throws JsonParseException {
+        root.expect(schema, "the document", 1, 1);
+        Deque<Frame> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        JsonValue completed = null;
+        while (true) {
+            Frame frame = stack.peek();
+            try {
+                boolean finished = frame instanceof ObjectFrame
+                        ? parseObjectEntries((ObjectFrame) frame, stack, completed)
+                        : parseArrayElements((ArrayFrame) frame, stack, completed);
+                completed = null;
+
+                if (finished) {
+                    stack.pop();
+                    JsonValue value = frame.toValue();
+                    if (frame.schema != null) {
+                        frame.schema.validate(value, frame.name, violations, frame.line, frame.column);
+                    }
+                    if (frame == root) {
+                        return root.json;
+                    }
+                    completed = value;
+                }
+            } catch (Exception ex) {
+                completed = null;
+                recover(stack, root, ex);
+            }
+        }
+    }
+
+    /**
+     * Continues parsing entries of the object on top of the stack.
+     *
+     * @param frame object frame being parsed
+     * @param stack stack of frames, a nested object or array is pushed on top of it
+     * @param completed value of a nested object or array that has just been finished, or null
+     * @return true if the object is complete, false if a nested frame has been pushed
+     */
+    private boolean parseObjectEntries(ObjectFrame frame, Deque<Frame> stack, JsonValue completed) throws JsonParseException {
+        if (completed != null) {
+            frame.json.put(frame.key, completed);
+            frame.key = null;
+            if (frame.single || parseEntrySeparator(frame)) {
+                return closeObject(frame);
+            }
+        }
 
         while (position < content.length()) {
             skipWhitespace();
@@ -105,8 +332,8 @@ public class JsonParser {
             // Check for end of object
             char c = peek();
             if (c == '}') {
-                if (insideBrackets) {
-                    return json; // Do not consume '}', leave it for the caller
+                if (frame.insideBrackets) {
+                    return closeObject(frame); // Do not consume '}' of the root, leave it for the caller
                 } else {
                     throw new JsonParseException("Unexpected character '}'", line, column);
                 }
@@ -117,6 +344,8 @@ public class JsonParser {
             }
 
             // Parse key
+            int keyLine = line;
+            int keyColumn = column;
             JsonKey key = parseKey();
             skipWhitespace();
 
@@ -128,30 +357,86 @@ public class JsonParser {
             skipWhitespace();
 
             // Parse value
-            JsonValue value = parseValue();
-            json.put(key, value);
+            JsonSchema schema = frame.schema == null ? null : frame.schema.property(key, violations, keyLine, keyColumn);
+            JsonValue value = parseValue(stack, schema, schema == null ? null : "key '" + key + "'");
+            if (value == null) {
+                frame.key = key; // Nested object or array, entry is completed when its frame is finished
+                return false;
+            }
+            frame.json.put(key, value);
+
+            if (frame.single || parseEntrySeparator(frame)) {
+                break;
+            }
+        }
 
+        return closeObject(frame);
+    }
+
+    /**
+     * Reads what follows an object entry.
+     *
+     * @return true if the object ends after this entry
+     */
+    private boolean parseEntrySeparator(ObjectFrame frame) {
+        skipWhitespace();
+
+        // Check for comma or end of object
+        char c = peek();
+        if (c == ',') {
+            consume();
             skipWhitespace();
+            // Check if '}' immediately follows the comma
+            return peek() == '}' && frame.insideBrackets;
+        }
+        // End of object or file, missing comma is also acceptable - continue parsing
+        return c == '}' || c == '\0';
+    }
 
-            // Check for comma or end of object
-            c = peek();
-            if (c == ',') {
-                consume();
-                skipWhitespace();
-                // Check if '}' immediately follows the comma
-                if (peek() == '}') {
-                    if (insideBrackets) {
-                        return json;
-                    }
-                }
-            } else if (c == '}' || c == '\0') {
-                // End of object or file
-                break;
+    /**
+     * Finishes an object. Nested objects consume their closing bracket.
+     */
+    private boolean closeObject(ObjectFrame frame) throws JsonParseException {
+        if (frame.nested) {
+            skipWhitespace();
+            if (peek() != '}') {
+                throw new JsonParseException("Expected '}' at the end of object", line, column);
             }
-            // Missing comma is also acceptable - continue parsing
+            consume(); // Consume '}'
         }
+        return true;
+    }
 
-        return json;
+    /**
+     * Handles an exception thrown while parsing the frame on top of the stack.
+     * Frames are unwound the same way nested calls would be: every nested object or array
+     * wraps the error as a value error, and an array element recognized as KEY: value is parsed
+     * once again as a regular value.
+     */
+    private void recover(Deque<Frame> stack, ObjectFrame root, Exception ex) throws JsonParseException {
+        Exception error = ex;
+        while (true) {
+            Frame frame = stack.peek();
+            if (frame instanceof ArrayFrame && ((ArrayFrame) frame).savedPosition >= 0) {
+                ArrayFrame array = (ArrayFrame) frame;
+                position = array.savedPosition;
+                line = array.savedLine;
+                column = array.savedColumn;
+                array.savedPosition = -1;
+                array.key = null;
+                array.retry = true;
+                violations.truncate(array.savedViolations);
+                return;
+            }
+            if (frame == root) {
+                if (error instanceof JsonParseException) {
+                    throw (JsonParseException) error;
+                }
+                throw (RuntimeException) error;
+            }
+            stack.pop();
+            error = new JsonParseException("Error while building value", line, column, error);
+        }
     }
 
     /**
@@ -217,8 +502,11 @@ public class JsonParser {
 
     /**
      * Parses a JSON value.
+     * Nested object or array is not parsed here, its frame is pushed on the stack instead.
+     *
+     * @return parsed value or null if a frame has been pushed
      */
-    private JsonValue parseValue() throws JsonParseException {
+    private JsonValue parseValue(Deque<Frame> stack) throws JsonParseException {
         skipWhitespace();
 
         try {
@@ -230,16 +518,11 @@ public class JsonParser {
                 // Nested object
                 consume(); // Consume '{'
                 skipWhitespace();
-                Json nestedJson = parseObject(true);
-                skipWhitespace();
-                if (peek() != '}') {
-                    throw new JsonParseException("Expected '}' at the end of object", line, column);
-                }
-                consume(); // Consume '}'
-                return new JsonValue(nestedJson);
+                stack.push(new ObjectFrame(true, true));
+                return null;
             } else if (c == '[') {
                 // Array
-                return new JsonValue(parseArray());
+                return openArray(stack);
             } else if (c == 't' || c == 'f') {
                 // Boolean
                 return new JsonValue(parseBoolean());
@@ -258,6 +541,30 @@ public class JsonParser {
         }
     }
 
+    /**
+     * Parses a JSON value and validates it against the schema.
+     * Nested object or array is validated when its frame is finished.
+     *
+     * @param schema schema of the value, may be null
+     * @param name description of the place of the value used in violations
+     * @return parsed value or null if a frame has been pushed
+     */
+    private JsonValue parseValue(Deque<Frame> stack, JsonSchema schema, String name) throws JsonParseException {
+        skipWhitespace();
+        int valueLine = line;
+        int valueColumn = column;
+
+        JsonValue value = parseValue(stack);
+        if (schema != null) {
+            if (value == null) {
+                stack.peek().expect(schema, name, valueLine, valueColumn);
+            } else {
+                schema.validate(value, name, violations, valueLine, valueColumn);
+            }
+        }
+        return value;
+    }
+
     /**
      * Parses a quoted string.
      */
@@ -296,54 +603,104 @@ public class JsonParser {
     }
 
     /**
-     * Parses an array.
+     * Opens an array.
+     *
+     * @return empty array or null if the array frame has been pushed
      */
-    private JsonValue[] parseArray() throws JsonParseException {
-        if (peek() != '[') {
-            throw new JsonParseException("Expected '['", line, column);
-        }
+    private JsonValue openArray(Deque<Frame> stack) {
         consume(); // Consume '['
-
-        List<JsonValue> arrayList = new ArrayList<>();
         skipWhitespace();
 
         if (peek() == ']') {
             consume();
-            return new JsonValue[0]; // Empty array
+            return new JsonValue(new JsonValue[0]); // Empty array
+        }
+
+        stack.push(new ArrayFrame());
+        return null;
+    }
+
+    /**
+     * Continues parsing elements of the array on top of the stack.
+     *
+     * @param frame array frame being parsed
+     * @param stack stack of frames, a nested object or array is pushed on top of it
+     * @param completed value of a nested object or array that has just been finished, or null
+     * @return true if the array is complete, false if a nested frame has been pushed
+     */
+    private boolean parseArrayElements(ArrayFrame frame, Deque<Frame> stack, JsonValue completed) throws JsonParseException {
+        if (completed != null) {
+            frame.elements.add(frame.key != null ? new JsonValue.JsonArrayValue(frame.key, completed) : completed);
+            frame.key = null;
+            frame.savedPosition = -1;
+            if (parseElementSeparator()) {
+                return true;
+            }
+        } else if (frame.retry) {
+            // KEY: value element has failed, parse it as a regular value
+            frame.retry = false;
+            JsonValue element = parseElementValue(frame, stack);
+            if (element == null) {
+                return false;
+            }
+            frame.elements.add(element);
+            if (parseElementSeparator()) {
+                return true;
+            }
         }
 
         while (position < content.length()) {
             skipWhitespace();
-            arrayList.add(parseArrayElement());
-            skipWhitespace();
-
-            char c = peek();
-            if (c == ',') {
-                consume();
-                skipWhitespace();
-                // Check if ']' immediately follows the comma
-                if (peek() == ']') {
-                    consume();
-                    return arrayList.toArray(new JsonValue[0]);
-                }
-            } else if (c == ']') {
-                consume();
-                return arrayList.toArray(new JsonValue[0]);
-            } else if (c == '}') {
-                throw new JsonParseException("Expected closing ']' before '}'", line, column);
-            } else {
-                throw new JsonParseException("Expected ',' between array elements", line, column);
+            JsonValue element = parseArrayElement(frame, stack);
+            if (element == null) {
+                return false; // Nested object or array, element is completed when its frame is finished
+            }
+            frame.elements.add(element);
+            if (parseElementSeparator()) {
+                return true;
             }
         }
 
         throw new JsonParseException("Unterminated array", line, column);
     }
 
+    /**
+     * Reads what follows an array element.
+     *
+     * @return true if the array ends after this element
+     */
+    private boolean parseElementSeparator() throws JsonParseException {
+        skipWhitespace();
+
+        char c = peek();
+        if (c == ',') {
+            consume();
+            skipWhitespace();
+            // Check if ']' immediately follows the comma
+            if (peek() == ']') {
+                consume();
+                return true;
+            }
+            return false;
+        } else if (c == ']') {
+            consume();
+            return true;
+        } else if (c == '}') {
+            throw new JsonParseException("Expected closing ']' before '}'", line, column);
+        } else {
+            throw new JsonParseException("Expected ',' between array elements", line, column);
+        }
+    }
+
     /**
      * Parses an array element.
      * Recognizes KEY: VALUE pattern and returns only the value.
+     * While such element is parsed, its start is saved in the frame, so it can be parsed
+     * once again as a regular value when anything fails.
+     *
+     * @return parsed element or null if a frame has been pushed
      */
-    private JsonValue parseArrayElement() throws JsonParseException {
+    private JsonValue parseArrayElement(ArrayFrame frame, Deque<Frame> stack) throws JsonParseException {
         int savedPosition = position;
         int savedLine = line;
         int savedColumn = column;
@@ -358,35 +715,48 @@ public class JsonParser {
 
         // Check if it looks like a KEY: value pattern
         if (c == '"' || Character.isLetterOrDigit(c) || c == '_' || c == '¤') {
-            try {
-                // Try to parse as key
-                JsonKey key = parseKey();
-                skipWhitespace();
+            frame.savedPosition = savedPosition;
+            frame.savedLine = savedLine;
+            frame.savedColumn = savedColumn;
+            frame.savedViolations = violations.size();
 
-                if (peek() == ':') {
-                    // It's a KEY: value structure - consume colon and return only the value
-                    consume(); // Consume ':'
-                    skipWhitespace();
-                    return new JsonValue.JsonArrayValue(key, parseValue());
-                } else {
-                    // Not a KEY: value, restore position and parse as regular value
-                    position = savedPosition;
-                    line = savedLine;
-                    column = savedColumn;
-                    return parseValue();
+            // Try to parse as key
+            JsonKey key = parseKey();
+            skipWhitespace();
+
+            if (peek() == ':') {
+                // It's a KEY: value structure - consume colon and return only the value
+                consume(); // Consume ':'
+                skipWhitespace();
+                JsonValue value = parseElementValue(frame, stack);
+                if (value == null) {
+                    frame.key = key;
+                    return null;
                 }
-            } catch (Exception e) {
+                frame.savedPosition = -1;
+                return new JsonValue.JsonArrayValue(key, value);
+            } else {
+                // Not a KEY: value, restore position and parse as regular value
+                frame.savedPosition = -1;
                 position = savedPosition;
                 line = savedLine;
                 column = savedColumn;
-                return parseValue();
+                return parseElementValue(frame, stack);
             }
         } else {
             // Doesn't look like KEY: value, parse as regular value
-            return parseValue();
+            return parseElementValue(frame, stack);
         }
     }
 
+    /**
+     * Parses a value of an array element and validates it against the schema of elements.
+     */
+    private JsonValue parseElementValue(ArrayFrame frame, Deque<Frame> stack) throws JsonParseException {
+        JsonSchema schema = frame.schema == null ? null : frame.schema.elements();
+        return parseValue(stack, schema, schema == null ? null : "element of " + frame.name);
+    }
+
     /**
      * Parses a number (int or double).
      */
@@ -560,4 +930,63 @@ public class JsonParser {
         return c;
     }
 
+    /**
+     * Object or array which is being parsed.
+     */
+    private abstract static class Frame {
+        /**
+         * Key of the entry whose nested value is being parsed.
+         */
+        JsonKey key;
+        /**
+         * Schema of this object or array, null if it is not validated.
+         */
+        JsonSchema schema;
+        String name;
+        int line;
+        int column;
+
+        void expect(JsonSchema schema, String name, int line, int column) {
+            this.schema = schema;
+            this.name = name;
+            this.line = line;
+            this.column = column;
+        }
+
+        abstract JsonValue toValue();
+    }
+
+    private static final class ObjectFrame extends Frame {
+        final Json json = new Json();
+        final boolean insideBrackets;
+        final boolean nested;
+        /**
+         * Parsing stops after the first entry, used for entries found by {@link #index}.
+         */
+        boolean single;
+
+        ObjectFrame(boolean insideBrackets, boolean nested) {
+            this.insideBrackets = insideBrackets;
+            this.nested = nested;
+        }
+
+        @Override
+        JsonValue toValue() {
+            return new JsonValue(json);
+        }
+    }
+
+    private static final class ArrayFrame extends Frame {
+        final List<JsonValue> elements = new ArrayList<>();
+        int savedPosition = -1;
+        int savedLine;
+        int savedColumn;
+        int savedViolations;
+        boolean retry;
+
+        @Override
+        JsonValue toValue() {
+            return new JsonValue(elements.toArray(new JsonValue[0]));
+        }
+    }
 }
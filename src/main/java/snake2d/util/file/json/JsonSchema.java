@@ -0,0 +1,319 @@
+package snake2d.util.file.json;
+
+import snake2d.util.file.json.exception.JsonSchemaException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schema of a JSON document, validated by {@link JsonParser#parse(String, JsonSchema)} while the document is parsed.
+ * Describes types of values, required keys of objects, ranges of numbers, allowed values and lengths of arrays.
+ * Values of keys with {@link MergeStrategy#DELETE} and overlay placeholders are not validated.
+ * Constraints apply to values as they are written in the document, before merging.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class JsonSchema {
+    /**
+     * Type of the validated value.
+     */
+    public enum Type {
+        ANY("any value"),
+        INTEGER("an integer"),
+        DECIMAL("a number"),
+        BOOL("a boolean value"),
+        TEXT("a string"),
+        OBJECT("a JSON object"),
+        ARRAY("an array");
+
+        private final String description;
+
+        Type(String description) {
+            this.description = description;
+        }
+    }
+
+    private final Type type;
+    private boolean nullable;
+    private double min = Double.NEGATIVE_INFINITY;
+    private double max = Double.POSITIVE_INFINITY;
+    private int minLength;
+    private int maxLength = Integer.MAX_VALUE;
+    private Set<Object> allowed;
+    private final Map<String, JsonSchema> properties = new LinkedHashMap<>();
+    private final Set<String> required = new LinkedHashSet<>();
+    private boolean closed;
+    private JsonSchema elements;
+
+    private JsonSchema(Type type) {
+        this.type = type;
+    }
+
+    public static JsonSchema any() {
+        return new JsonSchema(Type.ANY);
+    }
+
+    public static JsonSchema integer() {
+        return new JsonSchema(Type.INTEGER);
+    }
+
+    /**
+     * @return schema of a number, integers are accepted too
+     */
+    public static JsonSchema decimal() {
+        return new JsonSchema(Type.DECIMAL);
+    }
+
+    public static JsonSchema bool() {
+        return new JsonSchema(Type.BOOL);
+    }
+
+    public static JsonSchema text() {
+        return new JsonSchema(Type.TEXT);
+    }
+
+    /**
+     * @return schema of an object, which accepts any keys until they are declared
+     */
+    public static JsonSchema object() {
+        return new JsonSchema(Type.OBJECT);
+    }
+
+    /**
+     * @param elements schema of every element of the array
+     * @return schema of an array
+     */
+    public static JsonSchema array(JsonSchema elements) {
+        JsonSchema schema = new JsonSchema(Type.ARRAY);
+        schema.elements = elements;
+        return schema;
+    }
+
+    /**
+     * Declares a key which must exist in the object.
+     *
+     * @return this schema
+     */
+    public JsonSchema required(String key, JsonSchema schema) {
+        checkType(Type.OBJECT);
+        properties.put(key, schema);
+        required.add(key);
+        return this;
+    }
+
+    /**
+     * Declares a key which may exist in the object.
+     *
+     * @return this schema
+     */
+    public JsonSchema optional(String key, JsonSchema schema) {
+        checkType(Type.OBJECT);
+        properties.put(key, schema);
+        return this;
+    }
+
+    /**
+     * Rejects keys of the object which have not been declared.
+     *
+     * @return this schema
+     */
+    public JsonSchema closed() {
+        checkType(Type.OBJECT);
+        closed = true;
+        return this;
+    }
+
+    /**
+     * Limits the value of a number.
+     *
+     * @return this schema
+     */
+    public JsonSchema range(double min, double max) {
+        if (type != Type.INTEGER && type != Type.DECIMAL) {
+            throw new IllegalStateException("Range can be set only for numbers");
+        }
+        this.min = min;
+        this.max = max;
+        return this;
+    }
+
+    /**
+     * Limits the number of elements of an array.
+     *
+     * @return this schema
+     */
+    public JsonSchema length(int min, int max) {
+        checkType(Type.ARRAY);
+        this.minLength = min;
+        this.maxLength = max;
+        return this;
+    }
+
+    /**
+     * Limits the value to one of given strings, integers, numbers or boolean values.
+     *
+     * @return this schema
+     */
+    public JsonSchema oneOf(Object... values) {
+        allowed = new LinkedHashSet<>();
+        for (Object value : values) {
+            allowed.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * Accepts null in place of the value.
+     *
+     * @return this schema
+     */
+    public JsonSchema nullable() {
+        nullable = true;
+        return this;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    private void checkType(Type expected) {
+        if (type != expected) {
+            throw new IllegalStateException("Schema of " + type.description + " can not be used as schema of " + expected.description);
+        }
+    }
+
+    /**
+     * Returns schema of a value of the object, reporting undeclared keys of closed objects.
+     *
+     * @return schema of the value or null if it is not validated
+     */
+    JsonSchema property(JsonKey key, Violations violations, int line, int column) {
+        if (type != Type.OBJECT || key.getMergeStrategy() == MergeStrategy.DELETE) {
+            return null;
+        }
+        JsonSchema schema = properties.get(key.getKey());
+        if (schema == null && closed) {
+            violations.add("Key '" + key.getKey() + "' is not allowed", line, column);
+        }
+        return schema;
+    }
+
+    /**
+     * @return schema of elements of the array or null if they are not validated
+     */
+    JsonSchema elements() {
+        return type == Type.ARRAY ? elements : null;
+    }
+
+    /**
+     * Validates a complete value. Content of nested objects and arrays has been validated already while they were parsed.
+     *
+     * @param name description of the place of the value, e.g. key 'name'
+     */
+    void validate(JsonValue value, String name, Violations violations, int line, int column) {
+        JsonValue.ValueType valueType = value.getType();
+        if (valueType == JsonValue.ValueType.OVERLAY || type == Type.ANY) {
+            return;
+        }
+        if (valueType == JsonValue.ValueType.NULL) {
+            if (!nullable) {
+                violations.add("Value of " + name + " is null, expected " + type.description, line, column);
+            }
+            return;
+        }
+        if (!matches(valueType)) {
+            violations.add("Value of " + name + " is not " + type.description, line, column);
+            return;
+        }
+
+        switch (type) {
+            case INTEGER:
+            case DECIMAL:
+                double number = ((Number) value.getValue()).doubleValue();
+                if (number < min || number > max) {
+                    violations.add("Value " + value.getValue() + " of " + name + " is out of range [" + format(min) + ", " + format(max) + "]", line, column);
+                }
+                break;
+            case OBJECT:
+                Json json = value.asJson();
+                for (String key : required) {
+                    if (!json.containsKey(key)) {
+                        violations.add("Required key '" + key + "' is missing in " + name, line, column);
+                    }
+                }
+                break;
+            case ARRAY:
+                int length = JsonStructure.elements(value).size();
+                if (length < minLength || length > maxLength) {
+                    violations.add("Array under " + name + " has " + length + " elements, expected from " + minLength + " to " + maxLength, line, column);
+                }
+                break;
+            default:
+        }
+
+        if (allowed != null && !allowed.contains(value.getValue())) {
+            violations.add("Value " + value.getValue() + " of " + name + " is not one of " + allowed, line, column);
+        }
+    }
+
+    private boolean matches(JsonValue.ValueType valueType) {
+        switch (type) {
+            case INTEGER:
+                return valueType == JsonValue.ValueType.INTEGER;
+            case DECIMAL:
+                return valueType == JsonValue.ValueType.DOUBLE || valueType == JsonValue.ValueType.INTEGER;
+            case BOOL:
+                return valueType == JsonValue.ValueType.BOOLEAN;
+            case TEXT:
+                return valueType == JsonValue.ValueType.STRING;
+            case OBJECT:
+                return valueType == JsonValue.ValueType.JSON_OBJECT;
+            case ARRAY:
+                return valueType == JsonValue.ValueType.ARRAY || valueType == JsonValue.ValueType.LIST;
+            default:
+                return true;
+        }
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) && !Double.isInfinite(bound) ? Long.toString((long) bound) : Double.toString(bound);
+    }
+
+    /**
+     * Violations found in one document.
+     */
+    static final class Violations {
+        private final String source;
+        private final List<JsonSchemaException.Violation> list = new ArrayList<>();
+
+        Violations(String source) {
+            this.source = source;
+        }
+
+        void add(String message, int line, int column) {
+            list.add(new JsonSchemaException.Violation(source, message, line, column));
+        }
+
+        int size() {
+            return list.size();
+        }
+
+        /**
+         * Forgets violations found after the given number of them, in a value which is parsed once again.
+         */
+        void truncate(int size) {
+            list.subList(size, list.size()).clear();
+        }
+
+        void throwIfAny() throws JsonSchemaException {
+            if (!list.isEmpty()) {
+                list.sort((a, b) -> a.getLine() != b.getLine() ? Integer.compare(a.getLine(), b.getLine()) : Integer.compare(a.getColumn(), b.getColumn()));
+                throw new JsonSchemaException(new ArrayList<>(list));
+            }
+        }
+    }
+}
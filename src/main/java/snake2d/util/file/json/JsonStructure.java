@@ -0,0 +1,295 @@
+package snake2d.util.file.json;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Structural hashing, deep equality and deep copying of Json trees.
+ * Two trees are structurally equal when they have the same keys in the same order, with the same
+ * merge strategies, and equal values. Trees are walked with an explicit stack, so their depth
+ * is limited only by available memory. Hashes of frozen Json objects are cached.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+final class JsonStructure {
+
+    static int hashOf(Json json) {
+        int cached = json.cachedHash();
+        return cached != 0 ? cached : hash(new HashFrame(null, json));
+    }
+
+    static int hashOf(JsonValue value) {
+        if (!isContainer(value)) {
+            return leafHash(value);
+        }
+        if (value.getType() == JsonValue.ValueType.JSON_OBJECT) {
+            return valueHash(value, hashOf(value.asJson()));
+        }
+        return hash(new HashFrame(value, null));
+    }
+
+    private static int hash(HashFrame root) {
+        Deque<HashFrame> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (true) {
+            HashFrame frame = stack.peek();
+            JsonValue child = frame.next();
+            if (child == null) {
+                stack.pop();
+                int hash = frame.finish();
+                if (stack.isEmpty()) {
+                    return hash;
+                }
+                stack.peek().add(hash);
+            } else if (!isContainer(child)) {
+                frame.add(leafHash(child));
+            } else if (child.getType() != JsonValue.ValueType.JSON_OBJECT) {
+                stack.push(new HashFrame(child, null));
+            } else if (child.asJson().cachedHash() != 0) {
+                frame.add(valueHash(child, child.asJson().cachedHash()));
+            } else {
+                stack.push(new HashFrame(child, child.asJson()));
+            }
+        }
+    }
+
+    static boolean equal(Json a, Json b) {
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(a);
+        stack.push(b);
+        return equal(stack);
+    }
+
+    static boolean equal(JsonValue a, JsonValue b) {
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(a);
+        stack.push(b);
+        return equal(stack);
+    }
+
+    /**
+     * Compares pairs of Json objects or values from the stack, until a difference is found.
+     */
+    private static boolean equal(Deque<Object> stack) {
+        while (!stack.isEmpty()) {
+            Object second = stack.pop();
+            Object first = stack.pop();
+            if (first == second) {
+                continue;
+            }
+
+            if (first instanceof Json) {
+                Json a = (Json) first;
+                Json b = (Json) second;
+                if (a.size() != b.size()) {
+                    return false;
+                }
+                if (a.cachedHash() != 0 && b.cachedHash() != 0 && a.cachedHash() != b.cachedHash()) {
+                    return false;
+                }
+                Iterator<JsonKey> keys = b.keySet().iterator();
+                for (JsonKey key : a.keySet()) {
+                    JsonKey other = keys.next();
+                    if (!keyEquals(key, other)) {
+                        return false;
+                    }
+                    stack.push(a.get(key));
+                    stack.push(b.get(other));
+                }
+            } else {
+                JsonValue a = (JsonValue) first;
+                JsonValue b = (JsonValue) second;
+                if (a.getClass() != b.getClass() || a.getType() != b.getType() || !keyEquals(arrayKey(a), arrayKey(b))) {
+                    return false;
+                }
+                switch (a.getType()) {
+                    case JSON_OBJECT:
+                        stack.push(a.asJson());
+                        stack.push(b.asJson());
+                        break;
+                    case ARRAY:
+                    case LIST:
+                        List<JsonValue> elements = elements(a);
+                        List<JsonValue> others = elements(b);
+                        if (elements.size() != others.size()) {
+                            return false;
+                        }
+                        for (int i = 0; i < elements.size(); i++) {
+                            stack.push(elements.get(i));
+                            stack.push(others.get(i));
+                        }
+                        break;
+                    default:
+                        if (!Objects.equals(a.getValue(), b.getValue())) {
+                            return false;
+                        }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deep copy of a Json object. Objects and arrays are copied, leaf values are immutable and are shared.
+     */
+    static Json copy(Json json) {
+        Json root = new Json();
+        Deque<CopyFrame> stack = new ArrayDeque<>();
+        stack.push(new CopyFrame(json, root));
+
+        while (!stack.isEmpty()) {
+            CopyFrame frame = stack.pop();
+            if (frame.source instanceof Json) {
+                Json target = (Json) frame.target;
+                for (Map.Entry<JsonKey, JsonValue> entry : ((Json) frame.source).entries()) {
+                    target.put(entry.getKey(), copyShell(entry.getValue(), stack));
+                }
+            } else {
+                List<JsonValue> source = elements((JsonValue) frame.source);
+                List<JsonValue> target = elements((JsonValue) frame.target);
+                for (int i = 0; i < source.size(); i++) {
+                    target.set(i, copyShell(source.get(i), stack));
+                }
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Copies a container without its content, which is filled in later from the pushed frame.
+     */
+    private static JsonValue copyShell(JsonValue value, Deque<CopyFrame> stack) {
+        JsonValue copy;
+        switch (value.getType()) {
+            case JSON_OBJECT:
+                copy = new JsonValue(new Json());
+                break;
+            case ARRAY:
+                copy = new JsonValue(((JsonValue[]) value.getValue()).clone());
+                break;
+            case LIST:
+                copy = new JsonValue(value.asList());
+                break;
+            default:
+                return value;
+        }
+
+        JsonKey key = arrayKey(value);
+        if (key != null) {
+            copy = new JsonValue.JsonArrayValue(key, copy);
+        }
+        if (copy.getType() == JsonValue.ValueType.JSON_OBJECT) {
+            stack.push(new CopyFrame(value.asJson(), copy.asJson()));
+        } else {
+            stack.push(new CopyFrame(value, copy));
+        }
+        return copy;
+    }
+
+    static boolean isContainer(JsonValue value) {
+        JsonValue.ValueType type = value.getType();
+        return type == JsonValue.ValueType.JSON_OBJECT || type == JsonValue.ValueType.ARRAY || type == JsonValue.ValueType.LIST;
+    }
+
+    static List<JsonValue> elements(JsonValue value) {
+        return value.getType() == JsonValue.ValueType.ARRAY
+                ? Arrays.asList((JsonValue[]) value.getValue())
+                : value.asList();
+    }
+
+    static int keyHash(JsonKey key) {
+        return key == null ? 0 : 31 * key.getKey().hashCode() + key.getMergeStrategy().ordinal() + 1;
+    }
+
+    static boolean keyEquals(JsonKey a, JsonKey b) {
+        if (a == b) {
+            return true;
+        }
+        return a != null && b != null && a.getKey().equals(b.getKey()) && a.getMergeStrategy() == b.getMergeStrategy();
+    }
+
+    static JsonKey arrayKey(JsonValue value) {
+        return value instanceof JsonValue.JsonArrayValue ? ((JsonValue.JsonArrayValue) value).getJsonKey() : null;
+    }
+
+    static int leafHash(JsonValue value) {
+        return valueHash(value, Objects.hashCode(value.getValue()));
+    }
+
+    /**
+     * Combines hash of the content of a value with its type and key of an array element.
+     */
+    static int valueHash(JsonValue value, int contentHash) {
+        return 31 * (31 * value.getType().ordinal() + keyHash(arrayKey(value))) + contentHash;
+    }
+
+    /**
+     * Final hash of a Json object, never 0, so that 0 can mark a missing cached hash.
+     */
+    static int finishJsonHash(int hash) {
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Hash being computed for a Json object or an array.
+     */
+    private static final class HashFrame {
+        private final JsonValue holder;
+        private final Json json;
+        private final Iterator<Map.Entry<JsonKey, JsonValue>> entries;
+        private final List<JsonValue> elements;
+        private int index;
+        private int hash = 1;
+
+        HashFrame(JsonValue holder, Json json) {
+            this.holder = holder;
+            this.json = json;
+            this.entries = json == null ? null : json.entries().iterator();
+            this.elements = json == null ? elements(holder) : null;
+        }
+
+        JsonValue next() {
+            if (entries != null) {
+                if (!entries.hasNext()) {
+                    return null;
+                }
+                Map.Entry<JsonKey, JsonValue> entry = entries.next();
+                hash = 31 * hash + keyHash(entry.getKey());
+                return entry.getValue();
+            }
+            return index < elements.size() ? elements.get(index++) : null;
+        }
+
+        void add(int childHash) {
+            hash = 31 * hash + childHash;
+        }
+
+        int finish() {
+            if (json == null) {
+                return valueHash(holder, hash);
+            }
+            int jsonHash = finishJsonHash(hash);
+            json.cacheHash(jsonHash);
+            return holder == null ? jsonHash : valueHash(holder, jsonHash);
+        }
+    }
+
+    /**
+     * Json object or array being copied, with its copy.
+     */
+    private static final class CopyFrame {
+        private final Object source;
+        private final Object target;
+
+        CopyFrame(Object source, Object target) {
+            this.source = source;
+            this.target = target;
+        }
+    }
+}
@@ -133,6 +133,20 @@ public class JsonValue {
         return type == ValueType.OVERLAY;
     }
 
+    /**
+     * Returns hash of the whole value, consistent with {@link #deepEquals(JsonValue)}.
+     */
+    public int structuralHash() {
+        return JsonStructure.hashOf(this);
+    }
+
+    /**
+     * Checks whether both values are structurally equal, nested objects and arrays are compared deeply.
+     */
+    public boolean deepEquals(JsonValue other) {
+        return other != null && JsonStructure.equal(this, other);
+    }
+
     @Override
     public String toString() {
         if (type == ValueType.NULL) {
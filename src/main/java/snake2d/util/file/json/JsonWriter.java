@@ -0,0 +1,340 @@
+package snake2d.util.file.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON writer producing text readable by {@link JsonParser}.
+ * Keeps merge strategy prefixes of keys, keys of array elements and overlay placeholders.
+ * Text is streamed through a reusable buffer, so no temporary strings of objects are built.
+ * Trees are walked with an explicit stack, so their depth is limited only by available memory.
+ * Instances are not thread-safe, but can be reused for writing many documents.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class JsonWriter {
+    private static final int BUFFER_SIZE = 8192;
+    private static final String INDENT = "    ";
+
+    private final boolean pretty;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int length;
+
+    private Appendable out;
+    private WritableByteChannel channel;
+    private CharsetEncoder encoder;
+    private ByteBuffer bytes;
+
+    /**
+     * Creates a writer of compact text, without any whitespace.
+     */
+    public JsonWriter() {
+        this(false);
+    }
+
+    /**
+     * @param pretty true to write every key and array element on a separate, indented line
+     */
+    public JsonWriter(boolean pretty) {
+        this.pretty = pretty;
+    }
+
+    /**
+     * Writes a JSON object to the output.
+     */
+    public void write(Json json, Appendable out) throws IOException {
+        this.out = out;
+        try {
+            writeTree(json);
+            flush(true);
+        } finally {
+            this.out = null;
+            this.length = 0;
+        }
+    }
+
+    /**
+     * Writes a JSON object to the channel, encoded in UTF-8. The channel is not closed.
+     */
+    public void write(Json json, WritableByteChannel channel) throws IOException {
+        if (encoder == null) {
+            encoder = StandardCharsets.UTF_8.newEncoder();
+            bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+        }
+        encoder.reset();
+        this.channel = channel;
+        try {
+            writeTree(json);
+            flush(true);
+        } finally {
+            this.channel = null;
+            this.length = 0;
+            bytes.clear();
+        }
+    }
+
+    /**
+     * Writes a JSON object to the file, encoded in UTF-8. Existing file is overwritten.
+     */
+    public void write(Json json, Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(json, file);
+        }
+    }
+
+    /**
+     * Writes a JSON object to a string.
+     */
+    public String toString(Json json) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            write(json, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return sb.toString();
+    }
+
+    private void writeTree(Json root) throws IOException {
+        Deque<Frame> stack = new ArrayDeque<>();
+        append('{');
+        stack.push(new Frame(root.entries().iterator(), null));
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            JsonValue value;
+            if (frame.entries != null) {
+                if (!frame.entries.hasNext()) {
+                    stack.pop();
+                    close(frame, '}', stack.size());
+                    continue;
+                }
+                Map.Entry<JsonKey, JsonValue> entry = frame.entries.next();
+                separate(frame, stack.size());
+                writeKey(entry.getKey());
+                value = entry.getValue();
+            } else {
+                if (frame.index == frame.elements.size()) {
+                    stack.pop();
+                    close(frame, ']', stack.size());
+                    continue;
+                }
+                value = frame.elements.get(frame.index++);
+                separate(frame, stack.size());
+                JsonKey key = JsonStructure.arrayKey(value);
+                if (key != null) {
+                    writeKey(key);
+                }
+            }
+            writeValue(value, stack);
+        }
+    }
+
+    /**
+     * Writes a leaf value or opens a nested object or array, pushing its frame.
+     */
+    private void writeValue(JsonValue value, Deque<Frame> stack) throws IOException {
+        switch (value.getType()) {
+            case JSON_OBJECT:
+                append('{');
+                stack.push(new Frame(value.asJson().entries().iterator(), null));
+                break;
+            case ARRAY:
+            case LIST:
+                append('[');
+                stack.push(new Frame(null, JsonStructure.elements(value)));
+                break;
+            case STRING:
+                writeString((String) value.getValue());
+                break;
+            case DOUBLE:
+                double number = (Double) value.getValue();
+                if (Double.isNaN(number) || Double.isInfinite(number)) {
+                    throw new IllegalArgumentException("Number can not be written: " + number);
+                }
+                append(Double.toString(number));
+                break;
+            case NULL:
+                append("null");
+                break;
+            case OVERLAY:
+                append(MergeStrategy.OVERLAY.ch);
+                break;
+            default:
+                append(value.getValue().toString());
+        }
+    }
+
+    private void writeKey(JsonKey key) throws IOException {
+        if (key.getMergeStrategy() != MergeStrategy.UNDEFINED) {
+            append(key.getMergeStrategy().ch);
+            if (key.getMergeStrategy() == MergeStrategy.OVERLAY_TRUNCATE) {
+                append(MergeStrategy.OVERLAY_TRUNCATE.ch);
+            }
+        }
+        String name = key.getKey();
+        if (isUnquotedKey(name)) {
+            append(name);
+        } else {
+            writeString(name);
+        }
+        append(':');
+        if (pretty) {
+            append(' ');
+        }
+    }
+
+    /**
+     * Checks whether the key can be read by the parser without quotes.
+     */
+    private static boolean isUnquotedKey(String key) {
+        char first = key.charAt(0);
+        if (!Character.isLetterOrDigit(first) && first != '_' && first != '¤') {
+            return false;
+        }
+        for (int i = 1; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '¤' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeString(String value) throws IOException {
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': append('\\'); append('"'); break;
+                case '\\': append('\\'); append('\\'); break;
+                case '\n': append('\\'); append('n'); break;
+                case '\t': append('\\'); append('t'); break;
+                case '\r': append('\\'); append('r'); break;
+                default: append(c);
+            }
+        }
+        append('"');
+    }
+
+    /**
+     * Writes what precedes a key or an array element.
+     */
+    private void separate(Frame frame, int depth) throws IOException {
+        if (!frame.empty) {
+            append(',');
+        }
+        frame.empty = false;
+        if (pretty) {
+            newLine(depth);
+        }
+    }
+
+    private void close(Frame frame, char bracket, int depth) throws IOException {
+        if (pretty && !frame.empty) {
+            newLine(depth);
+        }
+        append(bracket);
+    }
+
+    private void newLine(int depth) throws IOException {
+        append('\n');
+        for (int i = 0; i < depth; i++) {
+            append(INDENT);
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (length == buffer.length) {
+            flush(false);
+        }
+        buffer[length++] = c;
+    }
+
+    private void append(String s) throws IOException {
+        int offset = 0;
+        while (offset < s.length()) {
+            if (length == buffer.length) {
+                flush(false);
+            }
+            int count = Math.min(s.length() - offset, buffer.length - length);
+            s.getChars(offset, offset + count, buffer, length);
+            length += count;
+            offset += count;
+        }
+    }
+
+    /**
+     * Writes the buffer to the output.
+     *
+     * @param end true if no more text follows
+     */
+    private void flush(boolean end) throws IOException {
+        if (out != null) {
+            out.append(CharBuffer.wrap(buffer, 0, length));
+            length = 0;
+            return;
+        }
+
+        CharBuffer chars = CharBuffer.wrap(buffer, 0, length);
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, end);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        if (end) {
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+        }
+
+        // High surrogate at the end of the buffer is encoded together with the next character
+        int remaining = chars.remaining();
+        System.arraycopy(buffer, chars.position(), buffer, 0, remaining);
+        length = remaining;
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Object or array being written.
+     */
+    private static final class Frame {
+        private final Iterator<Map.Entry<JsonKey, JsonValue>> entries;
+        private final List<JsonValue> elements;
+        private int index;
+        private boolean empty = true;
+
+        Frame(Iterator<Map.Entry<JsonKey, JsonValue>> entries, List<JsonValue> elements) {
+            this.entries = entries;
+            this.elements = elements;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package snake2d.util.file.json;
+
+/**
+ * Listener notified about loading and merging of Json layers.
+ * All methods have empty default implementations, so only the interesting ones need to be overridden.
+ * When no listener is given, the merger does not collect anything.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public interface MergeListener {
+
+    /**
+     * Called after a layer has been parsed.
+     *
+     * @param source name of the layer (usually path of the file)
+     * @param bytes size of the parsed content in bytes
+     * @param nanos parsing time in nanoseconds
+     */
+    default void layerParsed(String source, long bytes, long nanos) {
+    }
+
+    /**
+     * Called before a layer is merged into the result.
+     * All operations reported until {@link #layerMerged(String, long)} belong to this layer.
+     *
+     * @param source name of the layer
+     */
+    default void layerMergeStarted(String source) {
+    }
+
+    /**
+     * Called after a layer has been merged into the result.
+     *
+     * @param source name of the layer
+     * @param nanos merging time in nanoseconds
+     */
+    default void layerMerged(String source, long nanos) {
+    }
+
+    /**
+     * Called for every key or overlaid array element which did not exist in the target and has been added.
+     */
+    default void valueAdded() {
+    }
+
+    /**
+     * Called for every key or overlaid array element merged with an existing value,
+     * and for every deleted key.
+     *
+     * @param strategy resolved merge strategy of the operation
+     */
+    default void valueMerged(MergeStrategy strategy) {
+    }
+
+    /**
+     * Called when the merged values have different types and the source value replaced the target one.
+     *
+     * @param target type of the replaced value
+     * @param source type of the new value
+     */
+    default void typeMismatch(JsonValue.ValueType target, JsonValue.ValueType source) {
+    }
+}
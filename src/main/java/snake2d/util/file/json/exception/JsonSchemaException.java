@@ -0,0 +1,74 @@
+package snake2d.util.file.json.exception;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception thrown when a parsed JSON document does not match its schema.
+ * Holds all violations found in the document, line and column of the exception are those of the first violation.
+ *
+ * @author Mateusz Frydrych thewituch@gmail.com
+ */
+public class JsonSchemaException extends JsonParseException {
+    private final List<Violation> violations;
+
+    public JsonSchemaException(List<Violation> violations) {
+        super(describe(violations), violations.get(0).getLine(), violations.get(0).getColumn());
+        this.violations = Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * @return all violations in order of their position in the document
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    private static String describe(List<Violation> violations) {
+        Violation first = violations.get(0);
+        String message = first.getSource() == null ? first.getMessage() : first.getSource() + ": " + first.getMessage();
+        return violations.size() == 1 ? message : message + " and " + (violations.size() - 1) + " more schema violations";
+    }
+
+    /**
+     * Value of the document which does not match the schema.
+     */
+    public static final class Violation {
+        private final String source;
+        private final String message;
+        private final int line;
+        private final int column;
+
+        public Violation(String source, String message, int line, int column) {
+            this.source = source;
+            this.message = message;
+            this.line = line;
+            this.column = column;
+        }
+
+        /**
+         * @return path of the parsed file or null if the document was not read from a file
+         */
+        public String getSource() {
+            return source;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        @Override
+        public String toString() {
+            String position = line + ":" + column + ": " + message;
+            return source == null ? position : source + ":" + position;
+        }
+    }
+}
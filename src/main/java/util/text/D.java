@@ -1,48 +1,252 @@
 package util.text;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
 
+import init.paths.PATH;
 import init.paths.PATHS;
 import init.settings.S;
 import snake2d.LOG;
-import snake2d.config.JsonConfig;
+import snake2d.config.ChainedJsonConfig;
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.IndexedJson;
+import snake2d.util.file.json.JsonBundle;
+import snake2d.util.file.json.JsonIndex;
+import snake2d.util.file.json.exception.JsonParseException;
 import snake2d.util.sets.LIST;
 
 public final class D {
 	
-	private static JsonConfig currentJson;
-	private static String currentClass;
-	private static JsonConfig dd;
+	private static final Context NONE = new Context(null, null, null, true);
+	
+	private static volatile Dictionary dd;
+	/**
+	 * Reads dictionaries for {@link #load(String)}, apart from the common pool, since it blocks on the disk.
+	 */
+	private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "Dictionary");
+		t.setDaemon(true);
+		return t;
+	});
+	/**
+	 * Files of the dictionary in use and of the ones loaded since, shared by the dictionaries of all languages,
+	 * so that the base and the mods are read and parsed once. Files only other languages need are forgotten by
+	 * {@link #use(Dictionary)}.
+	 */
+	private static final ConcurrentHashMap<Path, ChainedJsonConfig.Layer> LAYERS = new ConcurrentHashMap<>();
+	private static volatile Context current = NONE;
+	private static volatile Context old;
 	private static boolean first = true;
 
 	private D() {
 	}
 
 	public static void init() {
-		LIST<Path> paths = PATHS.TEXT().getFolder("dictionary").getAll("Dic");
+		LAYERS.clear();
+		// files are only indexed here, the section of a class is parsed on its first use
+		String lang = PATHS.lang();
+		dd = dictionary(lang, sources(lang));
+	}
+	
+	/**
+	 * The files of a language, in the order of the layers of the game: the base data, its translation, then
+	 * each mod followed by its own translation, so mods override the translations of the game. Looked up in
+	 * {@link PATHS}, so it has to be called on the game thread.
+	 */
+	private static ArrayList<Source> sources(String lang) {
+		LIST<Path> paths = PATHS.dictionary(lang);
 		if (paths.isEmpty()) {
-			throw new RuntimeException("No dictionary file 'Dic.txt' found!");
+			if (lang == null)
+				throw new RuntimeException("No dictionary file 'Dic.txt' found!");
+			throw new RuntimeException("No dictionary file 'Dic.txt' found for language: " + lang);
+		}
+		PATH folder = PATHS.DICTIONARY();
+		PATH bundles = folder.existsFolder("bundle") ? folder.getFolder("bundle", ".dic") : null;
+		ArrayList<Source> sources = new ArrayList<>();
+		for (Path p : paths) {
+			String name = PATHS.coreLayer(p);
+			Path bundle = name != null && bundles != null && bundles.exists(name) ? bundles.get(name) : null;
+			sources.add(new Source(p, bundle));
+		}
+		return sources;
+	}
+	
+	/**
+	 * Reads the files of a language, only touches the files themselves, so it can run on any thread. Files are
+	 * shared with the dictionaries of other languages. A key is looked up through the files from the top, the
+	 * first one with its translation wins, see {@link ChainedJsonConfig}.
+	 */
+	private static Dictionary dictionary(String lang, ArrayList<Source> sources) {
+		ArrayList<ChainedJsonConfig.Layer> layers = new ArrayList<>();
+		ArrayList<Path> paths = new ArrayList<>();
+		for (Source s : sources) {
+			layers.add(LAYERS.computeIfAbsent(s.dic, p -> new ChainedJsonConfig.Layer(layer(s))));
+			paths.add(s.dic);
 		}
-		dd = new JsonConfig(paths);
+		return new Dictionary(lang, new ChainedJsonConfig(layers), paths);
 	}
 
-	public static void gInit(Class<?> clazz) {
-		if (dd == null)
-			return;
-		if (!dd.has(clazz.getName())) {
+	/**
+	 * A dictionary of files that are read already, in the order of the layers, which are not shared with other
+	 * languages. Lets the translations be used without the files of the game, e.g. by tests.
+	 */
+	static Dictionary dictionary(String lang, Collection<? extends IndexedJson> files) {
+		ArrayList<ChainedJsonConfig.Layer> layers = new ArrayList<>();
+		for (IndexedJson f : files)
+			layers.add(new ChainedJsonConfig.Layer(f));
+		return new Dictionary(lang, new ChainedJsonConfig(layers), new ArrayList<>());
+	}
+
+	/**
+	 * Dictionaries of the game are read from bundles precompiled by {@link DicBundler}, when the mod ships one
+	 * made from the same text.
+	 */
+	private static IndexedJson layer(Source s) {
+		Path dic = s.dic;
+		Path b = s.bundle;
+		if (b != null) {
+			try {
+				JsonBundle bundle = JsonBundle.open(b);
+				if (bundle.getStamp() == DicBundler.stamp(dic))
+					return bundle;
+				LOG.ln("Outdated dictionary bundle: " + b);
+			} catch (IOException e) {
+				LOG.err("Broken dictionary bundle: " + b + " " + e.getMessage());
+			}
+		}
+		try {
+			return JsonIndex.scan(dic);
+		} catch (IOException | JsonParseException e) {
+			throw new ConfigException("Error reading configuration file: " + dic, e);
+		}
+	}
+	
+	private static final class Source {
+		
+		private final Path dic;
+		/**
+		 * Precompiled bundle of the file, null if there is none.
+		 */
+		private final Path bundle;
+		
+		Source(Path dic, Path bundle) {
+			this.dic = dic;
+			this.bundle = bundle;
+		}
+	}
+	
+	/**
+	 * Loads the dictionary of a language on a background thread and switches to it on the given executor,
+	 * which should run tasks on the game thread.
+	 * 
+	 * @param lang the language, null for the base one
+	 */
+	public static CompletableFuture<Dictionary> switchLanguage(String lang, Executor gameThread) {
+		return load(lang).thenApplyAsync(d -> {
+			use(d);
+			return d;
+		}, gameThread);
+	}
+	
+	/**
+	 * Loads the dictionary of a language on a background thread, nothing changes until it is passed to
+	 * {@link #use(Dictionary)}. The files are found on the calling thread, which has to be the game thread,
+	 * only reading them is left to the background. Sections of the classes translated so far are parsed as
+	 * well, so that switching does not parse them on the game thread. Files already read for another language
+	 * are not read again.
+	 * 
+	 * @param lang the language, null for the base one
+	 */
+	public static CompletableFuture<Dictionary> load(String lang) {
+		ArrayList<Source> sources = sources(lang);
+		return CompletableFuture.supplyAsync(() -> {
+			Dictionary d = dictionary(lang, sources);
+			for (Plan p : REGISTERED)
+				d.dic.has(p.clazz.getName());
+			Dictionary cur = dd;
+			if (cur != null) {
+				for (String key : cur.dic.loadedKeys())
+					d.dic.has(key);
+			}
+			return d;
+		}, LOADER);
+	}
+	
+	/**
+	 * Switches to a loaded dictionary and translates again the fields set by {@link #t(Class, Object)} so far,
+	 * of classes and of objects that are still alive. Has to be called on the game thread. Fields of classes
+	 * without a section in the new dictionary are left as they are.
+	 */
+	public static void use(Dictionary d) {
+		dd = d;
+		LAYERS.keySet().retainAll(d.paths);
+		Context c = current;
+		current = c.clazz == null ? NONE : ctx(c.clazz);
+		old = null;
+		
+		purge();
+		for (Plan p : REGISTERED) {
+			Context ctx = ctx(p.clazz);
+			if (ctx.section == null)
+				continue;
+			if (p.statics)
+				p.inject(null, ctx);
+			for (Instance i : p.instances) {
+				Object o = i.get();
+				if (o != null) {
+					ctx.use();
+					p.inject(o, ctx);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the translation context of a class. Contexts are immutable and do not touch the state used by
+	 * {@link #gInit(Class)} and {@link #g(String)}, so they can be used by several threads at once.
+	 */
+	public static Context ctx(Class<?> clazz) {
+		Dictionary dic = dd;
+		if (dic == null)
+			return new Context(clazz, null, null, false);
+		if (!dic.dic.has(clazz.getName())) {
 			if (S.get().debug) {
 				LOG.err("No mapping for class: " + clazz.getName());
 				if (first)
 					new RuntimeException().printStackTrace(System.out);
 				first = false;
 			}
-			currentJson = null;
-			currentClass = null;
-		}else {
-			currentClass = clazz.getName();
-			currentJson = dd.json(clazz.getName());
+			return new Context(clazz, null, null, true);
 		}
+		return new Context(clazz, dic, dic.dic.json(clazz.getName()), true);
+	}
+
+	public static void gInit(Class<?> clazz) {
+		if (dd == null)
+			return;
+		current = ctx(clazz);
 	}
 	
 	public static void gInit(Object clazz) {
@@ -58,21 +262,7 @@ public final class D {
 	public static CharSequence g(String defKey) {
 		if (dd == null)
 			return defKey;
-		if (currentJson == null || !currentJson.has(defKey)) {
-			if (S.get().debug|| S.get().developer) {
-				
-				String ss = "";
-				for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-					if (!e.getClassName().equals(D.class.getName()) && e.getClassName().indexOf(".Thread") < 0) {
-						ss = "("+e.getClassName()+".java:" + e.getLineNumber() + ")";
-						break;
-					}
-				}
-				LOG.err("No mapping " + currentClass + " " + defKey + " " + ss);
-			}
-			return defKey;
-		}
-		return currentJson.text(defKey);
+		return current.g(defKey);
 	}
 	
 	public static void t(Object clazz) {
@@ -83,63 +273,450 @@ public final class D {
 		t(clazz, null);
 	}
 	
-	private static String old;
-	
 	public static String ts(Class<?> clazz) {
-		String c = currentClass;
+		Context c = current;
 		t(clazz);
-		if (c != null && dd != null) {
-			currentClass = c;
-			if (dd.has(c))
-				currentJson = dd.json(c);
-			else
-				currentJson = null;
-		}
+		if (c.clazz != null && dd != null)
+			current = c;
 		return "";
 	}
 	
 	public static void spush(Class<?> clazz) {
-		old = currentClass;
+		old = current;
 		t(clazz);
 	}
 	
 	public static void spop() {
-		if (old != null && dd != null) {
-			currentClass = old;
-			currentJson = dd.json(old);
-		}
+		Context c = old;
+		if (c != null && c.clazz != null && dd != null)
+			current = c;
 	}
 	
 	public static void t(Class<?> clazz, Object o) {
-		
 		gInit(clazz);
-		if (currentJson == null)
+		current.t(o);
+	}
+	
+	/**
+	 * Sets the static translatable fields of all the classes, spread over the common fork-join pool.
+	 * 
+	 * @return nanoseconds each class took, in the order of the classes
+	 * @see #tAll(Collection, ForkJoinPool)
+	 */
+	public static Map<Class<?>, Long> tAll(Collection<Class<?>> classes) {
+		return tAll(classes, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Sets the static translatable fields of all the classes, spread over the pool. Unlike {@link #t(Class)}
+	 * it does not change the class used by {@link #g(String)}, each class is translated with its own
+	 * {@link Context}. Classes are initialised first on the calling thread, in order, since their static
+	 * initialisers may use {@link #g(String)} and initialising them on the pool could deadlock on cycles
+	 * between classes. Only setting the fields is spread and timed.
+	 * 
+	 * @return nanoseconds each class took, in the order of the classes
+	 */
+	public static Map<Class<?>, Long> tAll(Collection<Class<?>> classes, ForkJoinPool pool) {
+		Class<?>[] cc = classes.toArray(new Class<?>[0]);
+		for (Class<?> c : cc) {
+			try {
+				Class.forName(c.getName(), true, c.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		long[] times = new long[cc.length];
+		pool.invoke(new TAll(cc, times, 0, cc.length));
+		
+		LinkedHashMap<Class<?>, Long> res = new LinkedHashMap<>();
+		for (int i = 0; i < cc.length; i++)
+			res.put(cc[i], times[i]);
+		return Collections.unmodifiableMap(res);
+	}
+	
+	private static final class TAll extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		private static final int THRESHOLD = 2;
+		
+		private final Class<?>[] classes;
+		private final long[] times;
+		private final int from;
+		private final int to;
+		
+		TAll(Class<?>[] classes, long[] times, int from, int to) {
+			this.classes = classes;
+			this.times = times;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from <= THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					long start = System.nanoTime();
+					ctx(classes[i]).t();
+					times[i] = System.nanoTime() - start;
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new TAll(classes, times, from, middle), new TAll(classes, times, middle, to));
+		}
+	}
+	
+	/**
+	 * Releases the sections of the dictionary that were only needed to set static fields. Sections of classes
+	 * that have used {@link #g(String)} or {@link #t(Object)} are kept, the rest are parsed again if they are
+	 * needed later. Meant to be called when loading finishes.
+	 * 
+	 * @return the number of released sections
+	 */
+	public static int compact() {
+		Dictionary dic = dd;
+		if (dic == null)
+			return 0;
+		int released = dic.dic.compact();
+		LOG.ln("Released dictionary sections: " + released + ", kept: " + dic.dic.loadedCount());
+		return released;
+	}
+	
+	/**
+	 * Writes a summary of missing translations, reported since the last summary, and forgets them.
+	 * Meant to be called when loading finishes, each miss is logged only once before that.
+	 */
+	public static void reportMisses() {
+		if (MISSES.isEmpty())
 			return;
+		TreeMap<String, TreeMap<String, Miss>> sorted = new TreeMap<>();
+		int count = 0;
+		for (Map.Entry<String, ConcurrentHashMap<String, Miss>> c : MISSES.entrySet()) {
+			sorted.put(c.getKey(), new TreeMap<>(c.getValue()));
+			count += c.getValue().size();
+		}
+		MISSES.clear();
+		
+		LOG.err("Missing translations: " + count);
+		for (Map.Entry<String, TreeMap<String, Miss>> c : sorted.entrySet()) {
+			LOG.err("  " + c.getKey());
+			for (Map.Entry<String, Miss> m : c.getValue().entrySet())
+				LOG.err("    " + m.getKey() + " x" + m.getValue().count.sum() + " " + m.getValue().caller);
+		}
+	}
+	
+	private static final String NO_CLASS = "null";
+	private static final StackWalker WALKER = StackWalker.getInstance();
+	private static final ConcurrentHashMap<String, ConcurrentHashMap<String, Miss>> MISSES = new ConcurrentHashMap<>();
+	
+	static void miss(String clazz, String key) {
+		ConcurrentHashMap<String, Miss> keys = MISSES.computeIfAbsent(clazz == null ? NO_CLASS : clazz, c -> new ConcurrentHashMap<>());
+		Miss m = keys.get(key);
+		if (m == null) {
+			// the caller is looked up only once per class and key
+			Miss created = new Miss(caller());
+			m = keys.putIfAbsent(key, created);
+			if (m == null) {
+				m = created;
+				LOG.err("No mapping " + clazz + " " + key + " " + m.caller);
+			}
+		}
+		m.count.increment();
+	}
+	
+	/**
+	 * @return how many times the key of the class was missed since the last summary
+	 */
+	static long missed(String clazz, String key) {
+		ConcurrentHashMap<String, Miss> keys = MISSES.get(clazz == null ? NO_CLASS : clazz);
+		Miss m = keys == null ? null : keys.get(key);
+		return m == null ? 0 : m.count.sum();
+	}
+	
+	private static String caller() {
+		return WALKER.walk(frames -> frames
+				.filter(f -> !f.getClassName().equals(D.class.getName()) && !f.getClassName().startsWith(D.class.getName() + "$"))
+				.findFirst()
+				.map(f -> "(" + f.getClassName() + ".java:" + f.getLineNumber() + ")")
+				.orElse(""));
+	}
+	
+	private static final class Miss {
+		
+		private final String caller;
+		private final LongAdder count = new LongAdder();
+		
+		Miss(String caller) {
+			this.caller = caller;
+		}
+	}
+	
+	/**
+	 * Translations of a single class, looked up in the dictionary loaded when the context was created.
+	 */
+	public static final class Context {
+		
+		private final Class<?> clazz;
+		private final Dictionary dic;
+		private final ChainedJsonConfig.Section section;
+		private final boolean loaded;
+		/**
+		 * Set by the first use, racing threads only mark the section twice.
+		 */
+		private boolean used;
+		
+		private Context(Class<?> clazz, Dictionary dic, ChainedJsonConfig.Section section, boolean loaded) {
+			this.clazz = clazz;
+			this.dic = dic;
+			this.section = section;
+			this.loaded = loaded;
+		}
+		
+		/**
+		 * @return translation of the key, or the key itself if the class or the key has no mapping
+		 */
+		public CharSequence g(String key) {
+			use();
+			return text(key);
+		}
+		
+		/**
+		 * Keeps the section of the class when the dictionary is compacted, see {@link D#compact()}.
+		 */
+		private void use() {
+			if (used || dic == null)
+				return;
+			used = true;
+			dic.use(clazz.getName());
+		}
+		
+		/**
+		 * @throws ConfigException if the value of the key is not a string
+		 */
+		private CharSequence text(String key) {
+			if (section != null && section.has(key))
+				return section.text(key);
+			if (loaded && (S.get().debug || S.get().developer))
+				miss(section == null ? null : clazz.getName(), key);
+			return key;
+		}
+		
+		/**
+		 * @return translation of the key, or the default if no dictionary has been loaded
+		 */
+		public CharSequence g(String key, String def) {
+			if (!loaded)
+				return def;
+			return g(key);
+		}
+		
+		/**
+		 * @return translation of the key split into its placeholders, to be kept by the caller and formatted
+		 * without scanning the text again, see {@link MessageTemplate}
+		 */
+		public MessageTemplate template(String key) {
+			use();
+			return MessageTemplate.of(text(key));
+		}
+		
+		/**
+		 * Sets the translatable fields of the object of this class, including static ones.
+		 */
+		public void t(Object o) {
+			Plan p = PLANS.get(clazz);
+			p.register(o);
+			if (o != null)
+				use();
+			if (section == null)
+				return;
+			p.inject(o, this);
+		}
+		
+		/**
+		 * Sets the static translatable fields of this class.
+		 */
+		public void t() {
+			t(null);
+		}
+	}
+	
+	/**
+	 * A loaded dictionary of a language, see {@link D#load(String)}.
+	 */
+	public static final class Dictionary {
+		
+		public final String lang;
+		private final ChainedJsonConfig dic;
+		private final ArrayList<Path> paths;
+		
+		private Dictionary(String lang, ChainedJsonConfig dic, ArrayList<Path> paths) {
+			this.lang = lang;
+			this.dic = dic;
+			this.paths = paths;
+		}
 		
-		for (Field f : clazz.getDeclaredFields()) {
+		private void use(String key) {
+			dic.use(dic.id(key));
+		}
+	}
+	
+	/**
+	 * Classes with translatable fields that have been translated, so they can be translated again when the
+	 * language changes. Objects are held weakly and forgotten when they are collected.
+	 */
+	private static final Set<Plan> REGISTERED = ConcurrentHashMap.newKeySet();
+	private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+	
+	private static void purge() {
+		Instance i;
+		while ((i = (Instance) COLLECTED.poll()) != null)
+			i.plan.instances.remove(i);
+	}
+	
+	/**
+	 * Equal to the instances of the same object, so that translating an object again does not register it twice.
+	 */
+	private static final class Instance extends WeakReference<Object> {
+		
+		private final Plan plan;
+		private final int hash;
+		
+		Instance(Object o, Plan plan) {
+			super(o, COLLECTED);
+			this.plan = plan;
+			this.hash = System.identityHashCode(o);
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this)
+				return true;
+			if (!(obj instanceof Instance))
+				return false;
+			Object o = get();
+			return o != null && o == ((Instance) obj).get();
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+	
+	private static final ClassValue<Plan> PLANS = new ClassValue<Plan>() {
+		@Override
+		protected Plan computeValue(Class<?> type) {
+			return new Plan(type);
+		}
+	};
+	
+	/**
+	 * Translatable fields of a class, found once per class. Translations are resolved again only when the
+	 * section of the class changes, after the dictionary is loaded again. Fields of type
+	 * {@link MessageTemplate} are given the translation as a template.
+	 */
+	private static final class Plan {
+		
+		private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, CharSequence.class);
+		
+		private final Class<?> clazz;
+		private final String[] keys;
+		private final MethodHandle[] setters;
+		private final boolean[] templates;
+		private final String instanceField;
+		private volatile Values values;
+		private volatile boolean statics;
+		private final Set<Instance> instances = ConcurrentHashMap.newKeySet();
+		
+		Plan(Class<?> clazz) {
+			this.clazz = clazz;
+			ArrayList<String> keys = new ArrayList<>();
+			ArrayList<MethodHandle> setters = new ArrayList<>();
+			ArrayList<Boolean> templates = new ArrayList<>();
+			String instanceField = null;
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
 			
-			if (CharSequence.class.isAssignableFrom(f.getType())) {
+			for (Field f : clazz.getDeclaredFields()) {
+				if (!CharSequence.class.isAssignableFrom(f.getType()))
+					continue;
 				String s = f.getName();
 				if (s.length() > 1 && s.charAt(0) == '¤' && s.charAt(1) == '¤') {
 					f.setAccessible(true);
-					s = s.substring(2, s.length());
-					CharSequence v = g(s);
-					
+					MethodHandle setter;
 					try {
-						if (o == null && !java.lang.reflect.Modifier.isStatic(f.getModifiers()))
-							throw new RuntimeException(clazz + " " + f.toString() + " is not Static");
-						f.set(o, v);
-					} catch (IllegalArgumentException e) {
-						throw new RuntimeException(e);
-					
+						setter = lookup.unreflectSetter(f);
 					} catch (IllegalAccessException e) {
 						throw new RuntimeException(e);
 					}
+					if (Modifier.isStatic(f.getModifiers())) {
+						setter = MethodHandles.dropArguments(setter, 0, Object.class);
+					} else if (instanceField == null) {
+						instanceField = f.toString();
+					}
+					keys.add(s.substring(2));
+					setters.add(setter.asType(SETTER));
+					templates.add(f.getType() == MessageTemplate.class);
 				}
 			}
+			
+			this.keys = keys.toArray(new String[0]);
+			this.setters = setters.toArray(new MethodHandle[0]);
+			this.templates = new boolean[templates.size()];
+			for (int i = 0; i < this.templates.length; i++)
+				this.templates[i] = templates.get(i);
+			this.instanceField = instanceField;
+		}
+		
+		void register(Object o) {
+			if (setters.length == 0 || (o == null && instanceField != null))
+				return;
+			purge();
+			if (o == null)
+				statics = true;
+			else
+				instances.add(new Instance(o, this));
+			REGISTERED.add(this);
+		}
+		
+		void inject(Object o, Context ctx) {
+			if (o == null && instanceField != null)
+				throw new RuntimeException(clazz + " " + instanceField + " is not Static");
+			
+			CharSequence[] texts = texts(ctx);
+			try {
+				for (int i = 0; i < setters.length; i++)
+					setters[i].invokeExact(o, texts[i]);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
 		}
 		
+		private CharSequence[] texts(Context ctx) {
+			Values v = values;
+			if (v == null || v.section.get() != ctx.section) {
+				CharSequence[] texts = new CharSequence[keys.length];
+				for (int i = 0; i < keys.length; i++)
+					texts[i] = templates[i] ? MessageTemplate.of(ctx.text(keys[i])) : ctx.text(keys[i]);
+				values = v = new Values(ctx.section, texts);
+			}
+			return v.texts;
+		}
 	}
 	
+	private static final class Values {
+		
+		/**
+		 * Weak, so that the section can be released by {@link D#compact()}.
+		 */
+		private final WeakReference<ChainedJsonConfig.Section> section;
+		private final CharSequence[] texts;
+		
+		Values(ChainedJsonConfig.Section section, CharSequence[] texts) {
+			this.section = new WeakReference<>(section);
+			this.texts = texts;
+		}
+	}
 
 }
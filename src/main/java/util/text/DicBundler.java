@@ -0,0 +1,114 @@
+package util.text;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonBundle;
+import snake2d.util.file.json.JsonParser;
+import snake2d.util.file.json.exception.JsonParseException;
+
+/**
+ * Build step writing the dictionaries of the game as binary bundles, which {@link D} reads instead of the text.
+ * Every dictionary of the archive is parsed, so syntax errors fail the build instead of the loading of the game.
+ * A bundle is named by the layer of the game it replaces, "data" for the base dictionary and the language for
+ * dictionaries of languages, and stamped with the checksum of its text.
+ *
+ * Usage: DicBundler &lt;archive with dictionaries&gt; &lt;output directory&gt;
+ */
+public final class DicBundler {
+
+	private static final String DICTIONARY = "assets/text/dictionary/Dic.txt";
+	private static final String LANGS = "langs/";
+
+	private DicBundler() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2)
+			throw new IllegalArgumentException("Usage: DicBundler <archive with dictionaries> <output directory>");
+		Path out = Paths.get(args[1]);
+		Files.createDirectories(out);
+
+		ArrayList<String> errors = new ArrayList<>();
+		int count = 0;
+		try (ZipFile zip = new ZipFile(args[0], StandardCharsets.UTF_8)) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry e = entries.nextElement();
+				if (e.isDirectory() || !e.getName().endsWith(DICTIONARY))
+					continue;
+				String name = name(e.getName());
+				byte[] text;
+				try (InputStream in = zip.getInputStream(e)) {
+					text = in.readAllBytes();
+				}
+				try {
+					Json json = new JsonParser().parse(new String(text, StandardCharsets.UTF_8));
+					JsonBundle.write(json, out.resolve(name + ".dic"), stamp(text));
+					count++;
+				} catch (JsonParseException ex) {
+					errors.add(e.getName() + ": " + message(ex));
+				}
+			}
+		}
+
+		for (String e : errors)
+			System.err.println(e);
+		if (!errors.isEmpty())
+			throw new IllegalStateException(errors.size() + " dictionaries could not be parsed");
+		System.out.println("Bundled " + count + " dictionaries into " + out);
+	}
+
+	/**
+	 * @return the CRC32 of the text, edits keeping the length of the text change it as well
+	 */
+	static long stamp(byte[] text) {
+		CRC32 crc = new CRC32();
+		crc.update(text);
+		return crc.getValue();
+	}
+
+	/**
+	 * @return the CRC32 of the text of the file, taken from the entry when the file is in a zip, like the
+	 * locale, so that only files of plain folders are read
+	 */
+	static long stamp(Path file) throws IOException {
+		try {
+			Object crc = Files.getAttribute(file, "zip:crc");
+			if (crc instanceof Long)
+				return (Long) crc;
+		} catch (UnsupportedOperationException | IllegalArgumentException e) {
+			// not in a zip
+		}
+		return stamp(Files.readAllBytes(file));
+	}
+
+	/**
+	 * @return the language of the dictionary, or "data" for the base one
+	 */
+	private static String name(String entry) {
+		int i = entry.lastIndexOf(LANGS);
+		if (i < 0)
+			return "data";
+		i += LANGS.length();
+		return entry.substring(i, entry.indexOf('/', i));
+	}
+
+	private static String message(Throwable e) {
+		// the innermost error points at the exact line
+		StringBuilder sb = new StringBuilder(String.valueOf(e.getMessage()));
+		for (Throwable c = e.getCause(); c != null; c = c.getCause())
+			sb.append(" <- ").append(c.getMessage());
+		return sb.toString();
+	}
+}
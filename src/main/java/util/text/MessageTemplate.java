@@ -0,0 +1,260 @@
+package util.text;
+
+import java.util.ArrayList;
+
+/**
+ * A translation with placeholders like {0} or {NAME}, split into literal segments and slots once, when it is
+ * loaded. Formatting appends to a buffer given by the caller and does not allocate, so it can be done every frame.
+ * Numbered placeholders are slots of their number, named ones get the following slots in the order they first
+ * appear, see {@link #slot(String)}. Placeholders without a value are written as they are.
+ *
+ * The template is the text itself as well, so it can be used wherever the plain translation was.
+ */
+public final class MessageTemplate implements CharSequence {
+
+	private static final int[] NONE = new int[0];
+	private static final int MAX_DIGITS = 4;
+
+	private final String text;
+	/**
+	 * Parts of the text, a slot or -1 for a literal. Slot parts cover the whole placeholder with braces.
+	 */
+	private final int[] starts;
+	private final int[] ends;
+	private final int[] slots;
+	private final String[] names;
+	private final int firstNamed;
+
+	private MessageTemplate(String text, int[] starts, int[] ends, int[] slots, String[] names, int firstNamed) {
+		this.text = text;
+		this.starts = starts;
+		this.ends = ends;
+		this.slots = slots;
+		this.names = names;
+		this.firstNamed = firstNamed;
+	}
+
+	public static MessageTemplate of(CharSequence text) {
+		if (text instanceof MessageTemplate)
+			return (MessageTemplate) text;
+		String s = text.toString();
+
+		// parsed only when loading, so plain lists are fine here
+		ArrayList<int[]> parts = new ArrayList<>();
+		ArrayList<String> partNames = new ArrayList<>();
+		int maxNumber = -1;
+		int literal = 0;
+		int i = 0;
+		while (i < s.length()) {
+			int open = s.indexOf('{', i);
+			if (open < 0)
+				break;
+			int close = s.indexOf('}', open + 1);
+			if (close < 0)
+				break;
+			int number = number(s, open + 1, close);
+			if (number < 0 && !name(s, open + 1, close)) {
+				i = open + 1;
+				continue;
+			}
+			if (open > literal) {
+				parts.add(new int[] { literal, open, -1 });
+				partNames.add(null);
+			}
+			parts.add(new int[] { open, close + 1, number });
+			partNames.add(number < 0 ? s.substring(open + 1, close) : null);
+			maxNumber = Math.max(maxNumber, number);
+			literal = i = close + 1;
+		}
+		if (parts.isEmpty())
+			return new MessageTemplate(s, NONE, NONE, NONE, new String[0], 0);
+		if (literal < s.length()) {
+			parts.add(new int[] { literal, s.length(), -1 });
+			partNames.add(null);
+		}
+
+		// named slots follow the numbered ones
+		int firstNamed = maxNumber + 1;
+		ArrayList<String> names = new ArrayList<>();
+		int[] starts = new int[parts.size()];
+		int[] ends = new int[parts.size()];
+		int[] slots = new int[parts.size()];
+		for (int p = 0; p < parts.size(); p++) {
+			starts[p] = parts.get(p)[0];
+			ends[p] = parts.get(p)[1];
+			slots[p] = parts.get(p)[2];
+			String name = partNames.get(p);
+			if (name != null) {
+				if (!names.contains(name))
+					names.add(name);
+				slots[p] = firstNamed + names.indexOf(name);
+			}
+		}
+		return new MessageTemplate(s, starts, ends, slots, names.toArray(new String[0]), firstNamed);
+	}
+
+	private static int number(String s, int from, int to) {
+		if (to == from || to - from > MAX_DIGITS)
+			return -1;
+		int n = 0;
+		for (int i = from; i < to; i++) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			n = n * 10 + (c - '0');
+		}
+		return n;
+	}
+
+	private static boolean name(String s, int from, int to) {
+		if (to == from)
+			return false;
+		for (int i = from; i < to; i++) {
+			char c = s.charAt(i);
+			boolean letter = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+			if (!letter && !(i > from && c >= '0' && c <= '9'))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of slots, one more than the highest slot
+	 */
+	public int slots() {
+		return firstNamed + names.length;
+	}
+
+	/**
+	 * @return the slot of a named placeholder, or -1 if the template does not have it
+	 */
+	public int slot(String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name))
+				return firstNamed + i;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return true if the text has no placeholders
+	 */
+	public boolean isConstant() {
+		return slots.length == 0;
+	}
+
+	/**
+	 * Appends the text with the value of slot 0.
+	 */
+	public StringBuilder format(StringBuilder out, long a) {
+		if (isConstant())
+			return out.append(text);
+		for (int p = 0; p < slots.length; p++) {
+			if (slots[p] == 0)
+				out.append(a);
+			else
+				out.append(text, starts[p], ends[p]);
+		}
+		return out;
+	}
+
+	/**
+	 * Appends the text with the values of slots 0 and 1.
+	 */
+	public StringBuilder format(StringBuilder out, long a, long b) {
+		if (isConstant())
+			return out.append(text);
+		for (int p = 0; p < slots.length; p++) {
+			int s = slots[p];
+			if (s == 0)
+				out.append(a);
+			else if (s == 1)
+				out.append(b);
+			else
+				out.append(text, starts[p], ends[p]);
+		}
+		return out;
+	}
+
+	/**
+	 * Appends the text with the value of slot 0.
+	 */
+	public StringBuilder format(StringBuilder out, CharSequence a) {
+		if (isConstant())
+			return out.append(text);
+		for (int p = 0; p < slots.length; p++) {
+			if (slots[p] == 0)
+				out.append(a);
+			else
+				out.append(text, starts[p], ends[p]);
+		}
+		return out;
+	}
+
+	/**
+	 * Appends the text with the values of slots 0 and 1.
+	 */
+	public StringBuilder format(StringBuilder out, CharSequence a, CharSequence b) {
+		if (isConstant())
+			return out.append(text);
+		for (int p = 0; p < slots.length; p++) {
+			int s = slots[p];
+			if (s == 0)
+				out.append(a);
+			else if (s == 1)
+				out.append(b);
+			else
+				out.append(text, starts[p], ends[p]);
+		}
+		return out;
+	}
+
+	/**
+	 * Appends the text with the values of any slots, the filler is best kept in a field so that it is not
+	 * allocated for every call.
+	 */
+	public StringBuilder format(StringBuilder out, Filler filler) {
+		if (isConstant())
+			return out.append(text);
+		for (int p = 0; p < slots.length; p++) {
+			int s = slots[p];
+			if (s < 0 || !filler.fill(s, out))
+				out.append(text, starts[p], ends[p]);
+		}
+		return out;
+	}
+
+	/**
+	 * Values of slots, see {@link MessageTemplate#format(StringBuilder, Filler)}.
+	 */
+	@FunctionalInterface
+	public interface Filler {
+
+		/**
+		 * Appends the value of the slot.
+		 *
+		 * @return false to keep the placeholder, nothing must have been appended then
+		 */
+		boolean fill(int slot, StringBuilder out);
+	}
+
+	@Override
+	public int length() {
+		return text.length();
+	}
+
+	@Override
+	public char charAt(int index) {
+		return text.charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return text.subSequence(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+}
@@ -0,0 +1,196 @@
+package init.paths;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snake2d.util.sets.ArrayList;
+import snake2d.util.sets.LIST;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FileIndex Tests")
+public class FileIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should answer like the file system")
+        void shouldAnswerLikeFileSystem() throws IOException {
+            Path data = tree(tempDir.resolve("lookup-data"));
+            Path mod = tree(tempDir.resolve("lookup-mod"));
+            Files.createSymbolicLink(mod.resolve("broken"), tempDir.resolve("missing"));
+            Files.createSymbolicLink(mod.resolve("linked"), data.resolve("assets"));
+
+            FileIndex index = new FileIndex(new ArrayList<>(data, mod));
+
+            compare(index, data);
+            compare(index, mod);
+        }
+
+        @Test
+        @DisplayName("Should answer like the file system for roots in zips")
+        void shouldAnswerLikeFileSystemInZips() throws IOException {
+            URI uri = URI.create("jar:" + tempDir.resolve("data.zip").toUri());
+            try (FileSystem zip = FileSystems.newFileSystem(uri, Map.of("create", "true"))) {
+                Path data = tree(zip.getPath("/data"));
+
+                FileIndex index = new FileIndex(new ArrayList<>(data));
+
+                compare(index, data);
+            }
+        }
+
+        @Test
+        @DisplayName("Should apply the rules of folders like the file system")
+        void shouldApplyFolderRules() throws IOException {
+            Path data = tree(tempDir.resolve("rules-data"));
+            Path mod = tree(tempDir.resolve("rules-mod"));
+            Files.createFile(mod.resolve("assets").resolve("_IgnoreVanilla.txt"));
+            Files.createFile(mod.resolve("assets").resolve("modded.txt"));
+            Files.createDirectories(mod.resolve("assets").resolve("modded"));
+            LIST<Path> bases = new ArrayList<>(data, mod);
+
+            VirtualFolder indexed = new VirtualFolder(bases, "assets", new FileIndex(bases));
+            VirtualFolder plain = new VirtualFolder(bases, "assets", FileIndex.NONE);
+
+            assertArrayEquals(plain.listFiles(".txt"), indexed.listFiles(".txt"));
+            assertArrayEquals(plain.listFilesOrdered(".txt"), indexed.listFilesOrdered(".txt"));
+            assertArrayEquals(plain.listFolders(), indexed.listFolders());
+            assertArrayEquals(plain.folder("init").listFiles(".txt"), indexed.folder("init").listFiles(".txt"));
+            for (String name : List.of("a", "modded", "_hidden", "init", "missing")) {
+                assertEquals(plain.exists(name, ".txt"), indexed.exists(name, ".txt"), name);
+                assertEquals(plain.exists(name, ""), indexed.exists(name, ""), name);
+                assertEquals(plain.getPossibleFiles(name + ".txt").size(), indexed.getPossibleFiles(name + ".txt").size(), name);
+            }
+            assertFalse(Arrays.asList(indexed.listFolders()).contains("_hidden"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Change Tests")
+    class ChangeTests {
+
+        @Test
+        @DisplayName("Should add created files and remove deleted ones in place")
+        void shouldUpdateInPlace() throws IOException {
+            Path data = tree(tempDir.resolve("changed-data"));
+            FileIndex index = new FileIndex(new ArrayList<>(data));
+            index.walk(Runnable::run);
+
+            Path saves = data.resolve("saves").resolve("custom");
+            Files.createDirectories(saves);
+            index.created(saves);
+            Path save = Files.createFile(saves.resolve("a.save"));
+            index.created(save);
+            compare(index, data);
+
+            Files.delete(save);
+            index.deleted(save);
+            compare(index, data);
+            deleteTree(data.resolve("assets"));
+            index.deleted(data.resolve("assets"));
+            compare(index, data);
+        }
+
+        @Test
+        @DisplayName("Should keep the walk of the roots when folders are created")
+        void shouldKeepWalk() throws IOException {
+            Path data = tree(tempDir.resolve("walked-data"));
+            FileIndex index = new FileIndex(new ArrayList<>(data));
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            try {
+                index.walk(pool);
+            } finally {
+                pool.shutdown();
+            }
+            // removed behind the back of the index, only a new walk would notice
+            Path a = data.resolve("assets").resolve("a.txt");
+            Files.delete(a);
+
+            for (String folder : List.of("campaigns", "saves", "saves/custom")) {
+                Files.createDirectories(data.resolve(folder));
+                index.created(data.resolve(folder));
+            }
+
+            assertTrue(index.exists(data, a));
+            assertTrue(index.isDirectory(data, data.resolve("saves").resolve("custom")));
+        }
+    }
+
+    /**
+     * Files of a root, with the files and folders the rules of {@link VirtualFolder} look at.
+     */
+    private static Path tree(Path root) throws IOException {
+        Path assets = Files.createDirectories(root.resolve("assets"));
+        Files.createFile(assets.resolve("a.txt"));
+        Files.createFile(assets.resolve("b.png"));
+        Files.createFile(assets.resolve("_skipped.txt"));
+        Files.createDirectories(assets.resolve("_hidden"));
+        Files.createFile(assets.resolve("_hidden").resolve("h.txt"));
+        Files.createDirectories(assets.resolve("init").resolve("nested"));
+        Files.createFile(assets.resolve("init").resolve("i.txt"));
+        return root;
+    }
+
+    private static void compare(FileIndex index, Path root) throws IOException {
+        Set<Path> paths = new TreeSet<>();
+        try (Stream<Path> s = Files.walk(root)) {
+            s.forEach(paths::add);
+        }
+        for (Path p : List.copyOf(paths)) {
+            paths.add(p.resolve("missing"));
+            paths.add(p.resolve("missing").resolve(".."));
+        }
+        for (Path p : paths) {
+            assertEquals(Files.exists(p), index.exists(root, p), p.toString());
+            assertEquals(Files.isDirectory(p), index.isDirectory(root, p), p.toString());
+            if (Files.isDirectory(p)) {
+                assertEquals(names(p), names(index.list(root, p)), p.toString());
+            }
+        }
+    }
+
+    private static Set<String> names(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.map(p -> "" + p.getFileName()).collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    private static Set<String> names(LIST<Path> paths) {
+        Set<String> names = new TreeSet<>();
+        for (Path p : paths) {
+            names.add("" + p.getFileName());
+        }
+        return names;
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> s = Files.walk(root)) {
+            for (Path p : s.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.delete(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package snake2d.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.IndexedJson;
+import snake2d.util.file.json.Json;
+import snake2d.util.file.json.JsonIndex;
+import snake2d.util.file.json.JsonValue;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChainedJsonConfig Tests")
+public class ChainedJsonConfigTest {
+
+    /**
+     * Entries of a key in a single file, every combination over three files is compared with the full merge.
+     */
+    private static final String[] ENTRIES = {
+            "", "k: \"a\"", ">k: \"b\"", "<k: \"c\"", "!k: \"\"", "k: { x: \"d\", y: [ 1 ] }", "k: { >y: [ 2 ] }", "k: 5", ">k: 6", "k: [ 7 ]", ">k: [ 8 ]"
+    };
+    private static final String[] SECTIONS = {"T", ">T", "!T"};
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should look up the same values as the full merge")
+        void shouldResolveLikeMerge() throws JsonParseException {
+            int compared = 0;
+            for (String a : ENTRIES) {
+                for (String b : ENTRIES) {
+                    for (String c : ENTRIES) {
+                        for (String section : SECTIONS) {
+                            List<JsonIndex> files = List.of(
+                                    JsonIndex.scan("T: { " + a + " }"),
+                                    JsonIndex.scan(section + ": { " + b + " }"),
+                                    JsonIndex.scan("T: { " + c + " }"));
+                            compare(files);
+                            compared++;
+                        }
+                    }
+                }
+            }
+            assertEquals(ENTRIES.length * ENTRIES.length * ENTRIES.length * SECTIONS.length, compared);
+        }
+
+        @Test
+        @DisplayName("Should let mods override translated keys and languages merge into shared layers")
+        void shouldKeepLayerOrderOfLanguages() throws JsonParseException {
+            ChainedJsonConfig.Layer data = layer("T: { a: \"a\", b: \"b\", c: \"c\", d: \"d\" }");
+            ChainedJsonConfig.Layer mod = layer("T: { a: \"a-mod\" }");
+
+            ChainedJsonConfig.Section german = new ChainedJsonConfig(List.of(data,
+                    layer("T: { a: \"a-de\", b: \"b-de\", !c: \"\", >d: \"-de\" }"), mod, layer("T: { e: \"e-mod-de\" }"))).json("T");
+            ChainedJsonConfig.Section french = new ChainedJsonConfig(List.of(data, layer("T: { a: \"a-fr\" }"), mod)).json("T");
+
+            assertEquals("a-mod", german.text("a"));
+            assertEquals("b-de", german.text("b"));
+            assertFalse(german.has("c"));
+            assertEquals("d-de", german.text("d"));
+            assertEquals("e-mod-de", german.text("e"));
+            assertEquals("a-mod", french.text("a"));
+            assertEquals("b", french.text("b"));
+            assertEquals("c", french.text("c"));
+        }
+
+        @Test
+        @DisplayName("Should not read files below the first one with the key")
+        void shouldStopAtFirstHit() throws JsonParseException {
+            Counting base = new Counting(JsonIndex.scan("T: { a: \"a\", b: \"b\" }"));
+            ChainedJsonConfig config = new ChainedJsonConfig(List.of(new ChainedJsonConfig.Layer(base), layer("T: { a: \"a-de\" }")));
+            ChainedJsonConfig.Section section = config.json("T");
+
+            assertEquals("a-de", section.text("a"));
+            assertEquals(0, base.parsed.get());
+            assertEquals("b", section.text("b"));
+            assertEquals("b", section.text("b"));
+            assertEquals(1, base.parsed.get());
+        }
+
+        @Test
+        @DisplayName("Should parse shared layers once for all configurations")
+        void shouldShareLayers() throws JsonParseException {
+            Counting base = new Counting(JsonIndex.scan("T: { a: \"a\" }"));
+            ChainedJsonConfig.Layer shared = new ChainedJsonConfig.Layer(base);
+
+            assertEquals("a", new ChainedJsonConfig(List.of(shared, layer("T: { b: \"b\" }"))).json("T").text("a"));
+            assertEquals("a", new ChainedJsonConfig(List.of(shared, layer("T: { c: \"c\" }"))).json("T").text("a"));
+            assertEquals(1, base.parsed.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        @DisplayName("Should report values of wrong types")
+        void shouldReportWrongTypes() throws JsonParseException {
+            ChainedJsonConfig config = new ChainedJsonConfig(List.of(layer("T: { a: 1 }\nC: 5")));
+
+            ConfigException text = assertThrows(ConfigException.class, () -> config.json("T").text("a"));
+            ConfigException missing = assertThrows(ConfigException.class, () -> config.json("T").text("b"));
+            ConfigException section = assertThrows(ConfigException.class, () -> config.json("C"));
+            assertEquals("Value under key 'a' is not a string", text.getMessage());
+            assertEquals("Key does not exist: b", missing.getMessage());
+            assertEquals("Value under key 'C' is not a JSON object", section.getMessage());
+            assertFalse(config.has("D"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compaction Tests")
+    class CompactionTests {
+
+        @Test
+        @DisplayName("Should release only sections which are not used")
+        void shouldReleaseUnusedSections() throws JsonParseException {
+            Counting base = new Counting(JsonIndex.scan("A: { x: \"a\" }\nB: { x: \"b\" }"));
+            ChainedJsonConfig config = new ChainedJsonConfig(List.of(new ChainedJsonConfig.Layer(base)));
+
+            ChainedJsonConfig.Section a = config.json("A");
+            ChainedJsonConfig.Section b = config.json("B");
+            config.use(config.id("A"));
+
+            assertEquals(1, config.compact());
+            assertEquals(Set.of("A"), config.loadedKeys());
+            assertSame(a, config.json("A"));
+            assertNotSame(b, config.json("B"));
+            assertEquals("b", config.json("B").text("x"));
+            assertEquals(3, base.parsed.get());
+        }
+    }
+
+    private static void compare(List<JsonIndex> files) {
+        List<ChainedJsonConfig.Layer> layers = new ArrayList<>();
+        for (JsonIndex file : files) {
+            layers.add(new ChainedJsonConfig.Layer(file));
+        }
+        LazyJsonConfig lazy = new LazyJsonConfig(files);
+        ChainedJsonConfig chained = new ChainedJsonConfig(layers);
+
+        assertEquals(lazy.has("T"), chained.has("T"), files::toString);
+        if (!lazy.has("T")) {
+            return;
+        }
+        Json merged = lazy.json("T").getRawJson();
+        JsonValue expected = merged.get("k");
+        JsonValue actual = chained.json("T").get("k");
+        assertEquals(expected == null, actual == null, () -> describe(files));
+        if (expected != null) {
+            assertTrue(expected.deepEquals(actual), describe(files) + " " + expected + " " + actual);
+        }
+    }
+
+    private static String describe(List<JsonIndex> files) {
+        StringBuilder sb = new StringBuilder();
+        for (JsonIndex file : files) {
+            try {
+                sb.append(file.parse("T")).append(" | ");
+            } catch (JsonParseException e) {
+                throw new AssertionError(e);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static ChainedJsonConfig.Layer layer(String content) throws JsonParseException {
+        return new ChainedJsonConfig.Layer(JsonIndex.scan(content));
+    }
+
+    private static final class Counting implements IndexedJson {
+        private final IndexedJson document;
+        private final AtomicInteger parsed = new AtomicInteger();
+
+        Counting(IndexedJson document) {
+            this.document = document;
+        }
+
+        @Override
+        public Set<String> keys() {
+            return document.keys();
+        }
+
+        @Override
+        public Json parse(String key) throws JsonParseException {
+            parsed.incrementAndGet();
+            return document.parse(key);
+        }
+
+        @Override
+        public String getSource() {
+            return document.getSource();
+        }
+    }
+}
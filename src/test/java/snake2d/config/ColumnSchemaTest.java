@@ -0,0 +1,116 @@
+package snake2d.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import snake2d.config.exception.ConfigException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ColumnSchema Tests")
+public class ColumnSchemaTest {
+
+    private static final ColumnSchema RACE = new ColumnSchema()
+            .text("name")
+            .integer("health", 100)
+            .decimal("speed", 1.0)
+            .bool("playable", false);
+
+    @Nested
+    @DisplayName("Extraction Tests")
+    class ExtractionTests {
+
+        @Test
+        @DisplayName("Should extract fields into columns")
+        void shouldExtractColumns() {
+            JsonConfig config = new JsonConfig("""
+                {
+                    races: [
+                        { name: "Human", health: 120, speed: 1.5, playable: true },
+                        { name: "Dondorian", health: 150, speed: 2, playable: false }
+                    ]
+                }
+                """);
+
+            Columns columns = config.columns("races", RACE);
+
+            assertEquals(2, columns.size());
+            assertArrayEquals(new String[] { "Human", "Dondorian" }, columns.texts("name"));
+            assertArrayEquals(new int[] { 120, 150 }, columns.integers("health"));
+            assertArrayEquals(new double[] { 1.5, 2.0 }, columns.decimals("speed"));
+            assertArrayEquals(new boolean[] { true, false }, columns.bools("playable"));
+            assertSame(columns.integers("health"), columns.column(RACE.indexOf("health")));
+        }
+
+        @Test
+        @DisplayName("Should use default values and ignore undeclared keys in any order")
+        void shouldUseDefaultValues() {
+            JsonConfig config = new JsonConfig("""
+                {
+                    races: [
+                        { name: "Human", extra: 1 },
+                        { playable: true, name: "Tilapi", speed: 0.5 },
+                        { name: "Cretonian", health: 80, other: "x", playable: true }
+                    ]
+                }
+                """);
+
+            Columns columns = config.columns("races", RACE);
+
+            assertArrayEquals(new String[] { "Human", "Tilapi", "Cretonian" }, columns.texts("name"));
+            assertArrayEquals(new int[] { 100, 100, 80 }, columns.integers("health"));
+            assertArrayEquals(new double[] { 1.0, 0.5, 1.0 }, columns.decimals("speed"));
+            assertArrayEquals(new boolean[] { false, true, true }, columns.bools("playable"));
+        }
+
+        @Test
+        @DisplayName("Should extract empty list")
+        void shouldExtractEmptyList() {
+            Columns columns = new JsonConfig("{ races: [] }").columns("races", RACE);
+
+            assertEquals(0, columns.size());
+            assertEquals(0, columns.texts("name").length);
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        @DisplayName("Should throw exception for missing required field")
+        void shouldThrowExceptionForMissingRequiredField() {
+            JsonConfig config = new JsonConfig("{ races: [ { name: \"Human\" }, { health: 1 } ] }");
+
+            ConfigException e = assertThrows(ConfigException.class, () -> config.columns("races", RACE));
+            assertEquals("Key does not exist: name (array element 1 under key 'races')", e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should throw exception for invalid type")
+        void shouldThrowExceptionForWrongType() {
+            JsonConfig config = new JsonConfig("{ races: [ { name: \"Human\", health: \"a lot\" } ] }");
+
+            ConfigException e = assertThrows(ConfigException.class, () -> config.columns("races", RACE));
+            assertEquals("Value under key 'health' of array element 0 under key 'races' is not an integer", e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should throw exception for elements which are not objects")
+        void shouldThrowExceptionForWrongElements() {
+            assertThrows(ConfigException.class, () -> new JsonConfig("{ races: [ 1 ] }").columns("races", RACE));
+            assertThrows(ConfigException.class, () -> new JsonConfig("{ races: 1 }").columns("races", RACE));
+            assertThrows(ConfigException.class, () -> new JsonConfig("{ }").columns("races", RACE));
+        }
+
+        @Test
+        @DisplayName("Should reject undeclared fields and wrong column types")
+        void shouldRejectWrongColumns() {
+            Columns columns = new JsonConfig("{ races: [] }").columns("races", RACE);
+
+            assertThrows(ConfigException.class, () -> columns.integers("unknown"));
+            assertThrows(ConfigException.class, () -> columns.integers("name"));
+            assertThrows(IllegalArgumentException.class, () -> new ColumnSchema().integer("a").text("a"));
+        }
+    }
+}
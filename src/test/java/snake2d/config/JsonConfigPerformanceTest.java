@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import snake2d.util.sets.ArrayList;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -23,6 +24,7 @@ public class JsonConfigPerformanceTest {
     private static Path mediumConfigFile;
     private static Path largeConfigFile;
     private static Path deeplyNestedFile;
+    private static Path extremelyNestedFile;
 
     @BeforeAll
     static void setUp() throws IOException {
@@ -41,6 +43,10 @@ public class JsonConfigPerformanceTest {
         // Deeply nested configuration
         deeplyNestedFile = tempDir.resolve("deeply_nested.json");
         Files.writeString(deeplyNestedFile, generateDeeplyNestedConfig());
+
+        // Extremely nested configuration (100k levels)
+        extremelyNestedFile = tempDir.resolve("extremely_nested.json");
+        Files.writeString(extremelyNestedFile, generateExtremelyNestedConfig(100_000));
     }
 
 
@@ -98,6 +104,23 @@ public class JsonConfigPerformanceTest {
             System.out.println("Large configuration loading 1000x: " + duration + " ms");
             assertTrue(duration < 2000, "Large configuration loading should take less than 2s");
         }
+
+        @Test
+        @DisplayName("Extremely nested configuration loading performance (100k levels, 5 iterations)")
+        void testLoadExtremelyNestedConfigPerformance() {
+            long startTime = System.nanoTime();
+
+            for (int i = 0; i < 5; i++) {
+                JsonConfig config = new JsonConfig(new ArrayList<>(extremelyNestedFile, extremelyNestedFile));
+                assertNotNull(config);
+            }
+
+            long endTime = System.nanoTime();
+            long duration = (endTime - startTime) / 1_000_000;
+
+            System.out.println("Extremely nested configuration loading 5x: " + duration + " ms");
+            assertTrue(duration < 5000, "Extremely nested configuration loading should take less than 5s");
+        }
     }
 
     @Test
@@ -273,6 +296,59 @@ public class JsonConfigPerformanceTest {
         assertTrue(duration < 100, "Optional API should be faster than 0.1s");
     }
 
+    @Test
+    @DisplayName("Default values of missing and mistyped keys performance (100k iterations)")
+    void testDefaultValuesPerformance() {
+        JsonConfig config = new JsonConfig("{ text: 1, number: \"text\", decimal: true, flag: 1.5 }");
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < 100_000; i++) {
+            config.text("text", "default");
+            config.text("nonexistent", "default");
+            config.integer("number", 0);
+            config.integer("nonexistent", 0);
+            config.decimal("decimal", 0.0);
+            config.decimal("nonexistent", 0.0);
+            config.bool("flag", false);
+            config.bool("nonexistent", false);
+        }
+
+        long endTime = System.nanoTime();
+        long duration = (endTime - startTime) / 1_000_000;
+
+        System.out.println("Default values 100k x: " + duration + " ms");
+        assertTrue(duration < 200, "Default values should be faster than 0.2s");
+    }
+
+    @Test
+    @DisplayName("Columnar extraction performance (50 x 10k objects)")
+    void testColumnarExtractionPerformance() {
+        StringBuilder sb = new StringBuilder("{ items: [");
+        for (int i = 0; i < 10_000; i++) {
+            sb.append("{ name: \"item_").append(i).append("\", amount: ").append(i)
+                    .append(", weight: ").append(i).append(".5, rare: ").append(i % 2 == 0).append(" },");
+        }
+        JsonConfig config = new JsonConfig(sb.append("] }").toString());
+        ColumnSchema schema = new ColumnSchema()
+                .text("name")
+                .integer("amount", 0)
+                .decimal("weight", 0.0)
+                .bool("rare", false)
+                .integer("missing", -1);
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < 50; i++) {
+            Columns columns = config.columns("items", schema);
+            assertEquals(10_000, columns.size());
+        }
+
+        long endTime = System.nanoTime();
+        long duration = (endTime - startTime) / 1_000_000;
+
+        System.out.println("Columnar extraction 50 x 10k: " + duration + " ms");
+        assertTrue(duration < 1000, "Columnar extraction should be faster than 1s");
+    }
+
     private static String generateSmallConfig() {
         StringBuilder sb = new StringBuilder("{\n");
         for (int i = 0; i < 10; i++) {
@@ -323,4 +399,16 @@ public class JsonConfigPerformanceTest {
             }
             """;
     }
+
+    private static String generateExtremelyNestedConfig(int depth) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            sb.append("level: {\n");
+        }
+        sb.append("value: \"extremely_nested_value\"\n");
+        for (int i = 0; i < depth; i++) {
+            sb.append("}\n");
+        }
+        return sb.toString();
+    }
 }
@@ -6,7 +6,11 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.ConflictReport;
+import snake2d.util.file.json.JsonInterner;
+import snake2d.util.file.json.JsonSchema;
 import snake2d.util.file.json.JsonValue;
+import snake2d.util.file.json.exception.JsonSchemaException;
 import snake2d.util.sets.ArrayList;
 import snake2d.util.sets.LIST;
 
@@ -102,6 +106,51 @@ public class JsonConfigTest {
             assertEquals(20, config.integer("b")); // Overwritten from file2
             assertEquals(30, config.integer("c"));
         }
+
+        @Test
+        @DisplayName("Should validate file against schema")
+        void shouldValidateFileAgainstSchema() throws IOException {
+            Path file = tempDir.resolve("config.json");
+            Files.writeString(file, "{ a: \"text\", b: 2 }");
+            JsonSchema schema = JsonSchema.object()
+                    .required("a", JsonSchema.integer())
+                    .required("c", JsonSchema.text());
+
+            ConfigException e = assertThrows(ConfigException.class, () -> new JsonConfig(file, schema));
+
+            assertInstanceOf(JsonSchemaException.class, e.getCause());
+            assertEquals(2, ((JsonSchemaException) e.getCause()).getViolations().size());
+        }
+
+        @Test
+        @DisplayName("Should report keys written by multiple files")
+        void shouldReportConflictsOfMultipleFiles() throws IOException {
+            Path file1 = tempDir.resolve("config1.json");
+            Files.writeString(file1, "{ a: 1, b: 2 }");
+
+            Path file2 = tempDir.resolve("config2.json");
+            Files.writeString(file2, "{ b: 20, c: 30 }");
+
+            ConflictReport report = new ConflictReport();
+            JsonConfig config = new JsonConfig(new ArrayList<>(file1, file2), null, report);
+
+            assertEquals(20, config.integer("b"));
+            assertEquals(file2.toString(), report.getLayerName(1));
+            assertEquals(1, report.conflicts().size());
+            assertEquals(List.of("b"), report.conflicts().get(0).getPath());
+        }
+
+        @Test
+        @DisplayName("Should share identical nested configurations after interning")
+        void shouldShareInternedConfigurations() {
+            JsonInterner interner = new JsonInterner();
+            JsonConfig first = new JsonConfig("{ unit: { hp: 10 }, name: \"first\" }").intern(interner);
+            JsonConfig second = new JsonConfig("{ unit: { hp: 10 }, name: \"second\" }").intern(interner);
+
+            assertSame(first.json("unit").getRawJson(), second.json("unit").getRawJson());
+            assertEquals("second", second.text("name"));
+            assertTrue(first.getRawJson().isFrozen());
+        }
     }
 
     @Nested
@@ -193,6 +242,15 @@ public class JsonConfigTest {
             assertEquals("default", config.text("number", "default"));
         }
 
+        @Test
+        @DisplayName("Should describe missing key and invalid type in exception message")
+        void shouldDescribeErrorsInMessage() {
+            assertEquals("Key does not exist: nonexistent",
+                    assertThrows(ConfigException.class, () -> config.text("nonexistent")).getMessage());
+            assertEquals("Value under key 'number' is not a string",
+                    assertThrows(ConfigException.class, () -> config.text("number")).getMessage());
+        }
+
         @Test
         @DisplayName("Should return Optional.empty for non-existent key")
         void shouldReturnEmptyOptionalForNonExistentKey() {
@@ -389,6 +447,27 @@ public class JsonConfigTest {
             assertTrue(db.isPresent());
             assertEquals("localhost", db.get().text("host"));
         }
+
+        @Test
+        @DisplayName("Should return cached nested configuration of frozen configuration")
+        void shouldCacheNestedConfigOfFrozenConfig() {
+            config.getRawJson().freeze();
+
+            JsonConfig db = config.json("database");
+            assertSame(db, config.json("database"));
+            assertSame(db, config.jsonOpt("database").orElseThrow());
+            assertSame(db.json("credentials"), config.json("database").json("credentials"));
+        }
+
+        @Test
+        @DisplayName("Should create new nested configuration of modifiable configuration")
+        void shouldNotCacheNestedConfigOfModifiableConfig() {
+            JsonConfig db = config.json("database");
+            config.getRawJson().put("database", new JsonValue("replaced"));
+
+            assertEquals("localhost", db.text("host"));
+            assertThrows(ConfigException.class, () -> config.json("database"));
+        }
     }
 
     @Nested
@@ -457,6 +536,16 @@ public class JsonConfigTest {
             assertEquals("Item 2", items.get(1).text("name"));
         }
 
+        @Test
+        @DisplayName("Should return cached unmodifiable list of nested configurations of frozen configuration")
+        void shouldCacheJsonListOfFrozenConfig() {
+            config.getRawJson().freeze();
+
+            List<JsonConfig> items = config.jsonList("items");
+            assertSame(items, config.jsonList("items"));
+            assertThrows(UnsupportedOperationException.class, () -> items.add(items.get(0)));
+        }
+
         @Test
         @DisplayName("Should throw exception for mixed array as text list")
         void shouldThrowExceptionForMixedArrayAsTextList() {
@@ -0,0 +1,169 @@
+package snake2d.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.JsonIndex;
+import snake2d.util.file.json.exception.JsonParseException;
+import snake2d.util.sets.ArrayList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LazyJsonConfig Tests")
+public class LazyJsonConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("Loading Tests")
+    class LoadingTests {
+
+        @Test
+        @DisplayName("Should merge sections the same way as eager configuration")
+        void shouldMergeLikeEagerConfig() throws IOException {
+            Path base = write("base.json", "A: { x: \"a\", y: \"b\" }\nB: { x: \"c\" }\nC: { x: \"d\" }\nD: { l: [ 1, 2 ] }");
+            Path mod = write("mod.json", "A: { y: \"e\" }\n=B: { z: \"f\" }\n!C: {}\nD: { >l: [ 3 ] }\nE: { x: \"g\" }");
+            ArrayList<Path> paths = new ArrayList<>(base, mod);
+
+            JsonConfig eager = new JsonConfig(paths);
+            LazyJsonConfig lazy = new LazyJsonConfig(paths);
+
+            for (String key : Set.of("A", "B", "D", "E")) {
+                assertTrue(eager.json(key).getRawJson().deepEquals(lazy.json(key).getRawJson()), key);
+            }
+            assertFalse(lazy.has("C"));
+            assertFalse(eager.has("C"));
+            assertTrue(lazy.keys().contains("C"));
+        }
+
+        @Test
+        @DisplayName("Should let mods override translated keys and languages merge into shared layers")
+        void shouldKeepLayerOrderOfLanguages() throws IOException, JsonParseException {
+            JsonIndex data = JsonIndex.scan(write("data.json", "T: { a: \"a\", b: \"b\", c: \"c\", d: \"d\" }"));
+            JsonIndex de = JsonIndex.scan(write("de.json", "T: { a: \"a-de\", b: \"b-de\", !c: \"\", >d: \"-de\" }"));
+            JsonIndex fr = JsonIndex.scan(write("fr.json", "T: { a: \"a-fr\" }"));
+            JsonIndex mod = JsonIndex.scan(write("mod.json", "T: { a: \"a-mod\" }"));
+            JsonIndex modDe = JsonIndex.scan(write("mod-de.json", "T: { e: \"e-mod-de\" }"));
+
+            JsonConfig german = new LazyJsonConfig(List.of(data, de, mod, modDe)).json("T");
+            JsonConfig french = new LazyJsonConfig(List.of(data, fr, mod)).json("T");
+
+            assertEquals("a-mod", german.text("a"));
+            assertEquals("b-de", german.text("b"));
+            assertFalse(german.has("c"));
+            assertEquals("d-de", german.text("d"));
+            assertEquals("e-mod-de", german.text("e"));
+            assertEquals("a-mod", french.text("a"));
+            assertEquals("b", french.text("b"));
+            assertEquals("c", french.text("c"));
+        }
+
+        @Test
+        @DisplayName("Should load sections only on first access")
+        void shouldLoadOnFirstAccess() throws IOException {
+            Path base = write("base.json", "A: { x: 1 }\nB: { x: tru }");
+
+            LazyJsonConfig config = new LazyJsonConfig(new ArrayList<>(base));
+
+            assertEquals(0, config.loadedCount());
+            JsonConfig section = config.json("A");
+            assertSame(section, config.json("A"));
+            assertTrue(section.getRawJson().isFrozen());
+            assertEquals(1, config.loadedCount());
+            assertFalse(config.has("missing"));
+            assertEquals(1, config.loadedCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        @DisplayName("Should report errors of sections when they are loaded")
+        void shouldReportSectionErrors() throws IOException {
+            Path base = write("base.json", "A: { x: 1 }\nB: { x: tru }\nC: 5");
+
+            LazyJsonConfig config = new LazyJsonConfig(new ArrayList<>(base));
+
+            ConfigException parse = assertThrows(ConfigException.class, () -> config.json("B"));
+            ConfigException type = assertThrows(ConfigException.class, () -> config.json("C"));
+            ConfigException missing = assertThrows(ConfigException.class, () -> config.json("D"));
+            assertEquals("Error reading configuration file: " + base, parse.getMessage());
+            assertEquals("Value under key 'C' is not a JSON object", type.getMessage());
+            assertEquals("Key does not exist: D", missing.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should report malformed files when they are scanned")
+        void shouldReportMalformedFiles() throws IOException {
+            Path base = write("base.json", "A: { x: 1 ");
+
+            ConfigException e = assertThrows(ConfigException.class, () -> new LazyJsonConfig(new ArrayList<>(base)));
+
+            assertEquals("Error reading configuration file: " + base, e.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Compaction Tests")
+    class CompactionTests {
+
+        @Test
+        @DisplayName("Should release only sections which are not used")
+        void shouldReleaseUnusedSections() throws IOException {
+            Path base = write("base.json", "A: { x: \"a\" }\nB: { x: \"b\" }\nC: { x: \"c\" }");
+            LazyJsonConfig config = new LazyJsonConfig(new ArrayList<>(base));
+
+            JsonConfig a = config.json("A");
+            JsonConfig b = config.json("B");
+            config.use(config.id("A"));
+
+            assertEquals(1, config.compact());
+            assertEquals(Set.of("A"), config.loadedKeys());
+            assertSame(a, config.json("A"));
+            assertNotSame(b, config.json("B"));
+            assertTrue(b.getRawJson().deepEquals(config.json("B").getRawJson()));
+        }
+
+        @Test
+        @DisplayName("Should keep marks of used sections")
+        void shouldKeepMarks() throws IOException {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                content.append("S").append(i).append(": { x: \"").append(i).append("\" }\n");
+            }
+            Path base = write("base.json", content.toString());
+            LazyJsonConfig config = new LazyJsonConfig(new ArrayList<>(base));
+
+            config.use(config.id("S70"));
+            config.use(config.id("S70"));
+            config.use(config.id("missing"));
+
+            assertEquals(-1, config.id("missing"));
+            assertTrue(config.isUsed("S70"));
+            assertFalse(config.isUsed("S6"));
+            assertFalse(config.isUsed("missing"));
+            config.json("S70");
+            config.json("S6");
+            assertEquals(1, config.compact());
+            assertEquals(0, config.compact());
+            assertTrue(config.isUsed("S70"));
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.writeString(path, content);
+        return path;
+    }
+}
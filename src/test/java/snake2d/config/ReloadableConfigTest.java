@@ -0,0 +1,143 @@
+package snake2d.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snake2d.config.exception.ConfigException;
+import snake2d.util.sets.ArrayList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReloadableConfig Tests")
+public class ReloadableConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("Snapshot Tests")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should merge files into frozen snapshot")
+        void shouldMergeFilesIntoFrozenSnapshot() throws IOException {
+            Path base = write("base.json", "{ a: 1, b: { c: 2 } }");
+            Path mod = write("mod.json", "{ b: { d: 3 } }");
+
+            ReloadableConfig config = new ReloadableConfig(new ArrayList<>(base, mod));
+
+            assertEquals(1, config.get().integer("a"));
+            assertEquals(2, config.get().json("b").integer("c"));
+            assertEquals(3, config.get().json("b").integer("d"));
+            assertTrue(config.get().getRawJson().isFrozen());
+        }
+
+        @Test
+        @DisplayName("Should publish new snapshot after reload and keep previous one unchanged")
+        void shouldPublishNewSnapshot() throws IOException {
+            Path base = write("base.json", "{ a: 1, b: { c: 2 } }");
+            Path mod = write("mod.json", "{ b: { d: 3 } }");
+            ReloadableConfig config = new ReloadableConfig(new ArrayList<>(base, mod));
+            JsonConfig previous = config.get();
+
+            write("mod.json", "{ b: { c: 4 } }");
+            assertTrue(config.reload(List.of(mod)));
+
+            assertEquals(4, config.get().json("b").integer("c"));
+            assertFalse(config.get().json("b").has("d"));
+            assertEquals(2, previous.json("b").integer("c"));
+            assertEquals(3, previous.json("b").integer("d"));
+        }
+
+        @Test
+        @DisplayName("Should merge unchanged files again from their parsed content")
+        void shouldReuseUnchangedLayers() throws IOException {
+            Path base = write("base.json", "{ list: [ 1 ], b: { c: 2 } }");
+            Path mod = write("mod.json", "{ >list: [ 2 ], b: { >c: 1 } }");
+            ReloadableConfig config = new ReloadableConfig(new ArrayList<>(base, mod));
+
+            assertTrue(config.reload(List.of(mod)));
+            assertTrue(config.reload(List.of(mod)));
+
+            assertEquals(2, config.get().array("list").length);
+            assertEquals(3, config.get().json("b").integer("c"));
+        }
+
+        @Test
+        @DisplayName("Should keep snapshot when changed file can not be parsed")
+        void shouldKeepSnapshotOnError() throws IOException {
+            Path base = write("base.json", "{ a: 1 }");
+            ReloadableConfig config = new ReloadableConfig(new ArrayList<>(base));
+            JsonConfig previous = config.get();
+            List<Path> failed = new CopyOnWriteArrayList<>();
+            config.addListener(new ReloadableConfig.Listener() {
+                @Override
+                public void configChanged(JsonConfig previous, JsonConfig current) {
+                    fail("Snapshot should not change");
+                }
+
+                @Override
+                public void reloadFailed(Path path, Exception e) {
+                    failed.add(path);
+                }
+            });
+
+            write("base.json", "{ a: ");
+
+            assertFalse(config.reload());
+            assertSame(previous, config.get());
+            assertEquals(List.of(base.toAbsolutePath().normalize()), failed);
+        }
+
+        @Test
+        @DisplayName("Should throw exception for invalid file")
+        void shouldThrowExceptionForInvalidFile() throws IOException {
+            Path base = write("base.json", "{ a: ");
+
+            assertThrows(ConfigException.class, () -> new ReloadableConfig(new ArrayList<>(base)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Watching Tests")
+    class WatchingTests {
+
+        @Test
+        @DisplayName("Should reload changed file and notify listeners")
+        void shouldReloadChangedFile() throws IOException, InterruptedException {
+            Path base = write("base.json", "{ a: 1 }");
+            Path mod = write("mod.json", "{ b: 2 }");
+            CountDownLatch changed = new CountDownLatch(1);
+            List<JsonConfig> snapshots = new CopyOnWriteArrayList<>();
+
+            try (ReloadableConfig config = new ReloadableConfig(new ArrayList<>(base, mod), 10)) {
+                config.addListener((previous, current) -> {
+                    if (current.integer("b", 0) == 3) {
+                        snapshots.add(current);
+                        changed.countDown();
+                    }
+                });
+                config.start();
+
+                write("mod.json", "{ b: 3 }");
+
+                assertTrue(changed.await(10, TimeUnit.SECONDS));
+                assertSame(snapshots.get(0), config.get());
+                assertEquals(1, config.get().integer("a"));
+            }
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+}
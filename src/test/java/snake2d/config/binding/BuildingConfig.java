@@ -0,0 +1,13 @@
+package snake2d.config.binding;
+
+import java.util.List;
+
+@ConfigBinding
+public class BuildingConfig {
+    String name;
+    @ConfigKey(optional = true)
+    int workers = 2;
+    @ConfigKey(optional = true)
+    List<Integer> costs;
+    transient int cached = -1;
+}
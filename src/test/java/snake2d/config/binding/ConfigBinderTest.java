@@ -0,0 +1,185 @@
+package snake2d.config.binding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import snake2d.config.JsonConfig;
+import snake2d.config.exception.ConfigException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConfigBinder Tests")
+public class ConfigBinderTest {
+
+    private static final String RACE = "{ name: \"Human\", health: 100, speed: 1.5, playable: true, max-age: 80, kind: \"HUMAN\","
+            + " stats: { strength: 5, agility: 2.5 }, tags: [ \"a\", \"b\" ], unknown: 1 }";
+
+    @Nested
+    @DisplayName("Record Binding Tests")
+    class RecordBindingTests {
+
+        @Test
+        @DisplayName("Should bind all components of a record")
+        void shouldBindRecord() {
+            RaceConfig race = RaceConfigBinder.INSTANCE.bind(new JsonConfig(RACE));
+
+            assertEquals("Human", race.name());
+            assertEquals(100, race.health());
+            assertEquals(1.5, race.speed());
+            assertTrue(race.playable());
+            assertEquals(80L, race.maxAge());
+            assertNull(race.priority());
+            assertEquals(RaceConfig.Kind.HUMAN, race.kind());
+            assertEquals(new RaceConfig.Stats(5, 2.5f), race.stats());
+            assertEquals(List.of("a", "b"), race.tags());
+            assertNull(race.levels());
+        }
+
+        @Test
+        @DisplayName("Should bind nested lists and null values")
+        void shouldBindListsAndNulls() {
+            RaceConfig race = RaceConfigBinder.INSTANCE.bind(new JsonConfig("{ name: null, health: 1, speed: 2, playable: false,"
+                    + " max-age: 3, priority: 7, kind: \"BEAST\", stats: null, tags: [], levels: [ { strength: 1 }, { strength: 2, agility: 1 } ] }"));
+
+            assertNull(race.name());
+            assertEquals(2.0, race.speed());
+            assertEquals(7, race.priority());
+            assertNull(race.stats());
+            assertEquals(List.of(), race.tags());
+            assertEquals(List.of(new RaceConfig.Stats(1, 0f), new RaceConfig.Stats(2, 1f)), race.levels());
+        }
+
+        @Test
+        @DisplayName("Should bind lists of objects under a key")
+        void shouldBindList() {
+            JsonConfig config = new JsonConfig("{ stats: [ { strength: 1 }, { strength: 2 } ] }");
+
+            List<RaceConfig.Stats> stats = RaceConfig_StatsBinder.INSTANCE.bindList(config, "stats");
+
+            assertEquals(List.of(new RaceConfig.Stats(1, 0f), new RaceConfig.Stats(2, 0f)), stats);
+        }
+    }
+
+    @Nested
+    @DisplayName("Class Binding Tests")
+    class ClassBindingTests {
+
+        @Test
+        @DisplayName("Should keep initial values of missing optional fields")
+        void shouldKeepInitialValues() {
+            BuildingConfig building = BuildingConfigBinder.INSTANCE.bind(new JsonConfig("{ name: \"Farm\", cached: 5 }"));
+
+            assertEquals("Farm", building.name);
+            assertEquals(2, building.workers);
+            assertNull(building.costs);
+            assertEquals(-1, building.cached);
+        }
+
+        @Test
+        @DisplayName("Should bind fields of a class")
+        void shouldBindClass() {
+            BuildingConfig building = BuildingConfigBinder.INSTANCE.bind(new JsonConfig("{ name: \"Mine\", workers: 4, costs: [ 1, 2 ] }"));
+
+            assertEquals(4, building.workers);
+            assertEquals(List.of(1, 2), building.costs);
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        @DisplayName("Should report missing required keys")
+        void shouldReportMissingKey() {
+            ConfigException e = assertThrows(ConfigException.class,
+                    () -> RaceConfigBinder.INSTANCE.bind(new JsonConfig(RACE.replace("max-age: 80,", ""))));
+
+            assertEquals("Key does not exist: max-age", e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should report values of wrong types")
+        void shouldReportWrongTypes() {
+            ConfigException integer = assertThrows(ConfigException.class,
+                    () -> RaceConfigBinder.INSTANCE.bind(new JsonConfig(RACE.replace("health: 100", "health: 1.5"))));
+            ConfigException constant = assertThrows(ConfigException.class,
+                    () -> RaceConfigBinder.INSTANCE.bind(new JsonConfig(RACE.replace("kind: \"HUMAN\"", "kind: \"ELF\""))));
+            ConfigException element = assertThrows(ConfigException.class,
+                    () -> RaceConfigBinder.INSTANCE.bind(new JsonConfig(RACE.replace("\"b\"", "2"))));
+            ConfigException primitive = assertThrows(ConfigException.class,
+                    () -> RaceConfigBinder.INSTANCE.bind(new JsonConfig(RACE.replace("playable: true", "playable: null"))));
+
+            assertEquals("Value under key 'health' is not an integer", integer.getMessage());
+            assertEquals("Value under key 'kind' is not one of [HUMAN, BEAST]", constant.getMessage());
+            assertEquals("Array element under key 'tags' is not a string", element.getMessage());
+            assertEquals("Value under key 'playable' is not a boolean value", primitive.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Performance Tests")
+    class PerformanceTests {
+
+        @Test
+        @DisplayName("Binding performance (20k configs)")
+        void testBinderPerformance() {
+            List<JsonConfig> configs = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                configs.add(new JsonConfig(RACE.replace("health: 100", "health: " + i)));
+            }
+
+            long sum = 0;
+            for (int warmup = 0; warmup < 100; warmup++) {
+                sum += bindAll(configs) + readAll(configs);
+            }
+
+            // Best of several rounds, so that a single pause of the machine does not decide the result
+            long binderTime = Long.MAX_VALUE;
+            long accessorTime = Long.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < 20; i++) {
+                    sum += bindAll(configs);
+                }
+                binderTime = Math.min(binderTime, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                for (int i = 0; i < 20; i++) {
+                    sum += readAll(configs);
+                }
+                accessorTime = Math.min(accessorTime, System.nanoTime() - start);
+            }
+
+            System.out.println("Binding 20k x: binder " + binderTime / 1_000_000 + " ms, accessors " + accessorTime / 1_000_000 + " ms");
+            assertTrue(sum > 0);
+            assertTrue(binderTime / 1_000_000 < 1000, "Binding 20k configs should take less than 1s");
+        }
+
+        private long bindAll(List<JsonConfig> configs) {
+            long sum = 0;
+            for (JsonConfig config : configs) {
+                RaceConfig race = RaceConfigBinder.INSTANCE.bind(config);
+                sum += race.health() + race.stats().strength() + race.tags().size();
+            }
+            return sum;
+        }
+
+        private long readAll(List<JsonConfig> configs) {
+            long sum = 0;
+            for (JsonConfig config : configs) {
+                JsonConfig stats = config.json("stats");
+                RaceConfig race = new RaceConfig(config.text("name"), config.integer("health"), config.decimal("speed"),
+                        config.bool("playable"), config.integer("max-age"), config.integerOpt("priority").orElse(null),
+                        RaceConfig.Kind.valueOf(config.text("kind")),
+                        new RaceConfig.Stats(stats.integer("strength"), (float) stats.decimal("agility", 0)),
+                        config.textList("tags"), null);
+                sum += race.health() + race.stats().strength() + race.tags().size();
+            }
+            return sum;
+        }
+    }
+}
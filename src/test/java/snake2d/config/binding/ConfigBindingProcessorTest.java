@@ -0,0 +1,109 @@
+package snake2d.config.binding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConfigBindingProcessor Tests")
+public class ConfigBindingProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should generate binder in the package of the bound type")
+    void shouldGenerateBinder() throws Exception {
+        List<String> errors = compile("test.Unit", "package test;\n"
+                + "@snake2d.config.binding.ConfigBinding\n"
+                + "public record Unit(int size, @snake2d.config.binding.ConfigKey(\"unit-name\") String name) {}\n");
+
+        assertEquals(List.of(), errors);
+        String binder = Files.readString(tempDir.resolve("test/UnitBinder.java"));
+        assertTrue(binder.contains("public final class UnitBinder implements ConfigBinder<test.Unit>"));
+        assertTrue(binder.contains("case \"unit-name\":"));
+        assertTrue(Files.exists(tempDir.resolve("test/UnitBinder.class")));
+    }
+
+    @Test
+    @DisplayName("Should report fields which can not be bound")
+    void shouldReportInvalidFields() throws Exception {
+        List<String> errors = compile("test.Building", "package test;\n"
+                + "@snake2d.config.binding.ConfigBinding\n"
+                + "public class Building {\n"
+                + "    private int size;\n"
+                + "    final String name = \"\";\n"
+                + "    Object data;\n"
+                + "    java.util.List<Object> items;\n"
+                + "    int workers;\n"
+                + "    @snake2d.config.binding.ConfigKey(\"workers\") int staff;\n"
+                + "}\n");
+
+        assertEquals(List.of(
+                "Bound field must not be private or final",
+                "Bound field must not be private or final",
+                "Unsupported type of bound field: java.lang.Object",
+                "Unsupported type of bound field: java.util.List<java.lang.Object>",
+                "Duplicate key 'workers'"
+        ), errors);
+    }
+
+    @Test
+    @DisplayName("Should report types which can not be bound")
+    void shouldReportInvalidTypes() throws Exception {
+        List<String> errors = compile("test.Outer", "package test;\n"
+                + "public class Outer {\n"
+                + "    @snake2d.config.binding.ConfigBinding interface Api {}\n"
+                + "    @snake2d.config.binding.ConfigBinding class Inner {}\n"
+                + "    @snake2d.config.binding.ConfigBinding static class NoConstructor { NoConstructor(int a) {} }\n"
+                + "    @snake2d.config.binding.ConfigBinding record Generic<T>(int a) {}\n"
+                + "}\n");
+
+        assertEquals(List.of(
+                "@ConfigBinding can be used only on records and classes",
+                "Bound nested class must be static",
+                "Bound class needs a non-private constructor without parameters",
+                "Generic types can not be bound"
+        ), errors);
+    }
+
+    private List<String> compile(String name, String source) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        // Annotations and the runtime classes used by generated binders are compiled into the same directory
+        String classPath = new File(ConfigBinding.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        List<String> options = List.of("-classpath", classPath, "-d", tempDir.toString(), "-s", tempDir.toString(), "-implicit:none");
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, List.of(file));
+        task.setProcessors(List.of(new ConfigBindingProcessor()));
+        task.call();
+
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        return errors;
+    }
+}
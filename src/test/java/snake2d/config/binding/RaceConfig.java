@@ -0,0 +1,26 @@
+package snake2d.config.binding;
+
+import java.util.List;
+
+@ConfigBinding
+public record RaceConfig(
+        String name,
+        int health,
+        double speed,
+        boolean playable,
+        @ConfigKey("max-age") long maxAge,
+        @ConfigKey(optional = true) Integer priority,
+        Kind kind,
+        Stats stats,
+        List<String> tags,
+        @ConfigKey(optional = true) List<Stats> levels
+) {
+
+    public enum Kind {
+        HUMAN, BEAST
+    }
+
+    @ConfigBinding
+    public record Stats(int strength, @ConfigKey(optional = true) float agility) {
+    }
+}
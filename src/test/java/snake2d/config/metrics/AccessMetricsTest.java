@@ -0,0 +1,163 @@
+package snake2d.config.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snake2d.config.JsonConfig;
+import snake2d.util.sets.ArrayList;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccessMetrics Tests")
+public class AccessMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        AccessMetrics.uninstall();
+        JsonConfig.setAccessListenerFactory(null);
+    }
+
+    @Nested
+    @DisplayName("Access Metrics Tests")
+    class AccessCountersTests {
+
+        @Test
+        @DisplayName("Should count lookups, misses, defaults and type mismatches")
+        void shouldCountAccesses() {
+            AccessMetrics metrics = new AccessMetrics(1);
+            JsonConfig.setAccessListenerFactory(metrics);
+            JsonConfig config = new JsonConfig("{ a: 1, b: \"text\", c: { d: 2 } }");
+
+            assertEquals(1, config.integer("a"));
+            assertEquals(5, config.integer("missing", 5));
+            assertEquals(7, config.integer("b", 7));
+            assertTrue(config.textOpt("a").isEmpty());
+            assertThrows(RuntimeException.class, () -> config.bool("b"));
+            assertEquals(2, config.json("c").integer("d"));
+
+            AccessMetrics.ConfigStats stats = metrics.getConfig("content string");
+            assertEquals(7, stats.getLookups());
+            assertEquals(1, stats.getMisses());
+            assertEquals(2, stats.getDefaults());
+            assertEquals(3, stats.getTypeMismatches());
+            assertEquals(7, metrics.getLookupCount());
+            assertEquals(3, metrics.getTypeMismatchCount());
+        }
+
+        @Test
+        @DisplayName("Should report hot keys with paths of nested keys")
+        void shouldReportHotKeys() {
+            AccessMetrics metrics = new AccessMetrics(1);
+            JsonConfig.setAccessListenerFactory(metrics);
+            JsonConfig config = new JsonConfig("{ a: 1, c: { d: 2 } }");
+
+            for (int i = 0; i < 3; i++) {
+                config.integer("a");
+            }
+            config.json("c").integer("d");
+
+            List<AccessMetrics.HotKey> keys = metrics.getConfig("content string").getHotKeys(10);
+            assertEquals("a", keys.get(0).getKey());
+            assertEquals(3, keys.get(0).getEstimate());
+            assertEquals(List.of("a", "c", "c.d"), keys.stream().map(AccessMetrics.HotKey::getKey).toList());
+            assertEquals("content string: a ~3", metrics.getHotKeys()[0]);
+            assertTrue(metrics.dump().contains("c.d ~1"));
+        }
+
+        @Test
+        @DisplayName("Should scale sampled keys by the sample rate")
+        void shouldScaleSampledKeys() {
+            AccessMetrics metrics = new AccessMetrics(8);
+            JsonConfig.setAccessListenerFactory(metrics);
+            JsonConfig config = new JsonConfig("{ a: 1 }");
+
+            for (int i = 0; i < 8000; i++) {
+                config.integer("a");
+            }
+
+            AccessMetrics.HotKey key = metrics.getConfig("content string").getHotKeys(1).get(0);
+            assertEquals(0, key.getEstimate() % 8);
+            assertTrue(key.getEstimate() > 4000 && key.getEstimate() < 16000, "estimate " + key.getEstimate());
+        }
+
+        @Test
+        @DisplayName("Should name merged configurations by their first file")
+        void shouldNameMergedConfigurations() throws IOException {
+            Path base = tempDir.resolve("base.json");
+            Files.writeString(base, "{ a: 1 }");
+            Path mod = tempDir.resolve("mod.json");
+            Files.writeString(mod, "{ b: 2 }");
+
+            AccessMetrics metrics = new AccessMetrics(1);
+            JsonConfig.setAccessListenerFactory(metrics);
+            new JsonConfig(new ArrayList<>(base, mod)).integer("b");
+
+            assertEquals(1, metrics.getConfig(base + " (+1)").getLookups());
+        }
+
+        @Test
+        @DisplayName("Should not measure configurations created without a factory")
+        void shouldNotMeasureWithoutFactory() {
+            AccessMetrics metrics = new AccessMetrics(1);
+            JsonConfig config = new JsonConfig("{ a: 1 }");
+            JsonConfig.setAccessListenerFactory(metrics);
+
+            config.integer("a");
+
+            assertNull(metrics.getConfig("content string"));
+            assertEquals(0, metrics.getLookupCount());
+        }
+
+        @Test
+        @DisplayName("Should reset collected metrics")
+        void shouldResetMetrics() {
+            AccessMetrics metrics = new AccessMetrics(1);
+            JsonConfig.setAccessListenerFactory(metrics);
+            JsonConfig config = new JsonConfig("{ a: 1 }");
+            config.integer("a");
+
+            metrics.reset();
+
+            assertEquals(0, metrics.getLookupCount());
+            assertTrue(metrics.getConfig("content string").getHotKeys(10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Installation Tests")
+    class InstallationTests {
+
+        @Test
+        @DisplayName("Should install metrics as default listener factory and MBean")
+        void shouldInstallMetrics() throws Exception {
+            AccessMetrics metrics = AccessMetrics.install();
+            new JsonConfig("{ a: 1 }").integer("missing", 0);
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(AccessMetrics.OBJECT_NAME);
+            assertSame(metrics, JsonConfig.getAccessListenerFactory());
+            assertSame(metrics, AccessMetrics.install());
+            assertEquals(1L, server.getAttribute(name, "LookupCount"));
+            assertEquals(1L, server.getAttribute(name, "MissCount"));
+            assertEquals(1L, server.getAttribute(name, "DefaultCount"));
+
+            AccessMetrics.uninstall();
+
+            assertNull(JsonConfig.getAccessListenerFactory());
+            assertFalse(server.isRegistered(name));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package snake2d.config.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snake2d.config.JsonConfig;
+import snake2d.util.file.json.MergeStrategy;
+import snake2d.util.sets.ArrayList;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MergeMetrics Tests")
+public class MergeMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        MergeMetrics.uninstall();
+    }
+
+    @Nested
+    @DisplayName("Layer Metrics Tests")
+    class LayerMetricsTests {
+
+        @Test
+        @DisplayName("Should collect parse and merge metrics of every layer")
+        void shouldCollectLayerMetrics() throws IOException {
+            Path base = tempDir.resolve("base.json");
+            Files.writeString(base, "{ a: 1, b: \"text\", c: [ 1, 2 ], d: true, f: 1 }");
+            Path mod = tempDir.resolve("mod.json");
+            Files.writeString(mod, "{ >a: 2, <b: \"pre\", #c: [ #, 3 ], d: 0, !f: 0, e: 5 }");
+
+            MergeMetrics metrics = new MergeMetrics();
+            JsonConfig config = new JsonConfig(new ArrayList<>(base, mod), metrics);
+
+            assertEquals(3, config.integer("a"));
+            assertFalse(config.has("f"));
+            assertEquals("pretext", config.text("b"));
+            assertEquals(2, metrics.getLayerCount());
+            assertEquals(Files.size(base) + Files.size(mod), metrics.getBytesParsed());
+
+            MergeMetrics.LayerStats baseStats = metrics.getLayer(base.toString());
+            assertEquals(1, baseStats.getLoads());
+            assertEquals(5, baseStats.getAddedCount());
+            assertEquals(0, baseStats.getCount(MergeStrategy.REPLACE));
+
+            MergeMetrics.LayerStats modStats = metrics.getLayer(mod.toString());
+            assertEquals(Files.size(mod), modStats.getBytes());
+            assertEquals(1, modStats.getAddedCount());
+            assertEquals(1, modStats.getCount(MergeStrategy.APPEND));
+            assertEquals(1, modStats.getCount(MergeStrategy.PREPEND));
+            assertEquals(2, modStats.getCount(MergeStrategy.OVERLAY));
+            assertEquals(1, modStats.getCount(MergeStrategy.REPLACE));
+            assertEquals(1, modStats.getCount(MergeStrategy.DELETE));
+            assertEquals(1, modStats.getTypeMismatchCount());
+
+            assertEquals(6, metrics.getAddedCount());
+            assertEquals(1, metrics.getDeleteCount());
+            assertEquals(1, metrics.getTypeMismatchCount());
+            assertEquals(2, metrics.getLayers().length);
+        }
+
+        @Test
+        @DisplayName("Should reset collected metrics")
+        void shouldResetMetrics() throws IOException {
+            Path file = tempDir.resolve("config.json");
+            Files.writeString(file, "{ a: 1 }");
+
+            MergeMetrics metrics = new MergeMetrics();
+            new JsonConfig(new ArrayList<>(file, file), metrics);
+            assertEquals(2, metrics.getLayer(file.toString()).getLoads());
+
+            metrics.reset();
+
+            assertEquals(0, metrics.getLayerCount());
+            assertEquals(0, metrics.getReplaceCount());
+            assertNull(metrics.getLayer(file.toString()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Installation Tests")
+    class InstallationTests {
+
+        @Test
+        @DisplayName("Should install metrics as default listener and MBean")
+        void shouldInstallMetrics() throws Exception {
+            Path file = tempDir.resolve("config.json");
+            Files.writeString(file, "{ a: 1 }");
+
+            MergeMetrics metrics = MergeMetrics.install();
+            new JsonConfig(new ArrayList<>(file));
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MergeMetrics.OBJECT_NAME);
+            assertSame(metrics, JsonConfig.getMergeListener());
+            assertSame(metrics, MergeMetrics.install());
+            assertEquals(1L, server.getAttribute(name, "LayerCount"));
+            assertEquals(1L, server.getAttribute(name, "AddedCount"));
+
+            MergeMetrics.uninstall();
+
+            assertNull(JsonConfig.getMergeListener());
+            assertFalse(server.isRegistered(name));
+        }
+    }
+}
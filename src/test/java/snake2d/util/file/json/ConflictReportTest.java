@@ -0,0 +1,155 @@
+package snake2d.util.file.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConflictReport Tests")
+public class ConflictReportTest {
+
+    @Nested
+    @DisplayName("Key Layers Tests")
+    class KeyLayersTests {
+
+        @Test
+        @DisplayName("Should record layers writing top-level keys")
+        void shouldRecordTopLevelKeys() throws JsonParseException {
+            ConflictReport report = new ConflictReport();
+            JsonMerger.merge(parse(
+                    "{ a: 1, b: 2 }",
+                    "{ >a: 2 }",
+                    "{ c: 3, !b: 0 }"
+            ), report);
+
+            assertEquals(3, report.getLayerCount());
+            assertEquals(bits(0, 1), report.layers("a"));
+            assertEquals(bits(0, 2), report.layers("b"));
+            assertEquals(bits(2), report.layers("c"));
+            assertEquals(bits(), report.layers("d"));
+        }
+
+        @Test
+        @DisplayName("Should record nested keys of merged objects")
+        void shouldRecordNestedKeys() throws JsonParseException {
+            ConflictReport report = new ConflictReport();
+            JsonMerger.merge(parse(
+                    "{ a: { b: { c: 1, d: 2 } } }",
+                    "{ a: { b: { c: 3 } } }",
+                    "{ a: { e: 4 } }"
+            ), report);
+
+            assertEquals(bits(0, 1, 2), report.layers("a"));
+            assertEquals(bits(0, 1), report.layers("a", "b"));
+            assertEquals(bits(0, 1), report.layers("a", "b", "c"));
+            assertEquals(bits(0), report.layers("a", "b", "d"));
+            assertEquals(bits(2), report.layers("a", "e"));
+        }
+
+        @Test
+        @DisplayName("Should record only own key of replaced and deleted values")
+        void shouldRecordReplacedAndDeletedValues() throws JsonParseException {
+            ConflictReport report = new ConflictReport();
+            JsonMerger.merge(parse(
+                    "{ a: { b: 1 } }",
+                    "{ a: \"replaced\" }",
+                    "{ !a: 0 }",
+                    "{ a: { b: 2 } }"
+            ), report);
+
+            assertEquals(bits(0, 1, 2, 3), report.layers("a"));
+            assertEquals(bits(0, 3), report.layers("a", "b"));
+            assertEquals(bits(), report.layers("a", "b", "c"));
+        }
+
+        @Test
+        @DisplayName("Should treat arrays as single values")
+        void shouldTreatArraysAsValues() throws JsonParseException {
+            ConflictReport report = new ConflictReport();
+            JsonMerger.merge(parse(
+                    "{ a: [ { b: 1 }, 2 ] }",
+                    "{ #a: [ { b: 2 }, # ] }"
+            ), report);
+
+            assertEquals(bits(0, 1), report.layers("a"));
+            assertEquals(bits(), report.layers("a", "b"));
+            assertEquals(1, report.conflicts().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conflicts Tests")
+    class ConflictsTests {
+
+        @Test
+        @DisplayName("Should list keys written by more than one layer")
+        void shouldListConflicts() throws JsonParseException {
+            ConflictReport report = new ConflictReport();
+            JsonMerger.merge(parse(
+                    "{ a: { b: 1, c: 2 }, d: 3 }",
+                    "{ a: { c: 4 }, e: 5 }",
+                    "{ d: 6, e: 7 }"
+            ), report);
+
+            List<String> conflicts = new ArrayList<>();
+            for (ConflictReport.Conflict conflict : report.conflicts()) {
+                conflicts.add(conflict.toString());
+            }
+
+            assertEquals(List.of("a {0, 1}", "a.c {0, 1}", "d {0, 2}", "e {1, 2}"), conflicts);
+        }
+
+        @Test
+        @DisplayName("Should list keys overlapping between two layers")
+        void shouldListOverlaps() throws JsonParseException {
+            ConflictReport report = new ConflictReport();
+            JsonMerger.merge(parse(
+                    "{ a: { b: 1, c: 2 }, d: 3 }",
+                    "{ a: { c: 4 }, e: 5 }",
+                    "{ d: 6, e: 7 }"
+            ), report);
+
+            assertEquals(List.of(List.of("a"), List.of("a", "c")), report.overlaps(0, 1));
+            assertEquals(List.of(List.of("d")), report.overlaps(0, 2));
+            assertEquals(List.of(List.of("e")), report.overlaps(1, 2));
+        }
+
+        @Test
+        @DisplayName("Should record more than 64 layers")
+        void shouldRecordManyLayers() throws JsonParseException {
+            List<String> contents = new ArrayList<>();
+            for (int i = 0; i < 130; i++) {
+                contents.add(i % 2 == 0 ? "{ a: " + i + " }" : "{ b: " + i + " }");
+            }
+
+            ConflictReport report = new ConflictReport();
+            JsonMerger.merge(parse(contents.toArray(new String[0])), report);
+
+            assertEquals(65, report.layers("a").cardinality());
+            assertTrue(report.layers("a").get(128));
+            assertEquals(List.of(List.of("b")), report.overlaps(1, 129));
+        }
+    }
+
+    private static List<Json> parse(String... contents) throws JsonParseException {
+        List<Json> jsons = new ArrayList<>();
+        for (String content : contents) {
+            jsons.add(new JsonParser().parse(content));
+        }
+        return jsons;
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,106 @@
+package snake2d.util.file.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonBundle Tests")
+public class JsonBundleTest {
+
+    private static final String CONTENT = "a.A: { text: \"zażółć \\\"x\\\"\", int: -7, double: 2.5, yes: true, no: false, none: null },\n"
+            + "=b.B: { <list: [ 1, \"two\", [ 3 ], { four: 4 } ], #overlay: [ #, 5 ], keyed: [ k: 1, k2: { x: 1 } ] },\n"
+            + "!c: {},\n"
+            + "d: 5";
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("Round Trip Tests")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should decode the same document as parsed")
+        void shouldDecodeSameDocument() throws Exception {
+            Json json = new JsonParser().parse(CONTENT);
+
+            JsonBundle bundle = JsonBundle.open(write(json, 42));
+
+            assertTrue(json.deepEquals(bundle.toJson()));
+            assertEquals(42, bundle.getStamp());
+            assertEquals(List.of("a.A", "b.B", "c", "d"), List.copyOf(bundle.keys()));
+        }
+
+        @Test
+        @DisplayName("Should decode single entries with merge strategies of keys")
+        void shouldDecodeEntries() throws Exception {
+            Json json = new JsonParser().parse(CONTENT);
+            JsonBundle bundle = JsonBundle.open(write(json, 0));
+            JsonIndex index = JsonIndex.scan(CONTENT);
+
+            for (String key : index.keys()) {
+                assertTrue(index.parse(key).deepEquals(bundle.parse(key)), key);
+            }
+            assertEquals(MergeStrategy.REPLACE, bundle.parse("b.B").keySet().iterator().next().getMergeStrategy());
+            assertNull(bundle.parse("missing"));
+        }
+
+        @Test
+        @DisplayName("Should keep deeply nested values")
+        void shouldKeepDeepNesting() throws Exception {
+            StringBuilder sb = new StringBuilder("a: ");
+            for (int i = 0; i < 10000; i++) {
+                sb.append(i % 2 == 0 ? "{ k: " : "[ ");
+            }
+            sb.append("1");
+            for (int i = 9999; i >= 0; i--) {
+                sb.append(i % 2 == 0 ? " }" : " ]");
+            }
+            Json json = new JsonParser().parse(sb.toString());
+
+            assertTrue(json.deepEquals(JsonBundle.open(write(json, 0)).toJson()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        @DisplayName("Should reject files which are not bundles")
+        void shouldRejectOtherFiles() throws IOException {
+            Path text = tempDir.resolve("Dic.txt");
+            Files.writeString(text, CONTENT);
+
+            IOException e = assertThrows(IOException.class, () -> JsonBundle.open(text));
+            assertEquals("Not a JSON bundle: " + text, e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should reject truncated bundles")
+        void shouldRejectTruncatedBundles() throws IOException, JsonParseException {
+            Path path = write(new JsonParser().parse(CONTENT), 0);
+            byte[] bytes = Files.readAllBytes(path);
+            Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+            IOException e = assertThrows(IOException.class, () -> JsonBundle.open(path));
+            assertEquals("Truncated JSON bundle: " + path, e.getMessage());
+        }
+    }
+
+    private Path write(Json json, long stamp) throws IOException {
+        Path path = tempDir.resolve("bundle.dic");
+        JsonBundle.write(json, path, stamp);
+        return path;
+    }
+}
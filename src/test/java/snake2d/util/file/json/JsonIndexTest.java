@@ -0,0 +1,118 @@
+package snake2d.util.file.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonIndex Tests")
+public class JsonIndexTest {
+
+    private static final String CONTENT = "** dictionary\n"
+            + "a.A: { x: \"}\\\"{\", y: [ 1, { z: \"]\" } ] },\n"
+            + "=b.B: { ** comment }\n"
+            + "  x: 1 }\n"
+            + "c: 5 ** trailing\n"
+            + "d: -1.5e3, e: true\n"
+            + "f: [ \"a\" ]";
+
+    @Nested
+    @DisplayName("Scan Tests")
+    class ScanTests {
+
+        @Test
+        @DisplayName("Should index top-level keys in document order")
+        void shouldIndexKeys() throws JsonParseException {
+            JsonIndex index = JsonIndex.scan(CONTENT);
+
+            assertEquals(List.of("a.A", "b.B", "c", "d", "e", "f"), List.copyOf(index.keys()));
+            assertTrue(index.containsKey("b.B"));
+            assertFalse(index.containsKey("x"));
+            assertEquals(6, index.size());
+        }
+
+        @Test
+        @DisplayName("Should index documents with root brackets")
+        void shouldIndexRootBrackets() throws JsonParseException {
+            JsonIndex index = JsonIndex.scan("{ a: { b: 1 }, c: 2, }");
+
+            assertEquals(List.of("a", "c"), List.copyOf(index.keys()));
+            assertEquals(2, index.parse("c").get("c").getValue());
+        }
+
+        @Test
+        @DisplayName("Should report malformed structure")
+        void shouldReportMalformedStructure() {
+            assertThrows(JsonParseException.class, () -> JsonIndex.scan("a: { b: 1 "));
+            assertThrows(JsonParseException.class, () -> JsonIndex.scan("a: \"text"));
+            assertThrows(JsonParseException.class, () -> JsonIndex.scan("a 1"));
+            assertThrows(JsonParseException.class, () -> JsonIndex.scan("{ a: 1 } b"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parse Tests")
+    class ParseTests {
+
+        @Test
+        @DisplayName("Should parse entries equal to the whole document")
+        void shouldParseEntries() throws JsonParseException {
+            Json whole = new JsonParser().parse(CONTENT);
+            JsonIndex index = JsonIndex.scan(CONTENT);
+
+            for (JsonKey key : whole.keySet()) {
+                Json entry = index.parse(key.getKey());
+                assertTrue(entryOf(whole, key.getKey()).deepEquals(entry), key.getKey());
+            }
+            assertNull(index.parse("missing"));
+        }
+
+        @Test
+        @DisplayName("Should keep merge strategy of keys")
+        void shouldKeepMergeStrategy() throws JsonParseException {
+            Json entry = JsonIndex.scan(CONTENT).parse("b.B");
+
+            assertEquals(MergeStrategy.REPLACE, entry.keySet().iterator().next().getMergeStrategy());
+        }
+
+        @Test
+        @DisplayName("Should parse repeated keys like the whole document")
+        void shouldParseRepeatedKeys() throws JsonParseException {
+            String content = "a: { x: 1 }\nb: 2\na: { y: 2 }";
+
+            assertTrue(entryOf(new JsonParser().parse(content), "a").deepEquals(JsonIndex.scan(content).parse("a")));
+        }
+
+        @Test
+        @DisplayName("Should report errors with positions in the document")
+        void shouldReportErrorPositions() throws JsonParseException {
+            JsonIndex index = JsonIndex.scan("a: 1\nb: { x: 1,\n  y: tru }");
+
+            JsonParseException e = assertThrows(JsonParseException.class, () -> index.parse("b"));
+            assertEquals(1, index.parse("a").get("a").getValue());
+            assertEquals(3, rootCause(e).getLine());
+        }
+
+        private Json entryOf(Json json, String key) {
+            Json entry = new Json();
+            for (JsonKey jsonKey : json.keySet()) {
+                if (jsonKey.getKey().equals(key)) {
+                    entry.put(jsonKey, json.get(jsonKey));
+                }
+            }
+            return entry;
+        }
+
+        private JsonParseException rootCause(JsonParseException e) {
+            Throwable cause = e;
+            while (cause.getCause() instanceof JsonParseException) {
+                cause = cause.getCause();
+            }
+            return (JsonParseException) cause;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package snake2d.util.file.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonInterner Tests")
+public class JsonInternerTest {
+
+    @Nested
+    @DisplayName("Sharing Tests")
+    class SharingTests {
+
+        @Test
+        @DisplayName("Should share identical subtrees between interned objects")
+        void shouldShareIdenticalSubtrees() throws JsonParseException {
+            JsonInterner interner = new JsonInterner();
+            Json first = interner.intern(parse("{ unit: { hp: 10, tags: [ \"a\", \"b\" ] }, name: \"first\" }"));
+            Json second = interner.intern(parse("{ unit: { hp: 10, tags: [ \"a\", \"b\" ] }, name: \"second\" }"));
+
+            assertNotSame(first, second);
+            assertSame(first.get("unit").asJson(), second.get("unit").asJson());
+            assertSame(first.get("unit"), second.get("unit"));
+        }
+
+        @Test
+        @DisplayName("Should share identical subtrees within one object")
+        void shouldShareSubtreesWithinObject() throws JsonParseException {
+            JsonInterner interner = new JsonInterner();
+            Json json = interner.intern(parse("{ a: { x: [ 1, 2 ] }, b: { x: [ 1, 2 ] }, c: [ 1, 2 ] }"));
+
+            assertSame(json.get("a").asJson(), json.get("b").asJson());
+            assertSame(json.get("a").asJson().get("x"), json.get("c"));
+        }
+
+        @Test
+        @DisplayName("Should return the same instance for equal objects")
+        void shouldReturnCanonicalInstance() throws JsonParseException {
+            JsonInterner interner = new JsonInterner();
+            Json first = interner.intern(parse("{ a: 1, b: [ { c: 2 } ] }"));
+            Json second = interner.intern(parse("{ a: 1, b: [ { c: 2 } ] }"));
+
+            assertSame(first, second);
+            assertTrue(first.isFrozen());
+        }
+
+        @Test
+        @DisplayName("Should not share subtrees differing in keys, their order or merge strategies")
+        void shouldKeepDifferentSubtrees() throws JsonParseException {
+            JsonInterner interner = new JsonInterner();
+            Json json = interner.intern(parse("{ a: { x: 1, y: 2 }, b: { y: 2, x: 1 }, c: { >x: 1, y: 2 }, d: [ K: 1 ], e: [ L: 1 ], f: [ 1 ] }"));
+
+            assertNotSame(json.get("a").asJson(), json.get("b").asJson());
+            assertNotSame(json.get("a").asJson(), json.get("c").asJson());
+            assertNotSame(json.get("d"), json.get("e"));
+            assertNotSame(json.get("d"), json.get("f"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Content Tests")
+    class ContentTests {
+
+        @Test
+        @DisplayName("Should keep content of interned object")
+        void shouldKeepContent() throws JsonParseException {
+            String content = "{ a: 1, b: 2.5, c: \"text\", d: null, e: true, f: [ 1, [ 2, 3 ], { g: 4 } ], h: { i: { j: 5 } } }";
+            Json json = interner().intern(parse(content));
+
+            assertTrue(json.deepEquals(parse(content)));
+            assertEquals(parse(content).structuralHash(), json.structuralHash());
+        }
+
+        @Test
+        @DisplayName("Should intern deeply nested objects")
+        void shouldInternDeeplyNestedObjects() throws JsonParseException {
+            int depth = 100_000;
+            String content = "{" + "a: {".repeat(depth) + "b: 1" + "}".repeat(depth) + "}";
+            JsonInterner interner = new JsonInterner();
+
+            Json first = interner.intern(parse(content));
+            Json second = interner.intern(parse(content));
+
+            assertSame(first, second);
+            assertTrue(first.deepEquals(parse(content)));
+        }
+
+        @Test
+        @DisplayName("Should reject modification of interned object")
+        void shouldRejectModification() throws JsonParseException {
+            Json json = interner().intern(parse("{ a: { b: 1 } }"));
+
+            assertThrows(IllegalStateException.class, () -> json.put("c", new JsonValue(2)));
+            assertThrows(IllegalStateException.class, () -> json.get("a").asJson().clear());
+        }
+    }
+
+    private static JsonInterner interner() {
+        return new JsonInterner();
+    }
+
+    private static Json parse(String content) throws JsonParseException {
+        return new JsonParser().parse(content);
+    }
+}
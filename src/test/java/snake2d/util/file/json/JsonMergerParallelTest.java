@@ -0,0 +1,226 @@
+package snake2d.util.file.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonMerger Parallel Merge Tests")
+public class JsonMergerParallelTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Nested
+    @DisplayName("Composition Tests")
+    class CompositionTests {
+
+        @Test
+        @DisplayName("Should concatenate appended and prepended values of composed layers")
+        void shouldConcatenateAppendedValues() throws JsonParseException {
+            List<String> layers = List.of(
+                    "{ text: \"b\", number: 1, list: [ 2 ] }",
+                    "{ >text: \"c\", >number: 2, >list: [ 3 ] }",
+                    "{ >text: \"d\", >number: 3, >list: [ 4 ] }",
+                    "{ <text: \"a\", <list: [ 1 ] }",
+                    "{ <list: [ 0 ] }"
+            );
+
+            Json result = JsonMerger.parallelMerge(parse(layers));
+
+            assertEquals("abcd", result.get("text").asString());
+            assertEquals(6, result.get("number").asInteger());
+            assertEquals(5, result.get("list").asArray().length);
+            assertEquals(describe(JsonMerger.merge(parse(layers))), describe(result));
+        }
+
+        @Test
+        @DisplayName("Should shadow values of earlier layers with DELETE and REPLACE")
+        void shouldShadowDeletedAndReplacedValues() throws JsonParseException {
+            List<String> layers = List.of(
+                    "{ a: 1, b: { c: 1, d: 2 }, e: [ 1 ] }",
+                    "{ >a: 2, b: { c: 3 }, =e: [ 2 ] }",
+                    "{ !a: 0, b: { d: 4 } }",
+                    "{ f: 1 }",
+                    "{ !f: 0, =b: \"replaced\" }"
+            );
+
+            Json result = JsonMerger.parallelMerge(parse(layers));
+
+            assertFalse(result.containsKey("a"));
+            assertFalse(result.containsKey("f"));
+            assertEquals("replaced", result.get("b").asString());
+            assertEquals(describe(JsonMerger.merge(parse(layers))), describe(result));
+        }
+
+        @Test
+        @DisplayName("Should keep order of keys deleted and added again")
+        void shouldKeepOrderOfReaddedKeys() throws JsonParseException {
+            List<String> layers = List.of(
+                    "{ a: 1, b: 2, c: 3 }",
+                    "{ !a: 0 }",
+                    "{ a: 4 }",
+                    "{ b: 5 }"
+            );
+
+            Json result = JsonMerger.parallelMerge(parse(layers));
+
+            assertEquals(List.of("b", "c", "a"), result.keySet().stream().map(JsonKey::getKey).toList());
+            assertEquals(describe(JsonMerger.merge(parse(layers))), describe(result));
+        }
+
+        @Test
+        @DisplayName("Should merge layers nested deeper than composition limit")
+        void shouldMergeDeeplyNestedLayers() throws JsonParseException {
+            String deep = "level: {".repeat(1000) + "value: 1" + "}".repeat(1000);
+            String deeper = "level: {".repeat(1000) + ">value: 2" + "}".repeat(1000);
+            List<String> layers = List.of(deep, deeper, deeper, deeper);
+
+            Json result = JsonMerger.parallelMerge(parse(layers));
+
+            for (int i = 0; i < 1000; i++) {
+                result = result.get("level").asJson();
+            }
+            assertEquals(7, result.get("value").asInteger());
+        }
+    }
+
+    @Nested
+    @DisplayName("Differential Tests")
+    class DifferentialTests {
+
+        @ParameterizedTest(name = "seed {0}")
+        @MethodSource("seeds")
+        @DisplayName("Should give the same result as sequential merge")
+        void shouldGiveSameResultAsSequentialMerge(long seed) throws JsonParseException {
+            List<String> layers = new LayerGenerator(seed).layers();
+
+            String expected;
+            try {
+                expected = describe(JsonMerger.merge(parse(layers)));
+            } catch (IllegalStateException e) {
+                expected = e.getMessage();
+            }
+            String actual;
+            try {
+                actual = describe(JsonMerger.parallelMerge(parse(layers), POOL));
+            } catch (IllegalStateException e) {
+                actual = e.getMessage();
+            }
+
+            assertEquals(expected, actual, () -> String.join("\n", layers));
+        }
+
+        static LongStream seeds() {
+            return LongStream.range(0, 300);
+        }
+    }
+
+    private static List<Json> parse(List<String> contents) throws JsonParseException {
+        List<Json> jsons = new ArrayList<>();
+        for (String content : contents) {
+            jsons.add(new JsonParser().parse(content));
+        }
+        return jsons;
+    }
+
+    /**
+     * Describes a Json object including order of keys and their merge strategies.
+     */
+    private static String describe(Json json) {
+        StringBuilder sb = new StringBuilder("{");
+        for (JsonKey key : json.keySet()) {
+            sb.append(key.getMergeStrategy()).append(' ').append(key.getKey()).append(": ");
+            describe(json.get(key), sb);
+            sb.append(", ");
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void describe(JsonValue value, StringBuilder sb) {
+        if (value instanceof JsonValue.JsonArrayValue arrayValue) {
+            sb.append(arrayValue.getJsonKey().getMergeStrategy()).append(' ').append(arrayValue.getJsonKey().getKey()).append(": ");
+        }
+        switch (value.getType()) {
+            case JSON_OBJECT -> sb.append(describe(value.asJson()));
+            case ARRAY -> {
+                sb.append('[');
+                for (JsonValue element : value.asArray()) {
+                    describe(element, sb);
+                    sb.append(", ");
+                }
+                sb.append(']');
+            }
+            default -> sb.append(value.getType()).append(' ').append(value.getValue());
+        }
+    }
+
+    /**
+     * Generates random layers using a small set of keys, so that layers often merge the same keys.
+     */
+    private static class LayerGenerator {
+        private static final String[] KEYS = { "a", "b", "c", "d" };
+        private static final String[] PREFIXES = { "", "", "", "=", "<", ">", ">", "#", "##", "!" };
+
+        private final Random random;
+
+        LayerGenerator(long seed) {
+            this.random = new Random(seed);
+        }
+
+        List<String> layers() {
+            int count = 1 + random.nextInt(24);
+            List<String> layers = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                StringBuilder sb = new StringBuilder();
+                object(sb, 0);
+                layers.add(sb.toString());
+            }
+            return layers;
+        }
+
+        private void object(StringBuilder sb, int depth) {
+            sb.append("{ ");
+            int count = random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                sb.append(PREFIXES[random.nextInt(PREFIXES.length)]).append(KEYS[random.nextInt(KEYS.length)]).append(": ");
+                value(sb, depth);
+                sb.append(", ");
+            }
+            sb.append('}');
+        }
+
+        private void value(StringBuilder sb, int depth) {
+            switch (random.nextInt(depth < 3 ? 9 : 7)) {
+                case 0 -> sb.append('"').append(KEYS[random.nextInt(KEYS.length)]).append('"');
+                case 1 -> sb.append(random.nextInt(10));
+                case 2 -> sb.append(random.nextInt(10)).append(".5");
+                case 3 -> sb.append(random.nextBoolean());
+                case 4 -> sb.append("null");
+                case 5, 6 -> {
+                    sb.append("[ ");
+                    int count = random.nextInt(4);
+                    for (int i = 0; i < count; i++) {
+                        if (random.nextInt(4) == 0) {
+                            sb.append('#');
+                        } else {
+                            sb.append(random.nextInt(10));
+                        }
+                        sb.append(", ");
+                    }
+                    sb.append(']');
+                }
+                default -> object(sb, depth + 1);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import snake2d.util.file.json.exception.JsonParseException;
 import test.utils.TestFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -336,6 +337,124 @@ public class JsonMergerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Merge Listener Tests")
+    class MergeListenerTests {
+
+        @Test
+        @DisplayName("Should report merge operations to the listener")
+        void shouldReportMergeOperations() throws JsonParseException {
+            JsonParser parser = new JsonParser();
+            Json json1 = parser.parse("{ text: \"a\", number: 1, list: [ 1, 2 ], flag: true, removed: 1, nested: { value: 1 } }");
+            Json json2 = parser.parse("{ >text: \"b\", <number: 2, #list: [ #, 3, 4 ], flag: 1, !removed: 0, nested: { value: 2, added: 3 } }");
+
+            List<String> events = new ArrayList<>();
+            MergeListener listener = new MergeListener() {
+                @Override
+                public void valueAdded() {
+                    events.add("added");
+                }
+
+                @Override
+                public void valueMerged(MergeStrategy strategy) {
+                    events.add(strategy.name());
+                }
+
+                @Override
+                public void typeMismatch(JsonValue.ValueType target, JsonValue.ValueType source) {
+                    events.add(target + "->" + source);
+                }
+            };
+
+            Json result = JsonMerger.merge(Arrays.asList(json1, json2), listener);
+
+            assertEquals(Arrays.asList(
+                    "added", "added", "added", "added", "added", "added",
+                    "APPEND", "PREPEND", "OVERLAY", "OVERLAY", "added",
+                    "REPLACE", "BOOLEAN->INTEGER", "DELETE", "REPLACE", "REPLACE", "added"
+            ), events);
+            assertEquals("ab", result.get("text").asString());
+            assertEquals(3, result.get("number").asInteger());
+        }
+
+        @Test
+        @DisplayName("Should merge the same way with and without a listener")
+        void shouldMergeSameWayWithListener() throws JsonParseException {
+            String content1 = "{ a: 1, b: { c: [ 1, 2 ] }, d: \"x\" }";
+            String content2 = "{ >a: 2, #b: { c: [ #, 5, 6 ] }, !d: 0 }";
+
+            Json withoutListener = JsonMerger.merge(new JsonParser().parse(content1), new JsonParser().parse(content2));
+            Json withListener = JsonMerger.merge(Arrays.asList(new JsonParser().parse(content1), new JsonParser().parse(content2)), new MergeListener() {});
+
+            assertEquals(withoutListener.keySet(), withListener.keySet());
+            assertEquals(withoutListener.get("a"), withListener.get("a"));
+            assertArrayEquals(withoutListener.get("b").asJson().get("c").asArray(), withListener.get("b").asJson().get("c").asArray());
+        }
+    }
+
+    @Nested
+    @DisplayName("Deep Nesting Merge Tests")
+    class DeepNestingMergeTests {
+
+        private static final int DEPTH = 100_000;
+
+        @Test
+        @DisplayName("Should merge deeply nested objects without overflowing the stack")
+        void shouldMergeDeeplyNestedObjects() {
+            Json json1 = nested(DEPTH, "key1", new JsonValue("value1"));
+            Json json2 = nested(DEPTH, "key2", new JsonValue("value2"));
+
+            Json result = JsonMerger.merge(json1, json2);
+
+            int depth = 0;
+            while (result.containsKey("level")) {
+                result = result.get("level").asJson();
+                depth++;
+            }
+            assertEquals(DEPTH, depth);
+            assertEquals("value1", result.get("key1").asString());
+            assertEquals("value2", result.get("key2").asString());
+        }
+
+        @Test
+        @DisplayName("Should overlay deeply nested arrays without overflowing the stack")
+        void shouldOverlayDeeplyNestedArrays() {
+            JsonValue array1 = new JsonValue(1);
+            JsonValue array2 = new JsonValue(2);
+            for (int i = 0; i < DEPTH; i++) {
+                array1 = new JsonValue(new JsonValue[] { array1, new JsonValue("kept") });
+                array2 = new JsonValue(new JsonValue[] { array2, new JsonValue(JsonValue.ValueType.OVERLAY) });
+            }
+            Json json1 = new Json();
+            json1.put("array", array1);
+            Json json2 = new Json();
+            json2.put(new JsonKey("array", MergeStrategy.OVERLAY), array2);
+
+            Json result = JsonMerger.merge(json1, json2);
+
+            JsonValue value = result.get("array");
+            int depth = 0;
+            while (value.getType() == JsonValue.ValueType.ARRAY) {
+                assertEquals("kept", value.asArray()[1].asString());
+                value = value.asArray()[0];
+                depth++;
+            }
+            assertEquals(DEPTH, depth);
+            assertEquals(2, value.asInteger());
+        }
+
+        private Json nested(int depth, String key, JsonValue value) {
+            Json json = new Json();
+            json.put(key, value);
+            for (int i = 0; i < depth; i++) {
+                Json parent = new Json();
+                parent.put("level", new JsonValue(json));
+                json = parent;
+            }
+            return json;
+        }
+    }
+
     @Nested
     @DisplayName("Shallow Merge Tests")
     class ShallowMergeTests {
@@ -823,6 +823,59 @@ public class JsonParserTest {
         }
     }
 
+    @Nested
+    @DisplayName("JsonParser - Deep Nesting Tests")
+    class DeepNestingTests {
+
+        private static final int DEPTH = 100_000;
+
+        @Test
+        @DisplayName("Should parse deeply nested objects without overflowing the stack")
+        void shouldParseDeeplyNestedObjects() throws JsonParseException {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < DEPTH; i++) {
+                sb.append("level: {");
+            }
+            sb.append("value: 1");
+            sb.append("}".repeat(DEPTH));
+
+            Json json = parser.parse(sb.toString());
+
+            int depth = 0;
+            while (json.containsKey("level")) {
+                json = json.get("level").asJson();
+                depth++;
+            }
+            assertEquals(DEPTH, depth);
+            assertEquals(1, json.get("value").asInteger());
+        }
+
+        @Test
+        @DisplayName("Should parse deeply nested arrays without overflowing the stack")
+        void shouldParseDeeplyNestedArrays() throws JsonParseException {
+            String jsonString = "value: " + "[".repeat(DEPTH) + "1" + "]".repeat(DEPTH);
+
+            Json json = parser.parse(jsonString);
+
+            JsonValue value = json.get("value");
+            int depth = 0;
+            while (value.getType() == JsonValue.ValueType.ARRAY) {
+                value = value.asArray()[0];
+                depth++;
+            }
+            assertEquals(DEPTH, depth);
+            assertEquals(1, value.asInteger());
+        }
+
+        @Test
+        @DisplayName("Should detect a missing closing bracket in deeply nested objects")
+        void shouldDetectMissingBracketInDeeplyNestedObjects() {
+            String jsonString = "level: {".repeat(DEPTH) + "value: 1" + "}".repeat(DEPTH - 1);
+
+            assertThrows(JsonParseException.class, () -> parser.parse(jsonString));
+        }
+    }
+
     @Nested
     @DisplayName("JsonParser - Merge Strategy Tests")
     class MergeStrategyTests {
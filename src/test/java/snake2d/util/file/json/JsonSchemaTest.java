@@ -0,0 +1,154 @@
+package snake2d.util.file.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snake2d.util.file.json.exception.JsonParseException;
+import snake2d.util.file.json.exception.JsonSchemaException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonSchema Tests")
+public class JsonSchemaTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final JsonSchema RACE = JsonSchema.object()
+            .required("name", JsonSchema.text())
+            .optional("health", JsonSchema.integer().range(1, 1000))
+            .optional("speed", JsonSchema.decimal().range(0, 10))
+            .optional("size", JsonSchema.text().oneOf("SMALL", "MEDIUM", "LARGE"))
+            .optional("playable", JsonSchema.bool())
+            .optional("tags", JsonSchema.array(JsonSchema.text()).length(0, 3))
+            .optional("stats", JsonSchema.object()
+                    .required("strength", JsonSchema.integer())
+                    .closed());
+
+    @Nested
+    @DisplayName("Valid Documents Tests")
+    class ValidDocumentsTests {
+
+        @Test
+        @DisplayName("Should parse document matching schema")
+        void shouldParseValidDocument() throws JsonParseException {
+            Json json = new JsonParser().parse("""
+                name: "Human",
+                health: 100,
+                speed: 2,
+                size: "MEDIUM",
+                playable: true,
+                tags: [ "a", "b" ],
+                stats: { strength: 5 },
+                other: [ 1, { any: "thing" } ]
+                """, RACE);
+
+            assertEquals("Human", json.get("name").asString());
+            assertEquals(5, json.get("stats").asJson().get("strength").asInteger());
+        }
+
+        @Test
+        @DisplayName("Should not validate deleted keys and overlay placeholders")
+        void shouldSkipDeletedKeysAndOverlays() throws JsonParseException {
+            JsonSchema schema = JsonSchema.object()
+                    .required("name", JsonSchema.text())
+                    .optional("health", JsonSchema.integer())
+                    .optional("tags", JsonSchema.array(JsonSchema.text()));
+
+            Json json = new JsonParser().parse("{ name: \"Human\", !health: \"removed\", #tags: [ #, \"b\" ] }", schema);
+
+            assertTrue(json.containsKey("health"));
+        }
+
+        @Test
+        @DisplayName("Should accept null only in nullable values")
+        void shouldAcceptNullInNullableValues() throws JsonParseException {
+            JsonSchema schema = JsonSchema.object()
+                    .optional("a", JsonSchema.text().nullable())
+                    .optional("b", JsonSchema.text());
+
+            JsonSchemaException e = assertThrows(JsonSchemaException.class,
+                    () -> new JsonParser().parse("{ a: null, b: null }", schema));
+
+            assertEquals(1, e.getViolations().size());
+            assertEquals("Value of key 'b' is null, expected a string", e.getViolations().get(0).getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Violations Tests")
+    class ViolationsTests {
+
+        @Test
+        @DisplayName("Should report all violations with their positions")
+        void shouldReportAllViolations() {
+            JsonSchemaException e = assertThrows(JsonSchemaException.class, () -> new JsonParser().parse("""
+                {
+                    health: 2000,
+                    speed: "fast",
+                    size: "HUGE",
+                    tags: [ "a", 1, "c", "d" ],
+                    stats: { power: 1 }
+                }
+                """, RACE));
+
+            List<String> violations = new ArrayList<>();
+            for (JsonSchemaException.Violation violation : e.getViolations()) {
+                violations.add(violation.toString());
+            }
+            assertEquals(List.of(
+                    "1:1: Required key 'name' is missing in the document",
+                    "2:13: Value 2000 of key 'health' is out of range [1, 1000]",
+                    "3:12: Value of key 'speed' is not a number",
+                    "4:11: Value HUGE of key 'size' is not one of [SMALL, MEDIUM, LARGE]",
+                    "5:11: Array under key 'tags' has 4 elements, expected from 0 to 3",
+                    "5:18: Value of element of key 'tags' is not a string",
+                    "6:12: Required key 'strength' is missing in key 'stats'",
+                    "6:14: Key 'power' is not allowed"
+            ), violations);
+            assertEquals(1, e.getLine());
+            assertEquals(1, e.getColumn());
+        }
+
+        @Test
+        @DisplayName("Should report type of nested object or array")
+        void shouldReportTypeOfContainers() {
+            JsonSchemaException e = assertThrows(JsonSchemaException.class,
+                    () -> new JsonParser().parse("{ name: { first: \"Jan\" }, tags: { a: 1 }, stats: [ 1 ] }", RACE));
+
+            assertEquals(3, e.getViolations().size());
+            assertEquals("Value of key 'name' is not a string", e.getViolations().get(0).getMessage());
+            assertEquals("Value of key 'tags' is not an array", e.getViolations().get(1).getMessage());
+            assertEquals("Value of key 'stats' is not a JSON object", e.getViolations().get(2).getMessage());
+        }
+
+        @Test
+        @DisplayName("Should report path of the file with violations")
+        void shouldReportFile() throws IOException {
+            Path file = tempDir.resolve("race.txt");
+            Files.writeString(file, "name: \"Human\"\nhealth: 0\n");
+
+            JsonSchemaException e = assertThrows(JsonSchemaException.class, () -> new JsonParser().parse(file, RACE));
+
+            assertEquals(file.toString(), e.getViolations().get(0).getSource());
+            assertEquals(file + ":2:9: Value 0 of key 'health' is out of range [1, 1000]", e.getViolations().get(0).toString());
+            assertEquals(2, e.getLine());
+        }
+
+        @Test
+        @DisplayName("Should report syntax errors before schema violations")
+        void shouldReportSyntaxErrors() {
+            JsonParseException e = assertThrows(JsonParseException.class,
+                    () -> new JsonParser().parse("{ health: 0, name: }", RACE));
+
+            assertFalse(e instanceof JsonSchemaException);
+        }
+    }
+}
@@ -49,4 +49,51 @@ class JsonTest {
         Json json = new Json();
         assertNull(json.get("nonexistent"));
     }
+
+    @Test
+    @DisplayName("Should reject modification of frozen object")
+    void shouldRejectModificationOfFrozenObject() {
+        Json nested = new Json();
+        nested.put("a", new JsonValue(1));
+        Json json = new Json();
+        json.put("nested", new JsonValue(nested));
+
+        json.freeze();
+
+        assertTrue(json.isFrozen());
+        assertTrue(nested.isFrozen());
+        assertThrows(IllegalStateException.class, () -> json.put("b", new JsonValue(2)));
+        assertThrows(IllegalStateException.class, () -> nested.remove("a"));
+        assertEquals(1, json.get("nested").asJson().get("a").asInteger());
+    }
+
+    @Test
+    @DisplayName("Should compare structure including order of keys and merge strategies")
+    void shouldCompareStructure() throws Exception {
+        JsonParser parser = new JsonParser();
+        Json json = parser.parse("{ a: 1, b: { c: [ 1, \"x\", { d: true } ] } }");
+
+        assertTrue(json.deepEquals(parser.parse("{ a: 1, b: { c: [ 1, \"x\", { d: true } ] } }")));
+        assertEquals(json.structuralHash(), parser.parse("{ a: 1, b: { c: [ 1, \"x\", { d: true } ] } }").structuralHash());
+        assertFalse(json.deepEquals(parser.parse("{ b: { c: [ 1, \"x\", { d: true } ] }, a: 1 }")));
+        assertFalse(json.deepEquals(parser.parse("{ >a: 1, b: { c: [ 1, \"x\", { d: true } ] } }")));
+        assertFalse(json.deepEquals(parser.parse("{ a: 1, b: { c: [ 1, \"x\", { d: false } ] } }")));
+    }
+
+    @Test
+    @DisplayName("Should create modifiable deep copy")
+    void shouldCreateDeepCopy() throws Exception {
+        Json json = new JsonParser().parse("{ a: { b: [ 1, { c: 2 }, [ 3 ] ] }, d: [ K: { e: 4 } ] }");
+        json.freeze();
+
+        Json copy = json.copy();
+
+        assertTrue(copy.deepEquals(json));
+        assertFalse(copy.isFrozen());
+        assertNotSame(json.get("a").asJson(), copy.get("a").asJson());
+        assertNotSame(json.get("a").asJson().get("b").asArray(), copy.get("a").asJson().get("b").asArray());
+        assertNotSame(json.get("d").asArray()[0].asJson(), copy.get("d").asArray()[0].asJson());
+        copy.get("a").asJson().get("b").asArray()[1].asJson().put("c", new JsonValue(5));
+        assertEquals(2, json.get("a").asJson().get("b").asArray()[1].asJson().get("c").asInteger());
+    }
 }
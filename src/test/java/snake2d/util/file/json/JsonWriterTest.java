@@ -0,0 +1,124 @@
+package snake2d.util.file.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonWriter Tests")
+public class JsonWriterTest {
+
+    private static final String DOCUMENT = "{ name: \"Human\", =health: 100, >speed: 1.5, <tags: [ \"a\", K: 2, # ], "
+            + "##list: [ #, { b: null } ], !old: 0, \"with space\": true, nested: { empty: {}, array: [] } }";
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("Format Tests")
+    class FormatTests {
+
+        @Test
+        @DisplayName("Should write compact text")
+        void shouldWriteCompactText() throws JsonParseException {
+            String text = new JsonWriter().toString(parse(DOCUMENT));
+
+            assertEquals("{name:\"Human\",=health:100,>speed:1.5,<tags:[\"a\",K:2,#],##list:[#,{b:null}],!old:0,"
+                    + "\"with space\":true,nested:{empty:{},array:[]}}", text);
+        }
+
+        @Test
+        @DisplayName("Should write indented text")
+        void shouldWritePrettyText() throws JsonParseException {
+            String text = new JsonWriter(true).toString(parse("{ a: 1, b: [ 2, { c: \"d\" } ], e: {} }"));
+
+            assertEquals("""
+                    {
+                        a: 1,
+                        b: [
+                            2,
+                            {
+                                c: "d"
+                            }
+                        ],
+                        e: {}
+                    }""", text);
+        }
+
+        @Test
+        @DisplayName("Should escape strings")
+        void shouldEscapeStrings() {
+            Json json = new Json();
+            json.put("text", new JsonValue("quote \" backslash \\ new\nline\ttab"));
+
+            assertEquals("{text:\"quote \\\" backslash \\\\ new\\nline\\ttab\"}", new JsonWriter().toString(json));
+        }
+
+        @Test
+        @DisplayName("Should reject numbers which can not be parsed")
+        void shouldRejectNaN() {
+            Json json = new Json();
+            json.put("number", new JsonValue(Double.NaN));
+
+            assertThrows(IllegalArgumentException.class, () -> new JsonWriter().toString(json));
+        }
+    }
+
+    @Nested
+    @DisplayName("Round Trip Tests")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should parse written text into equal object")
+        void shouldRoundTrip() throws JsonParseException {
+            Json json = parse(DOCUMENT);
+
+            assertTrue(json.deepEquals(parse(new JsonWriter().toString(json))));
+            assertTrue(json.deepEquals(parse(new JsonWriter(true).toString(json))));
+        }
+
+        @Test
+        @DisplayName("Should write deeply nested object")
+        void shouldWriteDeeplyNestedObject() throws JsonParseException {
+            int depth = 100_000;
+            Json json = parse("{" + "a: [ {".repeat(depth) + "b: 1" + "} ]".repeat(depth) + "}");
+
+            assertTrue(json.deepEquals(parse(new JsonWriter().toString(json))));
+        }
+
+        @Test
+        @DisplayName("Should write UTF-8 to channel through reused buffer")
+        void shouldWriteToChannel() throws JsonParseException, IOException {
+            StringBuilder sb = new StringBuilder("{ ");
+            for (int i = 0; i < 5_000; i++) {
+                sb.append("klucz_¤").append(i).append(": \"zażółć gęślą jaźń 😀 ").append(i).append("\", ");
+            }
+            Json json = parse(sb.append('}').toString());
+            JsonWriter writer = new JsonWriter(true);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            writer.write(json, Channels.newChannel(bytes));
+            String written = bytes.toString(StandardCharsets.UTF_8);
+
+            assertEquals(writer.toString(json), written);
+            assertTrue(json.deepEquals(parse(written)));
+
+            Path file = tempDir.resolve("written.txt");
+            writer.write(json, file);
+            assertTrue(json.deepEquals(new JsonParser().parse(file)));
+        }
+    }
+
+    private static Json parse(String content) throws JsonParseException {
+        return new JsonParser().parse(content);
+    }
+}
@@ -0,0 +1,223 @@
+package util.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import snake2d.config.exception.ConfigException;
+import snake2d.util.file.json.JsonIndex;
+import snake2d.util.file.json.exception.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("D Tests")
+class DTest {
+
+    static class Statics {
+        static CharSequence ¤¤title = "title";
+        static CharSequence ¤¤greeting = "greeting";
+    }
+
+    static class Instances {
+        CharSequence ¤¤name = "name";
+    }
+
+    static class Mixed {
+        static CharSequence ¤¤shared = "shared";
+        CharSequence ¤¤own = "own";
+    }
+
+    static class Initialised {
+        static final Thread THREAD = Thread.currentThread();
+        static CharSequence ¤¤label = "label";
+    }
+
+    /**
+     * Translated through contexts only, never registered, so switching dictionaries does not touch it.
+     */
+    static class Plain {
+    }
+
+    static class Templates {
+        static MessageTemplate ¤¤count;
+    }
+
+    @Nested
+    @DisplayName("Injection Tests")
+    class InjectionTests {
+
+        @Test
+        @DisplayName("Should set static and instance fields")
+        void shouldInjectFields() throws JsonParseException {
+            D.use(dictionary(
+                    section(Statics.class, "title: \"Title\", greeting: \"Hello\""),
+                    section(Instances.class, "name: \"Name\"")));
+            Instances o = new Instances();
+
+            D.t(Statics.class);
+            D.t(o);
+
+            assertEquals("Title", Statics.¤¤title.toString());
+            assertEquals("Hello", Statics.¤¤greeting.toString());
+            assertEquals("Name", o.¤¤name.toString());
+        }
+
+        @Test
+        @DisplayName("Should not set static fields of classes with instance fields")
+        void shouldRejectNotStatic() throws JsonParseException {
+            D.use(dictionary(section(Mixed.class, "shared: \"Shared\", own: \"Own\"")));
+            Mixed o = new Mixed();
+
+            RuntimeException e = assertThrows(RuntimeException.class, () -> D.t(Mixed.class));
+            assertTrue(e.getMessage().endsWith("is not Static"), e.getMessage());
+            D.t(o);
+            assertEquals("Shared", Mixed.¤¤shared.toString());
+            assertEquals("Own", o.¤¤own.toString());
+        }
+
+        @Test
+        @DisplayName("Should give template fields the translation as a template")
+        void shouldInjectTemplates() throws JsonParseException {
+            D.use(dictionary(section(Templates.class, "count: \"{0} of {1}\"")));
+
+            D.t(Templates.class);
+
+            assertEquals(2, Templates.¤¤count.slots());
+            assertEquals("3 of 4", Templates.¤¤count.format(new StringBuilder(), 3, 4).toString());
+        }
+
+        @Test
+        @DisplayName("Should translate fields again after switching dictionaries")
+        void shouldInjectAgainAfterUse() throws JsonParseException {
+            D.use(dictionary(
+                    section(Statics.class, "title: \"Title\", greeting: \"Hello\""),
+                    section(Instances.class, "name: \"Name\"")));
+            Instances o = new Instances();
+            D.t(Statics.class);
+            D.t(o);
+
+            D.use(dictionary(
+                    section(Statics.class, "title: \"Titel\", greeting: \"Hallo\""),
+                    section(Instances.class, "name: \"Name-de\"")));
+
+            assertEquals("Titel", Statics.¤¤title.toString());
+            assertEquals("Hallo", Statics.¤¤greeting.toString());
+            assertEquals("Name-de", o.¤¤name.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Context Tests")
+    class ContextTests {
+
+        @Test
+        @DisplayName("Should translate with the dictionary it was created with")
+        void shouldKeepDictionary() throws JsonParseException {
+            D.use(dictionary(section(Plain.class, "name: \"Name\"")));
+            D.Context context = D.ctx(Plain.class);
+
+            D.use(dictionary(section(Plain.class, "name: \"Name-de\"")));
+
+            assertEquals("Name", context.g("name").toString());
+            assertEquals("Name-de", D.ctx(Plain.class).g("name").toString());
+            assertEquals("Name-de", D.ctx(Plain.class).g("name", "default").toString());
+        }
+
+        @Test
+        @DisplayName("Should throw on values which are not strings")
+        void shouldRejectNotStrings() throws JsonParseException {
+            D.use(dictionary(section(Plain.class, "name: 5")));
+
+            assertThrows(ConfigException.class, () -> D.ctx(Plain.class).g("name"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Tests")
+    class BulkTests {
+
+        @Test
+        @DisplayName("Should initialise classes on the calling thread and set their fields on the pool")
+        void shouldTranslateAll() throws JsonParseException {
+            D.use(dictionary(
+                    section(Statics.class, "title: \"Title\", greeting: \"Hello\""),
+                    section(Initialised.class, "label: \"Label\"")));
+            ForkJoinPool pool = new ForkJoinPool(2);
+            Map<Class<?>, Long> times;
+            try {
+                times = D.tAll(List.of(Initialised.class, Statics.class), pool);
+            } finally {
+                pool.shutdown();
+            }
+
+            assertEquals(List.of(Initialised.class, Statics.class), new ArrayList<>(times.keySet()));
+            assertSame(Thread.currentThread(), Initialised.THREAD);
+            assertEquals("Label", Initialised.¤¤label.toString());
+            assertEquals("Title", Statics.¤¤title.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Compaction Tests")
+    class CompactionTests {
+
+        @Test
+        @DisplayName("Should release sections only needed for static fields")
+        void shouldReleaseStaticSections() throws JsonParseException {
+            D.use(dictionary(
+                    section(Statics.class, "title: \"Title\", greeting: \"Hello\""),
+                    section(Plain.class, "text: \"Text\"")));
+            D.t(Statics.class);
+            D.ctx(Plain.class).g("text");
+
+            assertEquals(1, D.compact());
+            assertEquals(0, D.compact());
+            assertEquals("Text", D.ctx(Plain.class).g("text").toString());
+            D.t(Statics.class);
+            assertEquals("Title", Statics.¤¤title.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Miss Tests")
+    class MissTests {
+
+        @Test
+        @DisplayName("Should count repeated misses of a key once per key until reported")
+        void shouldCountMisses() {
+            String clazz = Plain.class.getName();
+            D.reportMisses();
+
+            D.miss(clazz, "a");
+            D.miss(clazz, "a");
+            D.miss(clazz, "b");
+            D.miss(null, "a");
+
+            assertEquals(2, D.missed(clazz, "a"));
+            assertEquals(1, D.missed(clazz, "b"));
+            assertEquals(1, D.missed(null, "a"));
+            D.reportMisses();
+            assertEquals(0, D.missed(clazz, "a"));
+            assertEquals(0, D.missed(null, "a"));
+        }
+    }
+
+    static String section(Class<?> clazz, String entries) {
+        return "\"" + clazz.getName() + "\": { " + entries + " }";
+    }
+
+    /**
+     * A dictionary with one file per section, in the order of the layers.
+     */
+    static D.Dictionary dictionary(String... sections) throws JsonParseException {
+        List<JsonIndex> files = new ArrayList<>();
+        for (String s : sections) {
+            files.add(JsonIndex.scan(s));
+        }
+        return D.dictionary(null, files);
+    }
+}
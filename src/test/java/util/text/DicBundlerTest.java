@@ -0,0 +1,44 @@
+package util.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DicBundler Tests")
+class DicBundlerTest {
+
+    private static final String TEXT = "util.text.D: { a: \"zażółć\" }";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should stamp files in zips with the checksum of the entry")
+    void shouldStampZipEntries() throws IOException {
+        byte[] text = TEXT.getBytes(StandardCharsets.UTF_8);
+        Path plain = Files.write(tempDir.resolve("Dic.txt"), text);
+        URI uri = URI.create("jar:" + tempDir.resolve("dicts.zip").toUri());
+
+        try (FileSystem zip = FileSystems.newFileSystem(uri, Map.of("create", "true"))) {
+            Files.write(zip.getPath("Dic.txt"), text);
+        }
+        try (FileSystem zip = FileSystems.newFileSystem(uri, Map.of())) {
+            Path zipped = zip.getPath("Dic.txt");
+
+            assertEquals(DicBundler.stamp(text), DicBundler.stamp(zipped));
+            assertEquals(DicBundler.stamp(text), DicBundler.stamp(plain));
+            assertNotEquals(DicBundler.stamp(text), DicBundler.stamp(TEXT.replace('a', 'b').getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+}
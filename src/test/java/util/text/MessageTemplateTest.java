@@ -0,0 +1,128 @@
+package util.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MessageTemplate Tests")
+class MessageTemplateTest {
+
+    private static String format(MessageTemplate template, long a) {
+        return template.format(new StringBuilder(), a).toString();
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class Parsing {
+
+        @Test
+        @DisplayName("Should keep text without placeholders constant")
+        void shouldKeepConstantText() {
+            MessageTemplate template = MessageTemplate.of("No placeholders here");
+
+            assertTrue(template.isConstant());
+            assertEquals(0, template.slots());
+            assertEquals("No placeholders here", format(template, 5));
+        }
+
+        @Test
+        @DisplayName("Should be the text itself")
+        void shouldBeTheText() {
+            MessageTemplate template = MessageTemplate.of("Population: {0}");
+
+            assertEquals("Population: {0}", template.toString());
+            assertEquals(15, template.length());
+            assertEquals('P', template.charAt(0));
+            assertEquals("{0}", template.subSequence(12, 15).toString());
+        }
+
+        @Test
+        @DisplayName("Should return the same instance for a template")
+        void shouldReturnSameInstance() {
+            MessageTemplate template = MessageTemplate.of("{0}");
+
+            assertSame(template, MessageTemplate.of(template));
+        }
+
+        @Test
+        @DisplayName("Should give named placeholders slots after the numbered ones")
+        void shouldNumberNamedSlots() {
+            MessageTemplate template = MessageTemplate.of("{NAME} the {RACE} has {1} of {0}, {NAME}");
+
+            assertEquals(4, template.slots());
+            assertEquals(2, template.slot("NAME"));
+            assertEquals(3, template.slot("RACE"));
+            assertEquals(-1, template.slot("MISSING"));
+        }
+
+        @Test
+        @DisplayName("Should leave braces which are not placeholders as they are")
+        void shouldIgnoreOtherBraces() {
+            MessageTemplate template = MessageTemplate.of("{ not } {a-b} {12345} {} {0");
+
+            assertTrue(template.isConstant());
+            assertEquals("{ not } {a-b} {12345} {} {0", format(template, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Formatting")
+    class Formatting {
+
+        @Test
+        @DisplayName("Should fill numbers into numbered slots")
+        void shouldFillNumbers() {
+            MessageTemplate template = MessageTemplate.of("{0} of {1} workers, {0} idle");
+
+            assertEquals("3 of 10 workers, 3 idle", template.format(new StringBuilder(), 3, 10).toString());
+        }
+
+        @Test
+        @DisplayName("Should fill text into numbered slots")
+        void shouldFillText() {
+            MessageTemplate template = MessageTemplate.of("{1} and {0}");
+
+            assertEquals("b and a", template.format(new StringBuilder(), "a", "b").toString());
+        }
+
+        @Test
+        @DisplayName("Should keep placeholders without a value")
+        void shouldKeepMissingValues() {
+            MessageTemplate template = MessageTemplate.of("{0} {1} {NAME}");
+
+            assertEquals("7 {1} {NAME}", format(template, 7));
+        }
+
+        @Test
+        @DisplayName("Should append to the buffer")
+        void shouldAppendToBuffer() {
+            MessageTemplate template = MessageTemplate.of("{0}%");
+            StringBuilder out = new StringBuilder("Happiness: ");
+
+            assertSame(out, template.format(out, 50));
+            assertEquals("Happiness: 50%", out.toString());
+        }
+
+        @Test
+        @DisplayName("Should fill any slot with a filler")
+        void shouldFillWithFiller() {
+            MessageTemplate template = MessageTemplate.of("{NAME} the {RACE}: {0}");
+            int name = template.slot("NAME");
+            MessageTemplate.Filler filler = (slot, out) -> {
+                if (slot == name) {
+                    out.append("Gaius");
+                    return true;
+                }
+                if (slot == 0) {
+                    out.append(42);
+                    return true;
+                }
+                return false;
+            };
+
+            assertEquals("Gaius the {RACE}: 42", template.format(new StringBuilder(), filler).toString());
+        }
+    }
+}